@@ -0,0 +1,221 @@
+package com.printingpro.config;
+
+import com.printingpro.dto.request.SearchMode;
+import com.printingpro.dto.response.AdminDashboardResponse;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Catalog read-path settings bound from the {@code catalog.*} properties.
+ */
+@Component
+@ConfigurationProperties(prefix = "catalog")
+@Data
+public class CatalogProperties {
+
+    private final Cache cache = new Cache();
+    private final ResponseCache responseCache = new ResponseCache();
+    private final Search search = new Search();
+    private final Suggest suggest = new Suggest();
+    private final Changes changes = new Changes();
+    private final Stream stream = new Stream();
+    private final EntityCache entityCache = new EntityCache();
+    private final Analytics analytics = new Analytics();
+    private final Dashboard dashboard = new Dashboard();
+    private final Imports imports = new Imports();
+    private final Bulk bulk = new Bulk();
+
+    @Data
+    public static class Cache {
+
+        /**
+         * Serve public catalog reads from an in-memory snapshot.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Rows fetched per round trip when the snapshot or search index is rebuilt.
+         */
+        private int loadFetchSize = 1000;
+    }
+
+    @Data
+    public static class ResponseCache {
+
+        /**
+         * Serialized (JSON + gzip) catalog responses kept per snapshot version.
+         */
+        private int maxEntries = 1000;
+    }
+
+    @Data
+    public static class Search {
+
+        /**
+         * Mode used when a search request does not name one.
+         */
+        private SearchMode defaultMode = SearchMode.FULL_TEXT;
+
+        /**
+         * Upper bound for the number of results a search may request.
+         */
+        private int maxResults = 100;
+
+        /**
+         * Build the in-memory inverted index used by {@code SearchMode.MEMORY}.
+         */
+        private boolean memoryIndexEnabled = true;
+
+        /**
+         * Ascending price-per-sqft boundaries of the price facet; n boundaries make n + 1 buckets.
+         */
+        private List<BigDecimal> priceBuckets = List.of(
+                new BigDecimal("10"), new BigDecimal("25"), new BigDecimal("50"), new BigDecimal("100"));
+    }
+
+    @Data
+    public static class Suggest {
+
+        /**
+         * Completions precomputed per prefix, and the most a suggest request may ask for.
+         */
+        private int maxResults = 10;
+    }
+
+    @Data
+    public static class Changes {
+
+        /**
+         * Most changes returned by one change-feed request.
+         */
+        private int maxResults = 500;
+    }
+
+    @Data
+    public static class Analytics {
+
+        /**
+         * How often the live category counters are checked against the database and corrected.
+         */
+        private Duration reconcileInterval = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class Dashboard {
+
+        /**
+         * Threads reading dashboard parts in parallel; parts beyond what the queue holds are left out.
+         */
+        private int threads = 4;
+
+        private int queueCapacity = 32;
+
+        /**
+         * How long a part may take before the dashboard is returned without it.
+         */
+        private Duration timeout = Duration.ofSeconds(2);
+
+        /**
+         * Timeouts of individual parts, overriding {@code timeout}.
+         */
+        private Map<AdminDashboardResponse.Part, Duration> timeouts = new EnumMap<>(AdminDashboardResponse.Part.class);
+
+        /**
+         * Contact messages shown on the dashboard.
+         */
+        private int recentMessages = 5;
+
+        public Duration timeoutOf(AdminDashboardResponse.Part part) {
+            return timeouts.getOrDefault(part, timeout);
+        }
+    }
+
+    @Data
+    public static class Imports {
+
+        /**
+         * Valid rows written per transaction; each chunk is committed and published on its own.
+         */
+        private int chunkSize = 1000;
+
+        /**
+         * Row errors listed in an import response; rows failing beyond this are only counted.
+         */
+        private int maxErrors = 1000;
+    }
+
+    @Data
+    public static class Bulk {
+
+        /**
+         * Most product ids one bulk request may list; longer lists are rejected, not truncated. Selections
+         * by filters have no limit, since their statements never bind the selected ids.
+         */
+        private int maxProducts = 10000;
+    }
+
+    @Data
+    public static class Stream {
+
+        /**
+         * How long a change-stream connection stays open before the client has to reconnect.
+         */
+        private Duration timeout = Duration.ofMinutes(30);
+
+        /**
+         * Interval between keep-alive comments on idle change-stream connections.
+         */
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+        /**
+         * Most missed changes replayed on reconnect; further behind, the client is told to reload.
+         */
+        private int maxReplay = 1000;
+
+        /**
+         * Events buffered per subscriber; a client further behind is disconnected and resumes with Last-Event-ID.
+         */
+        private int queueCapacity = 256;
+
+        /**
+         * Threads writing events to change-stream connections, shared by all subscribers.
+         */
+        private int senderThreads = 4;
+    }
+
+    @Data
+    public static class EntityCache {
+
+        /**
+         * Keep products and their images in Hibernate's second-level cache.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Bounds per cache region; every region named by an entity's {@code @Cache} must be listed.
+         */
+        private Map<String, Region> regions = new LinkedHashMap<>();
+    }
+
+    @Data
+    public static class Region {
+
+        /**
+         * Most entries held before the least valuable are evicted.
+         */
+        private long maxSize = 10_000;
+
+        /**
+         * How long an entry lives after it was written.
+         */
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+}
@@ -0,0 +1,57 @@
+package com.printingpro.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Configuration for Hibernate's second-level cache.
+ * Regions are Caffeine caches created through JCache from the {@code catalog.entity-cache.regions}
+ * bounds, and handed to Hibernate as a ready cache manager. Hibernate is told to fail on a region
+ * that is not configured, so no cache can grow without a bound.
+ * Hit, miss and put counts per region are published as {@code hibernate.second.level.cache.*} meters.
+ */
+@Configuration
+@Slf4j
+public class EntityCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(CatalogProperties catalogProperties) {
+        // A manager of its own (the default one is shared per class loader), with no config file behind it
+        CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager(
+                URI.create("classpath:entity-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+        catalogProperties.getEntityCache().getRegions().forEach((name, region) -> {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(region.getMaxSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(region.getTtl().toNanos()));
+            cacheManager.createCache(name, configuration);
+            log.debug("Entity cache region {} holds up to {} entries for {}", name, region.getMaxSize(), region.getTtl());
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CatalogProperties catalogProperties,
+                                                               CacheManager entityCacheManager) {
+        boolean enabled = catalogProperties.getEntityCache().isEnabled();
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            if (enabled) {
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+                properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+            }
+        };
+    }
+}
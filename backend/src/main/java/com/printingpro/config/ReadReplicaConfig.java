@@ -0,0 +1,91 @@
+package com.printingpro.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration for routing read-only transactions to read replicas, active when
+ * {@code read-replicas.enabled} is true. Otherwise Spring Boot's single pool is used unchanged.
+ * The primary pool is built from {@code spring.datasource.*} and each replica from
+ * {@code read-replicas.pools}; every pool publishes {@code hikaricp.*} meters tagged with its name.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties dataSourceProperties,
+            ReadReplicaProperties replicaProperties,
+            Environment environment,
+            MeterRegistry meterRegistry
+    ) {
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        primary.setMetricsTrackerFactory(metrics);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (ReadReplicaProperties.Pool pool : replicaProperties.getPools()) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(dataSourceProperties.determineDriverClassName())
+                    .url(pool.getUrl())
+                    .username(pool.getUsername() != null ? pool.getUsername() : dataSourceProperties.determineUsername())
+                    .password(pool.getPassword() != null ? pool.getPassword() : dataSourceProperties.determinePassword())
+                    .build();
+            replica.setPoolName(pool.getName());
+            replica.setMaximumPoolSize(pool.getMaximumPoolSize());
+            replica.setMinimumIdle(pool.getMinimumIdle());
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(metrics);
+            replicas.put(pool.getName(), replica);
+        }
+
+        return new ReplicaRoutingDataSource(primary, replicas, replicaProperties.getMaxLag(),
+                replicaProperties.getLagQuery(), meterRegistry);
+    }
+
+    /**
+     * Defers fetching a physical connection to the first statement, after the transaction
+     * manager has marked the transaction read-only.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * Spring's default is to hold a session's connection until the session closes, and with
+     * open-in-view a session spans the request: a write after a read in the same request would
+     * reuse the replica connection. Releasing after each transaction lets every transaction route.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandlingCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,65 @@
+package com.printingpro.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replica settings bound from the {@code read-replicas.*} properties.
+ * The primary stays configured through {@code spring.datasource.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "read-replicas")
+@Data
+public class ReadReplicaProperties {
+
+    /**
+     * Route read-only transactions to the replica pools.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Replicas further behind the primary than this are skipped until they catch up.
+     * Zero disables the check, so a replica is only skipped while it cannot be reached.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * Run on each replica; returns its replay lag in seconds. When blank, replicas are only
+     * checked for a valid connection.
+     */
+    private String lagQuery = "";
+
+    private List<Pool> pools = new ArrayList<>();
+
+    @Data
+    public static class Pool {
+
+        /**
+         * Hikari pool name, also the {@code pool} tag of the pool's meters.
+         */
+        private String name;
+
+        private String url;
+
+        /**
+         * Defaults to {@code spring.datasource.username}.
+         */
+        private String username;
+
+        /**
+         * Defaults to {@code spring.datasource.password}.
+         */
+        private String password;
+
+        private int maximumPoolSize = 10;
+
+        private int minimumIdle = 2;
+    }
+}
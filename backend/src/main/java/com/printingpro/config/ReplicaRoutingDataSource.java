@@ -0,0 +1,212 @@
+package com.printingpro.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends connections for read-only transactions to the replicas, round-robin, and everything else
+ * to the primary. Replicas that lag too far behind or cannot be reached are skipped; when none is
+ * available, reads fall back to the primary.
+ * The routing key is read when the physical connection is fetched, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: transaction managers
+ * fetch the connection before the transaction is marked read-only.
+ *
+ * <p>Reads that are combined with the change log or with after-commit events must not see an
+ * older state than the primary, so they run inside {@link #readFromPrimary}. A replica joins the
+ * rotation only after its first successful lag check.
+ *
+ * <p>Meters: {@code datasource.routing.connections} counts connections per {@code pool} and
+ * {@code route} (write, read, pinned or fallback); {@code datasource.replica.lag} and
+ * {@code datasource.replica.available} report each replica's last check.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    public static final String PRIMARY = "primary";
+
+    private static final String ROUTED = "datasource.routing.connections";
+    private static final int VALID_TIMEOUT_SECONDS = 5;
+
+    private static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final double maxLagSeconds;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter writes;
+    private final Counter fallbacks;
+    private final Counter pinned;
+
+    /**
+     * @param replicas replica pools by name, in the order they are tried
+     */
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            Map<String, DataSource> replicas,
+            Duration maxLag,
+            String lagQuery,
+            MeterRegistry meterRegistry
+    ) {
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.lagQuery = lagQuery;
+        this.writes = routedCounter(meterRegistry, PRIMARY, "write");
+        this.fallbacks = routedCounter(meterRegistry, PRIMARY, "fallback");
+        this.pinned = routedCounter(meterRegistry, PRIMARY, "pinned");
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource, routedCounter(meterRegistry, name, "read"));
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .tag("pool", name)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.available", replica, r -> r.available ? 1 : 0)
+                    .tag("pool", name)
+                    .register(meterRegistry);
+            this.replicas.add(replica);
+            targets.put(name, dataSource);
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            return PRIMARY;
+        }
+        if (PRIMARY_READS.get() != null) {
+            pinned.increment();
+            return PRIMARY;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.available) {
+                replica.reads.increment();
+                return replica.name;
+            }
+        }
+        fallbacks.increment();
+        return PRIMARY;
+    }
+
+    /**
+     * Runs {@code reads} with its read-only transactions on the primary, for reads that must include
+     * every committed change. Has no effect when replicas are not configured.
+     */
+    public static <T> T readFromPrimary(Supplier<T> reads) {
+        if (PRIMARY_READS.get() != null) {
+            return reads.get();
+        }
+        PRIMARY_READS.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            PRIMARY_READS.remove();
+        }
+    }
+
+    /**
+     * Runs {@code reads} with its read-only transactions on the primary.
+     *
+     * @see #readFromPrimary(Supplier)
+     */
+    public static void readFromPrimary(Runnable reads) {
+        readFromPrimary(() -> {
+            reads.run();
+            return null;
+        });
+    }
+
+    /**
+     * Measures each replica's lag and takes it out of rotation while it is too far behind or down.
+     */
+    @Scheduled(fixedDelayString = "#{@readReplicaProperties.lagCheckInterval.toMillis()}")
+    public void checkReplicas() {
+        replicas.forEach(this::check);
+    }
+
+    private void check(Replica replica) {
+        boolean available;
+        try (Connection connection = replica.dataSource.getConnection()) {
+            replica.lagSeconds = StringUtils.hasText(lagQuery) ? queryLag(connection) : 0;
+            available = (maxLagSeconds == 0 || replica.lagSeconds <= maxLagSeconds)
+                    && connection.isValid(VALID_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            log.warn("Replica {} cannot be checked: {}", replica.name, e.getMessage());
+            available = false;
+        }
+        if (available != replica.available) {
+            log.info("Replica {} {} rotation (lag {}s)", replica.name, available ? "back in" : "out of", replica.lagSeconds);
+        }
+        replica.available = available;
+    }
+
+    private double queryLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(lagQuery)) {
+            // NULL when the replica has not replayed anything yet
+            return result.next() ? result.getDouble(1) : 0;
+        }
+    }
+
+    /**
+     * Closes the primary and replica pools.
+     */
+    @Override
+    public void close() throws Exception {
+        for (DataSource dataSource : getResolvedDataSources().values()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static Counter routedCounter(MeterRegistry meterRegistry, String pool, String route) {
+        return Counter.builder(ROUTED)
+                .tag("pool", pool)
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter reads;
+        /**
+         * False until the first lag check succeeds.
+         */
+        private volatile boolean available;
+        private volatile double lagSeconds;
+
+        private Replica(String name, DataSource dataSource, Counter reads) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.reads = reads;
+        }
+    }
+}
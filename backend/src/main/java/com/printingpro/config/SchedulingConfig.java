@@ -0,0 +1,14 @@
+package com.printingpro.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration for enabling methods annotated with @Scheduled.
+ * Uses Spring Boot's auto-configured task scheduler; declaring a scheduler bean here would also
+ * replace the executor that @Async methods run on.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,42 @@
+package com.printingpro.controller;
+
+import com.printingpro.dto.response.AdminDashboardResponse;
+import com.printingpro.service.AdminDashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Admin controller for the dashboard.
+ * Requires ROLE_ADMIN authentication.
+ */
+@RestController
+@RequestMapping("/api/admin/dashboard")
+@RequiredArgsConstructor
+@Slf4j
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Admin - Dashboard", description = "Admin dashboard APIs")
+@SecurityRequirement(name = "bearerAuth")
+public class AdminDashboardController {
+
+    private final AdminDashboardService dashboardService;
+
+    /**
+     * Get everything the admin page shows in one response.
+     */
+    @GetMapping
+    @Operation(summary = "Get dashboard",
+            description = "First product page, category counts, total and recent messages in one response; "
+                    + "parts that time out are listed in 'unavailable' (Admin only)")
+    public ResponseEntity<AdminDashboardResponse> getDashboard() {
+        log.debug("Admin fetching dashboard");
+        return ResponseEntity.ok(dashboardService.getDashboard());
+    }
+}
@@ -1,7 +1,16 @@
 package com.printingpro.controller;
 
+import com.printingpro.dto.request.ProductBulkRequest;
+import com.printingpro.dto.request.ProductFileFormat;
+import com.printingpro.dto.request.ProductImageOrderRequest;
+import com.printingpro.dto.request.ProductPatchRequest;
 import com.printingpro.dto.request.ProductRequest;
+import com.printingpro.dto.response.ProductBulkResponse;
+import com.printingpro.dto.response.ProductImportResponse;
 import com.printingpro.dto.response.ProductResponse;
+import com.printingpro.service.ProductBulkService;
+import com.printingpro.service.ProductExportService;
+import com.printingpro.service.ProductImportService;
 import com.printingpro.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -9,11 +18,19 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.UUID;
 
@@ -31,6 +48,9 @@ import java.util.UUID;
 public class AdminProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ProductExportService productExportService;
+    private final ProductBulkService productBulkService;
 
     /**
      * Create a new product.
@@ -43,6 +63,53 @@ public class AdminProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Import products from NDJSON or CSV streamed in the request body.
+     * Valid rows are created even when others fail; the response lists the failed rows.
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    @Operation(summary = "Import products",
+            description = "Create products from NDJSON or CSV; failed rows are reported, not fatal (Admin only)")
+    public ResponseEntity<ProductImportResponse> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    ) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        ProductFileFormat format = ProductFileFormat.of(mediaType);
+        Charset charset = mediaType.getCharset() != null ? mediaType.getCharset() : StandardCharsets.UTF_8;
+        log.info("Admin importing products as {}", format);
+        ProductImportResponse response = productImportService.importProducts(new InputStreamReader(body, charset), format);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Delete, re-categorise or reprice many products at once; each runs as one set-based statement.
+     */
+    @PostMapping("/bulk")
+    @Operation(summary = "Bulk update products",
+            description = "Delete by ids, or change category or price of products selected by ids, category or price range (Admin only)")
+    public ResponseEntity<ProductBulkResponse> bulkUpdateProducts(@Valid @RequestBody ProductBulkRequest request) {
+        log.info("Admin running bulk {}", request.getOperation());
+        ProductBulkResponse response = productBulkService.apply(request);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Export the whole catalog as NDJSON or CSV, streamed as it is read.
+     */
+    @GetMapping("/export")
+    @Operation(summary = "Export products", description = "Download every product as ndjson or csv (Admin only)")
+    public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(defaultValue = "ndjson") String format) {
+        ProductFileFormat fileFormat = ProductFileFormat.fromName(format);
+        log.info("Admin exporting products as {}", fileFormat);
+        StreamingResponseBody body = out -> productExportService.export(fileFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(fileFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("products." + fileFormat.getExtension()).build().toString())
+                .body(body);
+    }
+
     /**
      * Update an existing product.
      */
@@ -57,6 +124,36 @@ public class AdminProductController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Partially update a product with a JSON Merge Patch (RFC 7396): absent properties are left
+     * unchanged and null removes one. The patch carries the version it was made against and is
+     * rejected with 409 Conflict if the product has changed since.
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Patch product", description = "Apply a JSON Merge Patch to a product at a given version (Admin only)")
+    public ResponseEntity<ProductResponse> patchProduct(
+            @PathVariable UUID id,
+            @Valid @RequestBody ProductPatchRequest request
+    ) {
+        log.info("Admin patching product: {}", id);
+        ProductResponse response = productService.patchProduct(id, request);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Reorder a product's images.
+     */
+    @PutMapping("/{id}/images/order")
+    @Operation(summary = "Reorder product images", description = "Set the display order of a product's images (Admin only)")
+    public ResponseEntity<ProductResponse> reorderImages(
+            @PathVariable UUID id,
+            @Valid @RequestBody ProductImageOrderRequest request
+    ) {
+        log.info("Admin reordering images of product: {}", id);
+        ProductResponse response = productService.reorderImages(id, request.getImageIds());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Delete a product.
      */
@@ -1,21 +1,46 @@
 package com.printingpro.controller;
 
+import com.printingpro.dto.request.ProductBatchRequest;
+import com.printingpro.dto.request.ProductFilterRequest;
+import com.printingpro.dto.request.ProductView;
+import com.printingpro.dto.request.SearchMode;
+import com.printingpro.dto.response.CursorPageResponse;
+import com.printingpro.dto.response.ProductBatchResponse;
+import com.printingpro.dto.response.ProductChangesResponse;
 import com.printingpro.dto.response.ProductResponse;
-import com.printingpro.entity.ProductCategory;
+import com.printingpro.dto.response.ProductSearchResponse;
+import com.printingpro.dto.response.SuggestionResponse;
+import com.printingpro.exception.ValidationException;
+import com.printingpro.service.CacheValidator;
+import com.printingpro.service.CatalogEventStream;
+import com.printingpro.service.CatalogResponseCache;
+import com.printingpro.service.CatalogResponseCache.SerializedResponse;
+import com.printingpro.service.ProductChangeService;
+import com.printingpro.service.ProductFieldSet;
+import com.printingpro.service.ProductSearchService;
 import com.printingpro.service.ProductService;
+import com.printingpro.service.ProductSuggestionService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -28,30 +53,213 @@ import java.util.UUID;
 @Tag(name = "Products", description = "Public product browsing APIs")
 public class ProductController {
 
+    private static final Duration SUGGEST_MAX_AGE = Duration.ofSeconds(30);
+
     private final ProductService productService;
+    private final ProductSearchService productSearchService;
+    private final ProductSuggestionService productSuggestionService;
+    private final ProductChangeService productChangeService;
+    private final CatalogEventStream catalogEventStream;
+    private final CatalogResponseCache responseCache;
 
     /**
-     * Get all products with optional filters and pagination.
+     * Get all products with optional filters and keyset pagination.
+     * Answers conditional requests with 304 before any product is read or serialized,
+     * and otherwise writes pre-serialized (optionally pre-gzipped) JSON.
      */
     @GetMapping
-    @Operation(summary = "Get all products", description = "Get paginated list of products with optional filters")
-    public ResponseEntity<List<ProductResponse>> getAllProducts() {
+    @Operation(summary = "Get all products", description = "Get a keyset-paginated list of products with optional filters; view=SUMMARY returns lightweight card items and fields= limits each item to the listed fields")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            schema = @Schema(implementation = CursorPageResponse.class)))
+    public ResponseEntity<byte[]> getAllProducts(
+            @Valid @ParameterObject ProductFilterRequest filter,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest
+    ) {
+        ProductFieldSet fields = null;
+        if (filter.getFields() != null) {
+            if (filter.getView() == ProductView.SUMMARY) {
+                throw new ValidationException("Fields cannot be combined with the SUMMARY view");
+            }
+            fields = ProductFieldSet.parse(filter.getFields());
+            // Equivalent field lists share one cache entry and ETag
+            filter.setFields(fields.toString());
+        }
+        ProductFieldSet requestedFields = fields;
+
+        boolean gzip = acceptsGzip(acceptEncoding);
+        CacheValidator validator = productService.getListingValidator(filter)
+                .map(v -> gzip ? v.forGzip() : v)
+                .orElse(null);
+        if (validator != null && isNotModified(webRequest, validator)) {
+            return null;
+        }
 
+        log.debug("Fetching products with filter: {}", filter);
+        SerializedResponse body = responseCache.get("list:" + filter, () -> {
+            if (requestedFields != null) {
+                return productService.getProductFields(filter, requestedFields);
+            }
+            return filter.getView() == ProductView.SUMMARY
+                    ? productService.getProductSummaries(filter)
+                    : productService.getAllProducts(filter);
+        });
+        return write(body, gzip, validator);
+    }
 
-        List<ProductResponse> products = productService.getAllProducts();
+    /**
+     * Ranked product search.
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Search products", description = "Ranked search over product names and descriptions, optionally with category and price facets")
+    public ResponseEntity<ProductSearchResponse> searchProducts(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) SearchMode mode,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean facets
+    ) {
+        log.debug("Searching products for: {}", query);
+        ProductSearchResponse response = productSearchService.searchProducts(query, mode, limit, facets);
+        return ResponseEntity.ok(response);
+    }
 
-        return ResponseEntity.ok(products);
+    /**
+     * Type-ahead suggestions for the storefront search box, served from memory.
+     * Browsers may reuse a response briefly since suggestions only change with the catalog.
+     */
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest completions", description = "Prefix completions over product names and categories")
+    public ResponseEntity<List<SuggestionResponse>> suggest(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer limit
+    ) {
+        List<SuggestionResponse> suggestions = productSuggestionService.suggest(query, limit);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(SUGGEST_MAX_AGE).cachePublic())
+                .body(suggestions);
+    }
+
+    /**
+     * Resolve up to {@value ProductBatchRequest#MAX_IDS} products by ID in one round trip.
+     */
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get products by IDs", description = "Resolve several products at once, in request order, listing ids that do not exist")
+    public ResponseEntity<ProductBatchResponse> getProductsByIds(@Valid @RequestBody ProductBatchRequest request) {
+        log.debug("Fetching {} products by id", request.getIds().size());
+        return ResponseEntity.ok(productService.getProductsByIds(request.getIds()));
+    }
+
+    /**
+     * Delta sync: products created, updated or deleted after catalog version {@code since}.
+     * Start with {@code since=0} and pass the returned version on the next call.
+     */
+    @GetMapping("/changes")
+    @Operation(summary = "Get catalog changes", description = "Products created, updated or deleted since a catalog version, with tombstones for deletions")
+    public ResponseEntity<ProductChangesResponse> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(required = false) Integer limit
+    ) {
+        log.debug("Fetching catalog changes since version {}", since);
+        return ResponseEntity.ok(productChangeService.getChanges(since, limit));
+    }
+
+    /**
+     * Server-Sent Events stream of committed product changes; event ids are catalog versions.
+     * Reconnecting clients send Last-Event-ID and first receive the changes they missed.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream catalog changes", description = "Server-Sent Events for product creates, updates and deletes, resumable with Last-Event-ID")
+    public SseEmitter streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        log.debug("Opening catalog change stream (Last-Event-ID: {})", lastEventId);
+        return catalogEventStream.subscribe(lastEventId);
     }
 
     /**
      * Get a single product by ID.
+     * Answers conditional requests with 304 before the product is read or serialized.
      */
     @GetMapping("/{id}")
     @Operation(summary = "Get product by ID", description = "Get detailed information about a specific product")
-    public ResponseEntity<ProductResponse> getProductById(@PathVariable UUID id) {
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            schema = @Schema(implementation = ProductResponse.class)))
+    public ResponseEntity<byte[]> getProductById(
+            @PathVariable UUID id,
+            @Parameter(description = "Comma-separated fields to return, e.g. name,pricePerSqft,images")
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest
+    ) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        if (fields != null) {
+            return getProductFields(id, ProductFieldSet.parse(fields), gzip, webRequest);
+        }
+        Optional<CacheValidator> validator = productService.getProductValidator(id);
+        if (validator.isPresent() && isNotModified(webRequest, gzip ? validator.get().forGzip() : validator.get())) {
+            return null;
+        }
+
         log.debug("Fetching product with id: {}", id);
-        ProductResponse product = productService.getProductById(id);
-        return ResponseEntity.ok(product);
+        SerializedResponse body = responseCache.get("product:" + id,
+                () -> productService.getProductById(id), CacheValidator::forProduct);
+        return write(body, gzip, gzip ? body.validator().forGzip() : body.validator());
+    }
+
+    /**
+     * Sparse-fieldset variant of {@link #getProductById}, with its own cache entry and ETag per field list.
+     */
+    private ResponseEntity<byte[]> getProductFields(UUID id, ProductFieldSet fields, boolean gzip, WebRequest webRequest) {
+        CacheValidator validator = productService.getProductValidator(id)
+                .map(v -> v.forVariant(fields.toString()))
+                .map(v -> gzip ? v.forGzip() : v)
+                .orElse(null);
+        if (validator != null && isNotModified(webRequest, validator)) {
+            return null;
+        }
+
+        log.debug("Fetching product fields {} for id: {}", fields, id);
+        SerializedResponse body = responseCache.get("product:" + id + "?fields=" + fields,
+                () -> productService.getProductFieldsById(id, fields));
+        return write(body, gzip, validator);
+    }
+
+    /**
+     * Checks If-None-Match / If-Modified-Since; on a match the 304 status and headers are already set.
+     */
+    private boolean isNotModified(WebRequest webRequest, CacheValidator validator) {
+        return webRequest.checkNotModified(validator.etag(), validator.lastModified());
     }
-}
 
+    /**
+     * Writes the cached bytes as-is. Validators are added and revalidation is required,
+     * so clients keep a copy but always ask before reusing it.
+     */
+    private ResponseEntity<byte[]> write(SerializedResponse body, boolean gzip, CacheValidator validator) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (validator != null) {
+            builder.eTag(validator.etag()).lastModified(validator.lastModified());
+        }
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return builder.body(body.gzip());
+        }
+        return builder.body(body.json());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").equalsIgnoreCase("q=0");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,28 @@
+package com.printingpro.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for resolving several products by id in one request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductBatchRequest {
+
+    public static final int MAX_IDS = 500;
+
+    @NotEmpty(message = "At least one product id is required")
+    @Size(max = MAX_IDS, message = "At most " + MAX_IDS + " product ids can be requested at once")
+    private List<@NotNull(message = "Product id must not be null") UUID> ids;
+}
@@ -0,0 +1,62 @@
+package com.printingpro.dto.request;
+
+import com.printingpro.entity.ProductCategory;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for a bulk admin operation over many products.
+ * Products are selected by {@code ids}, or for re-categorising and repricing also by category
+ * and price range; {@code DELETE} only takes ids.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductBulkRequest {
+
+    @NotNull(message = "Operation is required")
+    private Operation operation;
+
+    private List<@NotNull UUID> ids;
+
+    private ProductCategory category;
+
+    @PositiveOrZero(message = "Minimum price must be zero or positive")
+    private BigDecimal minPrice;
+
+    @PositiveOrZero(message = "Maximum price must be zero or positive")
+    private BigDecimal maxPrice;
+
+    /**
+     * New category, for {@code CHANGE_CATEGORY}.
+     */
+    private ProductCategory targetCategory;
+
+    /**
+     * Percentage to change prices by for {@code ADJUST_PRICE}, e.g. 10 or -5; results are rounded to two decimal places.
+     */
+    @Digits(integer = 4, fraction = 2, message = "Percentage must have at most 4 integer digits and 2 decimal places")
+    private BigDecimal pricePercent;
+
+    /**
+     * Amount to add to prices for {@code ADJUST_PRICE}; negative to lower them.
+     */
+    @Digits(integer = 8, fraction = 2, message = "Amount must have at most 8 integer digits and 2 decimal places")
+    private BigDecimal priceAmount;
+
+    public enum Operation {
+        DELETE,
+        CHANGE_CATEGORY,
+        ADJUST_PRICE
+    }
+}
@@ -0,0 +1,50 @@
+package com.printingpro.dto.request;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Product field that can be requested with {@code fields=}.
+ * The name is both the JSON property of {@code ProductResponse} and the entity attribute.
+ */
+public enum ProductField {
+
+    ID("id"),
+    NAME("name"),
+    DESCRIPTION("description"),
+    CATEGORY("category"),
+    PRICE_PER_SQFT("pricePerSqft"),
+    NEGOTIABLE("negotiable"),
+    IMAGES("images"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt"),
+    VERSION("version");
+
+    private static final Set<ProductField> COLUMNS =
+            Collections.unmodifiableSet(EnumSet.complementOf(EnumSet.of(IMAGES)));
+
+    private final String fieldName;
+
+    ProductField(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    /**
+     * True for fields stored as a column of the products table (everything except images).
+     */
+    public boolean isColumn() {
+        return this != IMAGES;
+    }
+
+    /**
+     * Every column field, for reads that need a whole product row without its images.
+     */
+    public static Set<ProductField> columns() {
+        return COLUMNS;
+    }
+}
@@ -0,0 +1,62 @@
+package com.printingpro.dto.request;
+
+import com.printingpro.exception.ValidationException;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * File formats for importing and exporting the catalog.
+ */
+public enum ProductFileFormat {
+
+    /**
+     * One JSON product per line: shaped like {@link ProductRequest} on import and like
+     * {@link com.printingpro.dto.response.ProductResponse} on export.
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * A header row naming the columns, then one product per record. Image URLs are separated by {@code |}.
+     */
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    ProductFileFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Format for a request's Content-Type, ignoring parameters such as charset; null when unsupported.
+     */
+    public static ProductFileFormat of(MediaType contentType) {
+        for (ProductFileFormat format : values()) {
+            if (MediaType.parseMediaType(format.mediaType).equalsTypeAndSubtype(contentType)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Format named by a {@code format} request parameter, ignoring case.
+     */
+    public static ProductFileFormat fromName(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Format must be ndjson or csv");
+        }
+    }
+}
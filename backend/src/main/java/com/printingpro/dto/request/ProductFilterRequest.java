@@ -0,0 +1,61 @@
+package com.printingpro.dto.request;
+
+import com.printingpro.entity.ProductCategory;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Query parameters for the public product listing.
+ * Pages are keyset-based: pass the {@code nextCursor} of the previous page to continue.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductFilterRequest {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private ProductCategory category;
+
+    @Size(max = 100, message = "Search term must not exceed 100 characters")
+    private String search;
+
+    @PositiveOrZero(message = "Minimum price must be zero or positive")
+    private BigDecimal minPrice;
+
+    @PositiveOrZero(message = "Maximum price must be zero or positive")
+    private BigDecimal maxPrice;
+
+    /**
+     * Opaque cursor returned as {@code nextCursor} by the previous page.
+     */
+    @Size(max = 200, message = "Cursor is invalid")
+    private String cursor;
+
+    @Min(value = 1, message = "Page size must be at least 1")
+    @Max(value = MAX_PAGE_SIZE, message = "Page size must not exceed " + MAX_PAGE_SIZE)
+    @Builder.Default
+    private Integer size = DEFAULT_PAGE_SIZE;
+
+    /**
+     * Comma-separated product fields to return, e.g. {@code name,pricePerSqft,images}; all fields when absent.
+     */
+    @Size(max = 200, message = "Fields must not exceed 200 characters")
+    private String fields;
+
+    /**
+     * FULL returns complete products; SUMMARY returns the lighter card projection.
+     */
+    @Builder.Default
+    private ProductView view = ProductView.FULL;
+}
@@ -0,0 +1,25 @@
+package com.printingpro.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for reordering a product's images.
+ * Lists every image id of the product exactly once, in the new display order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductImageOrderRequest {
+
+    @NotEmpty(message = "At least one image id is required")
+    private List<@NotNull(message = "Image id must not be null") UUID> imageIds;
+}
@@ -8,6 +8,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.UUID;
+
 /**
  * DTO for product image data in requests.
  */
@@ -17,6 +19,12 @@ import lombok.NoArgsConstructor;
 @Builder
 public class ProductImageRequest {
 
+    /**
+     * Id of an existing image of the product, to keep it on update. Images without an id are
+     * matched to existing ones by URL; ignored when creating a product.
+     */
+    private UUID id;
+
     @NotBlank(message = "Image URL is required")
     @Size(max = 500, message = "URL must not exceed 500 characters")
     private String url;
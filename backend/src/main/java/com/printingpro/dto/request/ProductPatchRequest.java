@@ -0,0 +1,94 @@
+package com.printingpro.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.printingpro.entity.ProductCategory;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * DTO for partially updating a product with a JSON Merge Patch (RFC 7396).
+ * Only the properties present in the body are changed; a property set to null is removed, which
+ * resets {@code negotiable} to its default and is rejected for the required fields.
+ * {@code version} is the product version the patch was made from.
+ */
+@Data
+@NoArgsConstructor
+public class ProductPatchRequest {
+
+    public static final String NAME = "name";
+    public static final String DESCRIPTION = "description";
+    public static final String CATEGORY = "category";
+    public static final String PRICE_PER_SQFT = "pricePerSqft";
+    public static final String NEGOTIABLE = "negotiable";
+    public static final String IMAGES = "images";
+
+    @NotNull(message = "Version is required")
+    private Long version;
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "Product name must not be blank")
+    @Size(max = 150, message = "Product name must not exceed 150 characters")
+    private String name;
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "Description must not be blank")
+    @Size(max = 2000, message = "Description must not exceed 2000 characters")
+    private String description;
+
+    private ProductCategory category;
+
+    @Positive(message = "Price must be greater than zero")
+    @Digits(integer = 8, fraction = 2, message = "Price must have at most 8 integer digits and 2 decimal places")
+    private BigDecimal pricePerSqft;
+
+    private Boolean negotiable;
+
+    /**
+     * Properties present in the body, null or not.
+     */
+    @JsonIgnore
+    private final Set<String> patched = new HashSet<>();
+
+    public void setName(String name) {
+        this.name = name;
+        patched.add(NAME);
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+        patched.add(DESCRIPTION);
+    }
+
+    public void setCategory(ProductCategory category) {
+        this.category = category;
+        patched.add(CATEGORY);
+    }
+
+    public void setPricePerSqft(BigDecimal pricePerSqft) {
+        this.pricePerSqft = pricePerSqft;
+        patched.add(PRICE_PER_SQFT);
+    }
+
+    public void setNegotiable(Boolean negotiable) {
+        this.negotiable = negotiable;
+        patched.add(NEGOTIABLE);
+    }
+
+    /**
+     * Images are not patchable; the property is only noted so the request can be rejected.
+     */
+    public void setImages(Object images) {
+        patched.add(IMAGES);
+    }
+
+    public boolean isPatched(String property) {
+        return patched.contains(property);
+    }
+}
@@ -0,0 +1,18 @@
+package com.printingpro.dto.request;
+
+/**
+ * Shape of each item in the product listing.
+ */
+public enum ProductView {
+
+    /**
+     * Every product field, all images and both timestamps.
+     */
+    FULL,
+
+    /**
+     * What a catalog card shows: name, category, price, a short description excerpt and the
+     * primary image. Served as {@code ProductSummaryResponse}.
+     */
+    SUMMARY
+}
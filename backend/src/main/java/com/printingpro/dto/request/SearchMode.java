@@ -0,0 +1,34 @@
+package com.printingpro.dto.request;
+
+/**
+ * Strategy used to match a search term against products.
+ */
+public enum SearchMode {
+
+    /**
+     * Case-insensitive substring match on name and description, unranked.
+     */
+    LIKE,
+
+    /**
+     * PostgreSQL full-text search over the weighted search_vector column, ranked with ts_rank.
+     */
+    FULL_TEXT,
+
+    /**
+     * Substring match served by pg_trgm indexes, ranked by trigram similarity of the name.
+     */
+    TRIGRAM,
+
+    /**
+     * All terms must match; served by the in-process inverted index and ranked with BM25.
+     * Falls back to LIKE while the index is not built.
+     */
+    MEMORY,
+
+    /**
+     * Like MEMORY, but misspelled terms are first corrected to the closest indexed term within
+     * one or two edits. Falls back to LIKE while the index is not built.
+     */
+    FUZZY
+}
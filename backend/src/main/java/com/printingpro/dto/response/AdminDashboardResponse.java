@@ -0,0 +1,40 @@
+package com.printingpro.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for the admin dashboard, combining the reads the admin page needs in one response.
+ * A part that timed out or failed is null and listed in {@code unavailable}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AdminDashboardResponse {
+
+    /**
+     * First page of the product listing; continue with its {@code nextCursor}.
+     */
+    private CursorPageResponse<ProductResponse> products;
+
+    private Map<String, Long> categoryCounts;
+    private Long totalProducts;
+    private List<ContactResponse> recentMessages;
+
+    @Builder.Default
+    private List<Part> unavailable = new ArrayList<>();
+
+    public enum Part {
+        PRODUCTS,
+        CATEGORY_COUNTS,
+        TOTAL_PRODUCTS,
+        RECENT_MESSAGES
+    }
+}
@@ -0,0 +1,27 @@
+package com.printingpro.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for a keyset-paginated page of results.
+ * {@code nextCursor} is null when there are no further pages.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageResponse<T> {
+
+    @Builder.Default
+    private List<T> items = new ArrayList<>();
+
+    private int size;
+    private boolean hasMore;
+    private String nextCursor;
+}
@@ -1,5 +1,6 @@
 package com.printingpro.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -24,6 +25,12 @@ public class ErrorResponse {
     private String path;
     private List<String> details;
 
+    /**
+     * Current version of the resource, on conflicts.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long currentVersion;
+
     public static ErrorResponse of(Integer status, String error, String message, String path) {
         return ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
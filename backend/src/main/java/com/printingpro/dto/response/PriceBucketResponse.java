@@ -0,0 +1,30 @@
+package com.printingpro.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for the number of matching products in one price-per-sqft range.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceBucketResponse {
+
+    /**
+     * Inclusive lower bound, or null for the first bucket.
+     */
+    private BigDecimal min;
+
+    /**
+     * Exclusive upper bound, or null for the last bucket.
+     */
+    private BigDecimal max;
+
+    private long count;
+}
@@ -0,0 +1,27 @@
+package com.printingpro.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for a batch product lookup.
+ * {@code products} follows the order of the requested ids; ids with no product are listed in {@code missing}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductBatchResponse {
+
+    @Builder.Default
+    private List<ProductResponse> products = new ArrayList<>();
+
+    @Builder.Default
+    private List<UUID> missing = new ArrayList<>();
+}
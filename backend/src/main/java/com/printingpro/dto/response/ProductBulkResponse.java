@@ -0,0 +1,29 @@
+package com.printingpro.dto.response;
+
+import com.printingpro.dto.request.ProductBulkRequest.Operation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the outcome of a bulk admin operation.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductBulkResponse {
+
+    private Operation operation;
+
+    /**
+     * Number of products written.
+     */
+    private int affected;
+
+    /**
+     * Catalog version of the last change recorded, or null when nothing was written.
+     */
+    private Long version;
+}
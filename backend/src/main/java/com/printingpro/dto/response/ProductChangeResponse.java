@@ -0,0 +1,25 @@
+package com.printingpro.dto.response;
+
+import com.printingpro.event.ProductChangedEvent.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO for one entry of the catalog change feed.
+ * {@code product} holds the current state for CREATED and UPDATED, and is null for DELETED.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductChangeResponse {
+
+    private long version;
+    private ChangeType type;
+    private UUID productId;
+    private ProductResponse product;
+}
@@ -0,0 +1,27 @@
+package com.printingpro.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for a page of the catalog change feed.
+ * Pass {@code version} as {@code since} on the next request; when {@code hasMore} is true, ask again right away.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductChangesResponse {
+
+    private long since;
+    private long version;
+    private boolean hasMore;
+
+    @Builder.Default
+    private List<ProductChangeResponse> changes = new ArrayList<>();
+}
@@ -0,0 +1,44 @@
+package com.printingpro.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the outcome of a product import.
+ * Valid rows are imported even when others fail; {@code errors} lists the failed rows, up to the
+ * configured maximum, and {@code failed} counts all of them.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductImportResponse {
+
+    private long received;
+
+    private long imported;
+
+    private long failed;
+
+    @Builder.Default
+    private List<RowError> errors = new ArrayList<>();
+
+    /**
+     * A row that was not imported. {@code row} is the line the row starts on, counting from 1.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RowError {
+
+        private long row;
+
+        private String message;
+    }
+}
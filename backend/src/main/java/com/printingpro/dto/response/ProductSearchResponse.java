@@ -0,0 +1,36 @@
+package com.printingpro.dto.response;
+
+import com.printingpro.dto.request.SearchMode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for ranked product search results.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSearchResponse {
+
+    private String query;
+    private SearchMode mode;
+
+    /**
+     * Query actually searched when FUZZY mode corrected a misspelling, otherwise null.
+     */
+    private String correctedQuery;
+
+    @Builder.Default
+    private List<ProductResponse> items = new ArrayList<>();
+
+    /**
+     * Counts over every match; only present when requested.
+     */
+    private SearchFacetsResponse facets;
+}
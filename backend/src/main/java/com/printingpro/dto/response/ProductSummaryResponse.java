@@ -0,0 +1,35 @@
+package com.printingpro.dto.response;
+
+import com.printingpro.entity.ProductCategory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * DTO for a product card in catalog grids.
+ * Carries a description excerpt and only the primary image (lowest ordering).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSummaryResponse {
+
+    /**
+     * Maximum length of {@link #excerpt}, in characters.
+     */
+    public static final int EXCERPT_LENGTH = 160;
+
+    private UUID id;
+    private String name;
+    private String excerpt;
+    private ProductCategory category;
+    private BigDecimal pricePerSqft;
+    private Boolean negotiable;
+    private String imageUrl;
+    private String imageAltText;
+}
@@ -0,0 +1,30 @@
+package com.printingpro.dto.response;
+
+import com.printingpro.entity.ProductCategory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for facet counts over all products matching a search, not just the returned page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchFacetsResponse {
+
+    private long total;
+
+    @Builder.Default
+    private Map<ProductCategory, Long> categories = new LinkedHashMap<>();
+
+    @Builder.Default
+    private List<PriceBucketResponse> priceBuckets = new ArrayList<>();
+}
@@ -0,0 +1,33 @@
+package com.printingpro.dto.response;
+
+import com.printingpro.entity.ProductCategory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO for a type-ahead suggestion: either a product or a whole category.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SuggestionResponse {
+
+    public enum Type {
+        CATEGORY,
+        PRODUCT
+    }
+
+    private String text;
+    private Type type;
+    private ProductCategory category;
+
+    /**
+     * Set for product suggestions only.
+     */
+    private UUID productId;
+}
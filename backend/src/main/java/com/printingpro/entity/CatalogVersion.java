@@ -0,0 +1,29 @@
+package com.printingpro.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Single-row counter holding the last allocated catalog version.
+ * Writers lock the row to allocate versions, so versions are committed in order.
+ */
+@Entity
+@Table(name = "catalog_version")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogVersion {
+
+    /**
+     * Id of the only row.
+     */
+    public static final int ROW_ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Long version;
+}
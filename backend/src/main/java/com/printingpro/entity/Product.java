@@ -2,6 +2,10 @@ package com.printingpro.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -16,9 +20,13 @@ import java.util.UUID;
  * Entity representing a printable product in the storefront.
  * Each product has a name, description, category, price per square foot,
  * negotiability flag, and associated images.
+ * Products are kept in Hibernate's second-level cache, so lookups by id usually skip the database.
+ * Updates are optimistically locked on {@code version} and write only the columns that changed.
  */
 @Entity
 @Table(name = "products")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product")
+@DynamicUpdate
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -48,8 +56,15 @@ public class Product {
     @Builder.Default
     private Boolean negotiable = true;
 
+    /**
+     * Loaded lazily; uninitialized collections of products in the same persistence context
+     * are fetched together in one IN query, so listings cost a bounded number of queries.
+     * The second-level cache keeps the image ids per product; the images live in their own region.
+     */
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("ordering ASC")
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product-images")
     @Builder.Default
     private List<ProductImage> images = new ArrayList<>();
 
@@ -61,6 +76,13 @@ public class Product {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * Row version, incremented by every update; an update made from an older version fails.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     /**
      * Helper method to add an image to the product.
      * Maintains bidirectional relationship.
@@ -78,5 +100,14 @@ public class Product {
         images.remove(image);
         image.setProduct(null);
     }
+
+    /**
+     * Marks the product itself as modified after a change to its images only, which would otherwise
+     * write just the image rows. The product row is then updated too, so its version and updatedAt
+     * (and with them the ETag and the snapshot fingerprint) move.
+     */
+    public void imagesChanged() {
+        updatedAt = LocalDateTime.now();
+    }
 }
 
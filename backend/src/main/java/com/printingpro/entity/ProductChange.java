@@ -0,0 +1,37 @@
+package com.printingpro.entity;
+
+import com.printingpro.event.ProductChangedEvent.ChangeType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Latest change to a product, stamped with the catalog version it was made at.
+ * A deleted product keeps its row with type DELETED (a tombstone) so mirrors learn about the removal.
+ */
+@Entity
+@Table(name = "product_changes",
+        indexes = @Index(name = "idx_product_changes_version", columnList = "version", unique = true))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductChange {
+
+    @Id
+    @Column(name = "product_id")
+    private UUID productId;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 10)
+    private ChangeType type;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
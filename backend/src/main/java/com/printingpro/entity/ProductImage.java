@@ -3,6 +3,8 @@ package com.printingpro.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.UUID;
 
@@ -12,6 +14,7 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "product_images")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product-image")
 @Getter
 @Setter
 @NoArgsConstructor
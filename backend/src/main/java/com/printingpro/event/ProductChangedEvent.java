@@ -0,0 +1,43 @@
+package com.printingpro.event;
+
+import com.printingpro.dto.response.ProductResponse;
+import com.printingpro.entity.ProductCategory;
+
+import java.util.UUID;
+
+/**
+ * Application event published by ProductService whenever a product is written.
+ * Listeners that maintain in-memory catalog state should react after the transaction commits.
+ *
+ * @param type             kind of change
+ * @param productId        id of the changed product
+ * @param product          state of the product after the change (null for deletions)
+ * @param previousCategory category before the change (null for creations)
+ * @param version          catalog version the change was recorded at
+ */
+public record ProductChangedEvent(
+        ChangeType type,
+        UUID productId,
+        ProductResponse product,
+        ProductCategory previousCategory,
+        long version
+) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static ProductChangedEvent created(ProductResponse product, long version) {
+        return new ProductChangedEvent(ChangeType.CREATED, product.getId(), product, null, version);
+    }
+
+    public static ProductChangedEvent updated(ProductResponse product, ProductCategory previousCategory, long version) {
+        return new ProductChangedEvent(ChangeType.UPDATED, product.getId(), product, previousCategory, version);
+    }
+
+    public static ProductChangedEvent deleted(UUID productId, ProductCategory previousCategory, long version) {
+        return new ProductChangedEvent(ChangeType.DELETED, productId, null, previousCategory, version);
+    }
+}
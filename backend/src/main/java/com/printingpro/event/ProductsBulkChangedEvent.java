@@ -0,0 +1,12 @@
+package com.printingpro.event;
+
+import java.util.List;
+
+/**
+ * Application event published by ProductBulkService once per bulk operation.
+ * Listeners apply the whole operation at once instead of handling one {@link ProductChangedEvent} per product.
+ *
+ * @param changes the individual changes, in the order their versions were allocated
+ */
+public record ProductsBulkChangedEvent(List<ProductChangedEvent> changes) {
+}
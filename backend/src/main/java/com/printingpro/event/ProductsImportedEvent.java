@@ -0,0 +1,31 @@
+package com.printingpro.event;
+
+import com.printingpro.dto.response.ProductResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Application event published by ProductImportService for each committed chunk of an import.
+ * Listeners apply the whole chunk at once instead of handling one {@link ProductChangedEvent} per product.
+ *
+ * @param products     the created products, in the order their versions were allocated
+ * @param firstVersion catalog version of the first product; the others follow consecutively
+ */
+public record ProductsImportedEvent(List<ProductResponse> products, long firstVersion) {
+
+    public long lastVersion() {
+        return firstVersion + products.size() - 1;
+    }
+
+    /**
+     * The chunk as individual creations, for listeners that track changes one at a time.
+     */
+    public List<ProductChangedEvent> changes() {
+        List<ProductChangedEvent> changes = new ArrayList<>(products.size());
+        for (int i = 0; i < products.size(); i++) {
+            changes.add(ProductChangedEvent.created(products.get(i), firstVersion + i));
+        }
+        return changes;
+    }
+}
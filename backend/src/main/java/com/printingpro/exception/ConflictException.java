@@ -0,0 +1,21 @@
+package com.printingpro.exception;
+
+/**
+ * Exception thrown when a write was based on an outdated version of a resource.
+ */
+public class ConflictException extends RuntimeException {
+
+    private final Long currentVersion;
+
+    public ConflictException(String message, Long currentVersion) {
+        super(message);
+        this.currentVersion = currentVersion;
+    }
+
+    /**
+     * Version the resource has now, so the client can reload it and retry; null if unknown.
+     */
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+}
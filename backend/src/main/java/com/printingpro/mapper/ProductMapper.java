@@ -1,15 +1,32 @@
 package com.printingpro.mapper;
 
+import com.printingpro.dto.request.ProductField;
 import com.printingpro.dto.request.ProductImageRequest;
+import com.printingpro.dto.request.ProductPatchRequest;
 import com.printingpro.dto.request.ProductRequest;
 import com.printingpro.dto.response.ProductImageResponse;
 import com.printingpro.dto.response.ProductResponse;
+import com.printingpro.dto.response.ProductSummaryResponse;
 import com.printingpro.entity.Product;
+import com.printingpro.entity.ProductCategory;
 import com.printingpro.entity.ProductImage;
+import com.printingpro.repository.projection.ProductSummaryView;
+import jakarta.persistence.Tuple;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
@@ -19,6 +36,13 @@ import java.util.stream.Collectors;
 @Component
 public class ProductMapper {
 
+    /**
+     * Display order of a product's images: by ordering, ties broken by id.
+     */
+    public static final Comparator<ProductImageResponse> IMAGE_ORDER =
+            Comparator.comparing(ProductImageResponse::getOrdering, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(ProductImageResponse::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
     /**
      * Converts ProductRequest DTO to Product entity.
      * Used for creating new products.
@@ -63,14 +87,96 @@ public class ProductMapper {
         product.setPricePerSqft(request.getPricePerSqft());
         product.setNegotiable(request.getNegotiable() != null ? request.getNegotiable() : true);
 
-        // Update images: clear existing and add new ones
-        if (request.getImages() != null) {
-            product.getImages().clear();
-            for (ProductImageRequest imageRequest : request.getImages()) {
-                ProductImage image = toImageEntity(imageRequest);
-                product.addImage(image);
+        if (request.getImages() != null && reconcileImages(product, request.getImages())) {
+            product.imagesChanged();
+        }
+    }
+
+    /**
+     * Applies the properties present in a merge patch; a null {@code negotiable} resets it to true.
+     * Images are left alone, so the image collection is never loaded.
+     */
+    public void applyPatch(Product product, ProductPatchRequest patch) {
+        if (product == null || patch == null) {
+            return;
+        }
+
+        if (patch.isPatched(ProductPatchRequest.NAME)) {
+            product.setName(patch.getName());
+        }
+        if (patch.isPatched(ProductPatchRequest.DESCRIPTION)) {
+            product.setDescription(patch.getDescription());
+        }
+        if (patch.isPatched(ProductPatchRequest.CATEGORY)) {
+            product.setCategory(patch.getCategory());
+        }
+        if (patch.isPatched(ProductPatchRequest.PRICE_PER_SQFT)) {
+            product.setPricePerSqft(patch.getPricePerSqft());
+        }
+        if (patch.isPatched(ProductPatchRequest.NEGOTIABLE)) {
+            product.setNegotiable(patch.getNegotiable() != null ? patch.getNegotiable() : true);
+        }
+    }
+
+    /**
+     * Makes the product's images match {@code requested} while touching only what differs.
+     * Each requested image is matched to an existing one by id, or else by URL; matched images are
+     * updated in place (dirty checking writes only changed columns), unmatched requests are added
+     * and unmatched existing images are removed. An unchanged list issues no SQL at all and leaves
+     * the cached image collection valid.
+     *
+     * @return whether any image was added, removed or changed
+     */
+    private boolean reconcileImages(Product product, List<ProductImageRequest> requested) {
+        Map<UUID, ProductImage> byId = new HashMap<>();
+        Map<String, List<ProductImage>> byUrl = new HashMap<>();
+        for (ProductImage image : product.getImages()) {
+            byId.put(image.getId(), image);
+            byUrl.computeIfAbsent(image.getUrl(), url -> new ArrayList<>(1)).add(image);
+        }
+
+        Set<ProductImage> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<ProductImage> added = new ArrayList<>();
+        boolean changed = false;
+        for (ProductImageRequest imageRequest : requested) {
+            ProductImage image = imageRequest.getId() != null ? byId.get(imageRequest.getId()) : null;
+            if (image == null || kept.contains(image)) {
+                image = byUrl.getOrDefault(imageRequest.getUrl(), List.of()).stream()
+                        .filter(candidate -> !kept.contains(candidate))
+                        .findFirst()
+                        .orElse(null);
+            }
+            if (image == null) {
+                added.add(toImageEntity(imageRequest));
+                continue;
+            }
+            kept.add(image);
+            int ordering = imageRequest.getOrdering() != null ? imageRequest.getOrdering() : 0;
+            if (!image.getUrl().equals(imageRequest.getUrl())) {
+                image.setUrl(imageRequest.getUrl());
+                changed = true;
+            }
+            if (!Objects.equals(image.getAltText(), imageRequest.getAltText())) {
+                image.setAltText(imageRequest.getAltText());
+                changed = true;
+            }
+            if (!Objects.equals(image.getOrdering(), ordering)) {
+                image.setOrdering(ordering);
+                changed = true;
             }
         }
+
+        // Only structural changes dirty the collection, so check before touching it
+        if (kept.size() < product.getImages().size()) {
+            for (ProductImage image : new ArrayList<>(product.getImages())) {
+                if (!kept.contains(image)) {
+                    product.removeImage(image);
+                }
+            }
+            changed = true;
+        }
+        added.forEach(product::addImage);
+        return changed || !added.isEmpty();
     }
 
     /**
@@ -80,6 +186,17 @@ public class ProductMapper {
         if (product == null) {
             return null;
         }
+        return toResponse(product, toImageResponseList(product.getImages()));
+    }
+
+    /**
+     * Converts Product entity to ProductResponse DTO with images that are already known, so the
+     * image collection is not loaded.
+     */
+    public ProductResponse toResponse(Product product, List<ProductImageResponse> images) {
+        if (product == null) {
+            return null;
+        }
 
         return ProductResponse.builder()
                 .id(product.getId())
@@ -88,9 +205,34 @@ public class ProductMapper {
                 .category(product.getCategory())
                 .pricePerSqft(product.getPricePerSqft())
                 .negotiable(product.getNegotiable())
-                .images(toImageResponseList(product.getImages()))
+                .images(images)
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
+                .version(product.getVersion())
+                .build();
+    }
+
+    /**
+     * Converts a row selecting every {@link ProductField#columns() column field} to a ProductResponse.
+     *
+     * @param images the product's images in display order, or null when it has none
+     */
+    public ProductResponse toResponse(Tuple row, List<ProductImageResponse> images) {
+        if (row == null) {
+            return null;
+        }
+
+        return ProductResponse.builder()
+                .id(row.get(ProductField.ID.getFieldName(), UUID.class))
+                .name(row.get(ProductField.NAME.getFieldName(), String.class))
+                .description(row.get(ProductField.DESCRIPTION.getFieldName(), String.class))
+                .category(row.get(ProductField.CATEGORY.getFieldName(), ProductCategory.class))
+                .pricePerSqft(row.get(ProductField.PRICE_PER_SQFT.getFieldName(), BigDecimal.class))
+                .negotiable(row.get(ProductField.NEGOTIABLE.getFieldName(), Boolean.class))
+                .images(images != null ? images : new ArrayList<>())
+                .createdAt(row.get(ProductField.CREATED_AT.getFieldName(), LocalDateTime.class))
+                .updatedAt(row.get(ProductField.UPDATED_AT.getFieldName(), LocalDateTime.class))
+                .version(row.get(ProductField.VERSION.getFieldName(), Long.class))
                 .build();
     }
 
@@ -106,6 +248,117 @@ public class ProductMapper {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Converts a ProductResponse to the card summary, keeping its primary image.
+     * Ties on ordering are broken by image id, as in the summary query.
+     */
+    public ProductSummaryResponse toSummary(ProductResponse product) {
+        if (product == null) {
+            return null;
+        }
+
+        ProductImageResponse primary = product.getImages() == null ? null
+                : product.getImages().stream().min(IMAGE_ORDER).orElse(null);
+
+        return ProductSummaryResponse.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .excerpt(excerpt(product.getDescription()))
+                .category(product.getCategory())
+                .pricePerSqft(product.getPricePerSqft())
+                .negotiable(product.getNegotiable())
+                .imageUrl(primary != null ? primary.getUrl() : null)
+                .imageAltText(primary != null ? primary.getAltText() : null)
+                .build();
+    }
+
+    /**
+     * Converts a summary projection row to the card summary.
+     */
+    public ProductSummaryResponse toSummary(ProductSummaryView view) {
+        if (view == null) {
+            return null;
+        }
+
+        return ProductSummaryResponse.builder()
+                .id(view.getId())
+                .name(view.getName())
+                .excerpt(view.getExcerpt())
+                .category(view.getCategory())
+                .pricePerSqft(view.getPricePerSqft())
+                .negotiable(view.getNegotiable())
+                .imageUrl(view.getImageUrl())
+                .imageAltText(view.getImageAltText())
+                .build();
+    }
+
+    private static String excerpt(String description) {
+        if (description == null || description.length() <= ProductSummaryResponse.EXCERPT_LENGTH) {
+            return description;
+        }
+        return description.substring(0, ProductSummaryResponse.EXCERPT_LENGTH);
+    }
+
+    /**
+     * Projects a ProductResponse onto the requested fields, in the given order.
+     */
+    public Map<String, Object> toFieldMap(ProductResponse product, List<ProductField> fields) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (ProductField field : fields) {
+            values.put(field.getFieldName(), switch (field) {
+                case ID -> product.getId();
+                case NAME -> product.getName();
+                case DESCRIPTION -> product.getDescription();
+                case CATEGORY -> product.getCategory();
+                case PRICE_PER_SQFT -> product.getPricePerSqft();
+                case NEGOTIABLE -> product.getNegotiable();
+                case IMAGES -> product.getImages();
+                case CREATED_AT -> product.getCreatedAt();
+                case UPDATED_AT -> product.getUpdatedAt();
+                case VERSION -> product.getVersion();
+            });
+        }
+        return values;
+    }
+
+    /**
+     * Converts a sparse-fieldset row to the requested fields, in the given order.
+     *
+     * @param images the product's images, used only when {@link ProductField#IMAGES} is requested
+     */
+    public Map<String, Object> toFieldMap(Tuple row, List<ProductField> fields, List<ProductImageResponse> images) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (ProductField field : fields) {
+            values.put(field.getFieldName(), field.isColumn()
+                    ? row.get(field.getFieldName())
+                    : images != null ? images : new ArrayList<>());
+        }
+        return values;
+    }
+
+    /**
+     * Groups image rows ({@code productId, id, url, altText, ordering}) by product, keeping their order.
+     */
+    public Map<UUID, List<ProductImageResponse>> toImageResponsesByProduct(List<Tuple> rows) {
+        Map<UUID, List<ProductImageResponse>> images = new HashMap<>();
+        for (Tuple row : rows) {
+            images.computeIfAbsent(row.get("productId", UUID.class), id -> new ArrayList<>()).add(toImageResponse(row));
+        }
+        return images;
+    }
+
+    /**
+     * Converts one image row ({@code productId, id, url, altText, ordering}) to a ProductImageResponse.
+     */
+    public ProductImageResponse toImageResponse(Tuple row) {
+        return ProductImageResponse.builder()
+                .id(row.get("id", UUID.class))
+                .url(row.get("url", String.class))
+                .altText(row.get("altText", String.class))
+                .ordering(row.get("ordering", Integer.class))
+                .build();
+    }
+
     /**
      * Converts ProductImageRequest to ProductImage entity.
      */
@@ -138,7 +391,9 @@ public class ProductMapper {
     }
 
     /**
-     * Converts a list of ProductImage entities to ProductImageResponse DTOs.
+     * Converts a list of ProductImage entities to ProductImageResponse DTOs in display order.
+     * Sorted here rather than trusting the collection order: images are reordered in place, and a
+     * cached collection keeps the order it was loaded in.
      */
     private List<ProductImageResponse> toImageResponseList(List<ProductImage> images) {
         if (images == null) {
@@ -146,6 +401,7 @@ public class ProductMapper {
         }
         return images.stream()
                 .map(this::toImageResponse)
+                .sorted(IMAGE_ORDER)
                 .collect(Collectors.toList());
     }
 }
@@ -1,11 +1,13 @@
 package com.printingpro.repository;
 
 import com.printingpro.entity.ContactMessage;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -19,6 +21,11 @@ public interface ContactMessageRepository extends JpaRepository<ContactMessage,
      */
     Page<ContactMessage> findAllByOrderByCreatedAtDesc(Pageable pageable);
 
+    /**
+     * Newest contact messages, without the count query a page needs.
+     */
+    List<ContactMessage> findByOrderByCreatedAtDesc(Limit limit);
+
     /**
      * Find contact messages by email.
      */
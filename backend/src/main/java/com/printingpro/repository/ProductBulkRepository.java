@@ -0,0 +1,66 @@
+package com.printingpro.repository;
+
+import com.printingpro.entity.ProductCategory;
+import com.printingpro.repository.projection.ProductBulkView;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Custom repository fragment for set-based bulk writes that return the rows they changed.
+ * Each write is one statement over the selection, and, like a JPQL bulk statement, evicts the
+ * product region of the second-level cache.
+ */
+public interface ProductBulkRepository {
+
+    /**
+     * Lowest and highest price among the selected products; both null when nothing is selected.
+     */
+    BigDecimal[] findPriceRange(Selection selection);
+
+    /**
+     * Moves the selected products in category {@code from} to {@code to}.
+     *
+     * @return the moved rows as the statement left them
+     */
+    List<ProductBulkView> moveCategory(Selection selection, ProductCategory from, ProductCategory to,
+                                       LocalDateTime now);
+
+    /**
+     * Multiplies the selected products' prices by {@code factor}, rounded to two decimal places.
+     *
+     * @return the repriced rows as the statement left them
+     */
+    List<ProductBulkView> scalePrice(Selection selection, BigDecimal factor, LocalDateTime now);
+
+    /**
+     * Adds {@code amount} to the selected products' prices.
+     *
+     * @return the repriced rows as the statement left them
+     */
+    List<ProductBulkView> addToPrice(Selection selection, BigDecimal amount, LocalDateTime now);
+
+    /**
+     * Deletes the given products; their images must be deleted first.
+     *
+     * @return the deleted rows as they were before the statement
+     */
+    List<ProductBulkView> deleteReturning(Collection<UUID> ids);
+
+    /**
+     * Products a bulk statement applies to: the given ids, or else those matching every non-null filter.
+     */
+    record Selection(Collection<UUID> ids, ProductCategory category, BigDecimal minPrice, BigDecimal maxPrice) {
+
+        public static Selection byIds(Collection<UUID> ids) {
+            return new Selection(ids, null, null, null);
+        }
+
+        public static Selection byFilters(ProductCategory category, BigDecimal minPrice, BigDecimal maxPrice) {
+            return new Selection(null, category, minPrice, maxPrice);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.printingpro.repository;
+
+import com.printingpro.entity.Product;
+import com.printingpro.entity.ProductCategory;
+import com.printingpro.repository.projection.ProductBulkView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.action.internal.BulkOperationCleanupAction;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.query.NativeQuery;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Native implementation of {@link ProductBulkRepository}.
+ * PostgreSQL returns the changed rows with {@code RETURNING}; H2, used by the tests, reads them
+ * from a data change delta table ({@code FINAL TABLE} or {@code OLD TABLE}) around the statement.
+ * Hibernate treats either form as a query, so the second-level cache cleanup that it schedules for
+ * its own bulk statements is scheduled here explicitly.
+ */
+public class ProductBulkRepositoryImpl implements ProductBulkRepository {
+
+    private static final String COLUMNS = "id, category, price_per_sqft, version";
+
+    static final String MOVE_CATEGORY = "category = :to";
+    static final String SCALE_PRICE = "price_per_sqft = ROUND(price_per_sqft * :factor, 2)";
+    static final String ADD_TO_PRICE = "price_per_sqft = price_per_sqft + :amount";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public BigDecimal[] findPriceRange(Selection selection) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        String where = where(selection, parameters);
+        Query query = entityManager.createNativeQuery(
+                "SELECT MIN(price_per_sqft), MAX(price_per_sqft) FROM products WHERE " + where);
+        parameters.forEach(query::setParameter);
+        Object[] range = (Object[]) query.getSingleResult();
+        return new BigDecimal[]{(BigDecimal) range[0], (BigDecimal) range[1]};
+    }
+
+    @Override
+    public List<ProductBulkView> moveCategory(Selection selection, ProductCategory from, ProductCategory to,
+                                              LocalDateTime now) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("to", to.name());
+        parameters.put("from", from.name());
+        String where = "category = :from AND " + where(selection, parameters);
+        return update(MOVE_CATEGORY, where, parameters, now);
+    }
+
+    @Override
+    public List<ProductBulkView> scalePrice(Selection selection, BigDecimal factor, LocalDateTime now) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("factor", factor);
+        return update(SCALE_PRICE, where(selection, parameters), parameters, now);
+    }
+
+    @Override
+    public List<ProductBulkView> addToPrice(Selection selection, BigDecimal amount, LocalDateTime now) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("amount", amount);
+        return update(ADD_TO_PRICE, where(selection, parameters), parameters, now);
+    }
+
+    @Override
+    public List<ProductBulkView> deleteReturning(Collection<UUID> ids) {
+        return execute(deleteSql(isPostgres()), Map.of("ids", ids));
+    }
+
+    private List<ProductBulkView> update(String set, String where, Map<String, Object> parameters,
+                                         LocalDateTime now) {
+        parameters.put("now", now);
+        return execute(updateSql(set, where, isPostgres()), parameters);
+    }
+
+    /**
+     * UPDATE statement returning the changed rows as the statement left them.
+     */
+    static String updateSql(String set, String where, boolean postgres) {
+        String update = "UPDATE products SET " + set + ", version = version + 1, updated_at = :now WHERE " + where;
+        return postgres
+                ? update + " RETURNING " + COLUMNS
+                : "SELECT " + COLUMNS + " FROM FINAL TABLE (" + update + ")";
+    }
+
+    /**
+     * DELETE statement returning the deleted rows as they were before the statement.
+     */
+    static String deleteSql(boolean postgres) {
+        String delete = "DELETE FROM products WHERE id IN (:ids)";
+        return postgres
+                ? delete + " RETURNING " + COLUMNS
+                : "SELECT " + COLUMNS + " FROM OLD TABLE (" + delete + ")";
+    }
+
+    private List<ProductBulkView> execute(String sql, Map<String, Object> parameters) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        BulkOperationCleanupAction.schedule(session,
+                session.getFactory().getMappingMetamodel().getEntityDescriptor(Product.class));
+
+        NativeQuery<Object[]> query = session.createNativeQuery(sql, Object[].class)
+                .addScalar("id", UUID.class)
+                .addScalar("category", String.class)
+                .addScalar("price_per_sqft", BigDecimal.class)
+                .addScalar("version", Long.class);
+        parameters.forEach(query::setParameter);
+
+        List<Object[]> rows = query.getResultList();
+        List<ProductBulkView> changed = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            changed.add(new Row((UUID) row[0], ProductCategory.valueOf((String) row[1]), (BigDecimal) row[2],
+                    (Long) row[3]));
+        }
+        return changed;
+    }
+
+    /**
+     * The selection as a WHERE condition; only the filters that are set are added, so PostgreSQL never
+     * has to infer the type of a null parameter.
+     */
+    static String where(Selection selection, Map<String, Object> parameters) {
+        if (selection.ids() != null) {
+            parameters.put("ids", selection.ids());
+            return "id IN (:ids)";
+        }
+        List<String> conditions = new ArrayList<>();
+        if (selection.category() != null) {
+            conditions.add("category = :category");
+            parameters.put("category", selection.category().name());
+        }
+        if (selection.minPrice() != null) {
+            conditions.add("price_per_sqft >= :minPrice");
+            parameters.put("minPrice", selection.minPrice());
+        }
+        if (selection.maxPrice() != null) {
+            conditions.add("price_per_sqft <= :maxPrice");
+            parameters.put("maxPrice", selection.maxPrice());
+        }
+        return conditions.isEmpty() ? "1 = 1" : String.join(" AND ", conditions);
+    }
+
+    private boolean isPostgres() {
+        return entityManager.unwrap(SessionImplementor.class).getJdbcServices().getDialect()
+                instanceof PostgreSQLDialect;
+    }
+
+    private record Row(UUID id, ProductCategory category, BigDecimal pricePerSqft, Long version)
+            implements ProductBulkView {
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public ProductCategory getCategory() {
+            return category;
+        }
+
+        @Override
+        public BigDecimal getPricePerSqft() {
+            return pricePerSqft;
+        }
+
+        @Override
+        public Long getVersion() {
+            return version;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.printingpro.repository;
+
+import com.printingpro.entity.ProductChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for the product change log.
+ */
+@Repository
+public interface ProductChangeRepository extends JpaRepository<ProductChange, UUID> {
+
+    /**
+     * Changes with {@code since < version <= upTo}, oldest first. Served by the unique version index,
+     * so the cost follows the number of changes rather than the catalog size.
+     */
+    @Query("SELECT c FROM ProductChange c WHERE c.version > :since AND c.version <= :upTo ORDER BY c.version")
+    List<ProductChange> findChanges(@Param("since") long since, @Param("upTo") long upTo, Pageable pageable);
+
+    /**
+     * Deletes the change rows of the given products in one statement.
+     */
+    @Modifying
+    @Query("DELETE FROM ProductChange c WHERE c.productId IN :ids")
+    int deleteByProductIds(@Param("ids") Collection<UUID> ids);
+}
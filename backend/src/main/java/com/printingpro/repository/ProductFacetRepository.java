@@ -0,0 +1,24 @@
+package com.printingpro.repository;
+
+import com.printingpro.dto.request.SearchMode;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Custom repository fragment for facet counts over search matches.
+ */
+public interface ProductFacetRepository {
+
+    /**
+     * Counts the products a database search mode would match, grouped by category and price bucket,
+     * in a single aggregate query.
+     *
+     * @param mode       LIKE, FULL_TEXT or TRIGRAM
+     * @param query      raw search text (FULL_TEXT)
+     * @param pattern    search text with LIKE wildcards escaped (LIKE and TRIGRAM)
+     * @param boundaries ascending price-per-sqft bucket boundaries
+     * @return rows of {@code (category name, bucket index, count)}
+     */
+    List<Object[]> countFacets(SearchMode mode, String query, String pattern, List<BigDecimal> boundaries);
+}
@@ -0,0 +1,49 @@
+package com.printingpro.repository;
+
+import com.printingpro.dto.request.SearchMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Native implementation of {@link ProductFacetRepository}.
+ * The price bucket is computed with a CASE over bound boundary parameters, so the number of
+ * buckets can change with configuration while the statement stays parameterised.
+ */
+public class ProductFacetRepositoryImpl implements ProductFacetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> countFacets(SearchMode mode, String query, String pattern, List<BigDecimal> boundaries) {
+        StringBuilder sql = new StringBuilder("SELECT f.category, f.bucket, COUNT(*) FROM (SELECT p.category, CASE");
+        for (int i = 0; i < boundaries.size(); i++) {
+            sql.append(" WHEN p.price_per_sqft < :b").append(i).append(" THEN ").append(i);
+        }
+        sql.append(" ELSE ").append(boundaries.size()).append(" END AS bucket FROM products p WHERE ");
+        sql.append(switch (mode) {
+            case LIKE, TRIGRAM ->
+                    "p.name ILIKE CONCAT('%', :pattern, '%') ESCAPE '\\' "
+                            + "OR p.description ILIKE CONCAT('%', :pattern, '%') ESCAPE '\\'";
+            case FULL_TEXT -> "p.search_vector @@ websearch_to_tsquery('english', :query)";
+            default -> throw new IllegalArgumentException("No database facets for search mode " + mode);
+        });
+        sql.append(") f GROUP BY f.category, f.bucket");
+
+        Query nativeQuery = entityManager.createNativeQuery(sql.toString());
+        for (int i = 0; i < boundaries.size(); i++) {
+            nativeQuery.setParameter("b" + i, boundaries.get(i));
+        }
+        if (mode == SearchMode.FULL_TEXT) {
+            nativeQuery.setParameter("query", query);
+        } else {
+            nativeQuery.setParameter("pattern", pattern);
+        }
+        return nativeQuery.getResultList();
+    }
+}
@@ -0,0 +1,63 @@
+package com.printingpro.repository;
+
+import com.printingpro.dto.request.ProductField;
+import com.printingpro.entity.ProductCategory;
+import jakarta.persistence.Tuple;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Custom repository fragment for sparse fieldsets: selects only the requested product columns.
+ * Tuple elements are aliased with {@link ProductField#getFieldName()}; {@code id} and
+ * {@code createdAt} are always selected because keyset pagination needs them.
+ */
+public interface ProductFieldRepository {
+
+    /**
+     * Same filters and ordering as {@link ProductRepository#findSummariesByFilters}, selecting only the
+     * column fields in {@code fields}. Images are never joined.
+     *
+     * @param search search text with LIKE wildcards escaped with a backslash, or null
+     * @param limit maximum rows; ask for one more than the page size to detect a next page
+     */
+    List<Tuple> findFieldsByFilters(
+            Set<ProductField> fields,
+            ProductCategory category,
+            String search,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            LocalDateTime cursorCreatedAt,
+            UUID cursorId,
+            int limit
+    );
+
+    /**
+     * The column fields in {@code fields} of one product.
+     */
+    Optional<Tuple> findFieldsById(UUID id, Set<ProductField> fields);
+
+    /**
+     * Images of the given products in one query, ordered by product and then image ordering.
+     * Tuple elements: {@code productId, id, url, altText, ordering}.
+     */
+    List<Tuple> findImageRows(Collection<UUID> productIds);
+
+    /**
+     * Every product, selecting only the column fields in {@code fields}, in no particular order.
+     * Rows are read through a cursor {@code fetchSize} at a time; the stream must be closed.
+     */
+    Stream<Tuple> streamFields(Set<ProductField> fields, int fetchSize);
+
+    /**
+     * Every product image as in {@link #findImageRows}, in no particular order.
+     * Rows are read through a cursor {@code fetchSize} at a time; the stream must be closed.
+     */
+    Stream<Tuple> streamImageRows(int fetchSize);
+}
@@ -0,0 +1,132 @@
+package com.printingpro.repository;
+
+import com.printingpro.dto.request.ProductField;
+import com.printingpro.entity.ProductCategory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * HQL implementation of {@link ProductFieldRepository}.
+ * Queries are tuple queries, so no entity is hydrated or tracked by the persistence context.
+ * They are built as HQL strings rather than Criteria trees: Hibernate caches the plan of an
+ * HQL string, while a Criteria query is interpreted again on every execution. Only the select
+ * list and which predicates are present vary, so the number of distinct strings stays small.
+ */
+public class ProductFieldRepositoryImpl implements ProductFieldRepository {
+
+    private static final String IMAGE_SELECT = "SELECT i.product.id AS productId, i.id AS id, i.url AS url, "
+            + "i.altText AS altText, i.ordering AS ordering FROM ProductImage i";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Tuple> findFieldsByFilters(
+            Set<ProductField> fields,
+            ProductCategory category,
+            String search,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            LocalDateTime cursorCreatedAt,
+            UUID cursorId,
+            int limit
+    ) {
+        StringBuilder hql = select(fields).append(" WHERE 1 = 1");
+        if (category != null) {
+            hql.append(" AND p.category = :category");
+        }
+        if (search != null) {
+            hql.append(" AND (p.name ILIKE :pattern ESCAPE '\\' OR p.description ILIKE :pattern ESCAPE '\\')");
+        }
+        if (minPrice != null) {
+            hql.append(" AND p.pricePerSqft >= :minPrice");
+        }
+        if (maxPrice != null) {
+            hql.append(" AND p.pricePerSqft <= :maxPrice");
+        }
+        if (cursorCreatedAt != null) {
+            hql.append(" AND (p.createdAt < :cursorCreatedAt OR (p.createdAt = :cursorCreatedAt AND p.id < :cursorId))");
+        }
+        hql.append(" ORDER BY p.createdAt DESC, p.id DESC");
+
+        TypedQuery<Tuple> query = entityManager.createQuery(hql.toString(), Tuple.class);
+        if (category != null) {
+            query.setParameter("category", category);
+        }
+        if (search != null) {
+            query.setParameter("pattern", "%" + search + "%");
+        }
+        if (minPrice != null) {
+            query.setParameter("minPrice", minPrice);
+        }
+        if (maxPrice != null) {
+            query.setParameter("maxPrice", maxPrice);
+        }
+        if (cursorCreatedAt != null) {
+            query.setParameter("cursorCreatedAt", cursorCreatedAt);
+            query.setParameter("cursorId", cursorId);
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Optional<Tuple> findFieldsById(UUID id, Set<ProductField> fields) {
+        return entityManager.createQuery(select(fields).append(" WHERE p.id = :id").toString(), Tuple.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+
+    @Override
+    public List<Tuple> findImageRows(Collection<UUID> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createQuery(IMAGE_SELECT
+                        + " WHERE i.product.id IN :productIds ORDER BY i.product.id, i.ordering, i.id", Tuple.class)
+                .setParameter("productIds", productIds)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<Tuple> streamFields(Set<ProductField> fields, int fetchSize) {
+        return entityManager.createQuery(select(fields).toString(), Tuple.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    public Stream<Tuple> streamImageRows(int fetchSize) {
+        return entityManager.createQuery(IMAGE_SELECT, Tuple.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    /**
+     * {@code SELECT ... FROM Product p} with id, createdAt and the other column fields in
+     * {@code fields}, each aliased with its field name. Columns follow enum order, so equal
+     * sets always produce the same string.
+     */
+    private static StringBuilder select(Set<ProductField> fields) {
+        StringBuilder hql = new StringBuilder("SELECT p.id AS id, p.createdAt AS createdAt");
+        for (ProductField field : ProductField.values()) {
+            if (fields.contains(field) && field.isColumn()
+                    && field != ProductField.ID && field != ProductField.CREATED_AT) {
+                hql.append(", p.").append(field.getFieldName()).append(" AS ").append(field.getFieldName());
+            }
+        }
+        return hql.append(" FROM Product p");
+    }
+}
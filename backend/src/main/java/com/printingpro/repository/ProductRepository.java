@@ -1,22 +1,49 @@
 package com.printingpro.repository;
 
+import com.printingpro.entity.CatalogVersion;
 import com.printingpro.entity.Product;
 import com.printingpro.entity.ProductCategory;
+import com.printingpro.dto.response.ProductSummaryResponse;
+import com.printingpro.repository.projection.CategoryCountView;
+import com.printingpro.repository.projection.ProductNameView;
+import com.printingpro.repository.projection.ProductSummaryView;
+import com.printingpro.repository.projection.VersionedCategoryCountView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository for Product entity with custom query methods.
+ * Public catalog reads are marked read-only: Hibernate keeps no loaded-state snapshot of the
+ * returned entities (or of the images fetched with them) and never dirty-checks them.
  */
 @Repository
-public interface ProductRepository extends JpaRepository<Product, UUID> {
+public interface ProductRepository extends JpaRepository<Product, UUID>, ProductFacetRepository,
+        ProductFieldRepository, ProductBulkRepository {
+
+    /**
+     * Find several products together with their images in a single IN query.
+     */
+    @EntityGraph(attributePaths = "images")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Product> findWithImagesByIdIn(Collection<UUID> ids);
 
     /**
      * Find products by category with pagination.
@@ -25,32 +52,123 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
 
     /**
      * Search products by name or description (case-insensitive).
+     * ILIKE lets PostgreSQL use the trigram indexes instead of scanning LOWER(column).
+     * {@code search} must already have LIKE wildcards escaped with a backslash.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("SELECT p FROM Product p WHERE " +
-            "LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(p.description) LIKE LOWER(CONCAT('%', :search, '%'))")
+            "p.name ILIKE CONCAT('%', :search, '%') ESCAPE '\\' OR " +
+            "p.description ILIKE CONCAT('%', :search, '%') ESCAPE '\\'")
     Page<Product> searchProducts(@Param("search") String search, Pageable pageable);
 
     /**
-     * Find products with advanced filters: category, search, and price range.
+     * Full-text search over the generated search_vector column, best ts_rank first.
+     * {@code query} uses web search syntax (quoted phrases, OR, -exclusion).
      */
-    @Query("SELECT p FROM Product p WHERE " +
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT p.* FROM products p, websearch_to_tsquery('english', :query) q " +
+            "WHERE p.search_vector @@ q " +
+            "ORDER BY ts_rank(p.search_vector, q) DESC, p.created_at DESC, p.id DESC " +
+            "LIMIT :limit", nativeQuery = true)
+    List<Product> searchFullText(@Param("query") String query, @Param("limit") int limit);
+
+    /**
+     * Substring search served by the pg_trgm indexes, most similar names first.
+     * {@code pattern} must already have LIKE wildcards escaped.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT p.* FROM products p " +
+            "WHERE p.name ILIKE CONCAT('%', :pattern, '%') ESCAPE '\\' " +
+            "OR p.description ILIKE CONCAT('%', :pattern, '%') ESCAPE '\\' " +
+            "ORDER BY similarity(p.name, :query) DESC, p.created_at DESC, p.id DESC " +
+            "LIMIT :limit", nativeQuery = true)
+    List<Product> searchTrigram(
+            @Param("query") String query,
+            @Param("pattern") String pattern,
+            @Param("limit") int limit
+    );
+
+    /**
+     * Find product cards with advanced filters: category, search, and price range.
+     * Results are ordered by {@code (createdAt DESC, id DESC)} and seek past the given
+     * cursor position (keyset pagination), so deep pages cost the same as the first one.
+     * Pass null cursor values for the first page and an unsorted Pageable for the limit.
+     * Selects only the card columns and the primary image (lowest ordering, then lowest id)
+     * as a flat row per product. No entities are hydrated, so nothing enters the persistence context.
+     * {@code search} must already have LIKE wildcards escaped with a backslash.
+     */
+    @Query("SELECT p.id AS id, p.name AS name, " +
+            "SUBSTRING(p.description, 1, " + ProductSummaryResponse.EXCERPT_LENGTH + ") AS excerpt, " +
+            "p.category AS category, p.pricePerSqft AS pricePerSqft, p.negotiable AS negotiable, " +
+            "p.createdAt AS createdAt, i.url AS imageUrl, i.altText AS imageAltText " +
+            "FROM Product p LEFT JOIN p.images i ON i.id = (" +
+            "SELECT i2.id FROM ProductImage i2 WHERE i2.product = p " +
+            "ORDER BY i2.ordering, i2.id LIMIT 1) WHERE " +
             "(:category IS NULL OR p.category = :category) AND " +
-            "(:search IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(p.description) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
+            "(:search IS NULL OR p.name ILIKE CONCAT('%', :search, '%') ESCAPE '\\' OR " +
+            "p.description ILIKE CONCAT('%', :search, '%') ESCAPE '\\') AND " +
             "(:minPrice IS NULL OR p.pricePerSqft >= :minPrice) AND " +
-            "(:maxPrice IS NULL OR p.pricePerSqft <= :maxPrice)")
-    Page<Product> findByFilters(
+            "(:maxPrice IS NULL OR p.pricePerSqft <= :maxPrice) AND " +
+            "(:cursorCreatedAt IS NULL OR p.createdAt < :cursorCreatedAt OR " +
+            "(p.createdAt = :cursorCreatedAt AND p.id < :cursorId)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<ProductSummaryView> findSummariesByFilters(
             @Param("category") ProductCategory category,
             @Param("search") String search,
             @Param("minPrice") BigDecimal minPrice,
             @Param("maxPrice") BigDecimal maxPrice,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") UUID cursorId,
             Pageable pageable
     );
 
     /**
-     * Count products by category.
+     * Number of products in each category that has any, in one grouped query.
      */
-    long countByCategory(ProductCategory category);
-}
+    @Query("SELECT p.category AS category, COUNT(p) AS count FROM Product p GROUP BY p.category")
+    List<CategoryCountView> countGroupedByCategory();
 
+    /**
+     * Same counts together with the current catalog version, read by one statement so both come
+     * from the same snapshot. Categories without products are missing; with no products at all
+     * there is one row with a null category. Empty when the version row does not exist yet.
+     */
+    @Query("SELECT v.version AS version, p.category AS category, COUNT(p) AS count "
+            + "FROM CatalogVersion v LEFT JOIN Product p ON 1 = 1 "
+            + "WHERE v.id = " + CatalogVersion.ROW_ID + " GROUP BY v.version, p.category")
+    List<VersionedCategoryCountView> countGroupedByCategoryWithVersion();
+
+    /**
+     * Current version of a product as stored in the database. Does not flush, so it can be read
+     * after a failed optimistic update.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT p.version FROM Product p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    /**
+     * Deletes the images of the given products in one statement; run before {@link #deleteReturning}.
+     */
+    @Modifying
+    @Query("DELETE FROM ProductImage i WHERE i.product.id IN :ids")
+    int deleteImagesByProductIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Id, name and category of every product, without loading entities.
+     */
+    @Query("SELECT p.id AS id, p.name AS name, p.category AS category FROM Product p")
+    List<ProductNameView> findAllNames();
+
+    /**
+     * Every product in listing order, read through a cursor 1000 rows at a time; the stream must be
+     * closed. Entities are read-only and bypass the second-level cache, so a full pass neither
+     * tracks snapshots for dirty checking nor evicts the hot entries; detach them once used.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT p FROM Product p ORDER BY p.createdAt DESC, p.id DESC")
+    Stream<Product> streamAll();
+}
@@ -0,0 +1,13 @@
+package com.printingpro.repository.projection;
+
+import com.printingpro.entity.ProductCategory;
+
+/**
+ * Projection of a category and its number of products.
+ */
+public interface CategoryCountView {
+
+    ProductCategory getCategory();
+
+    long getCount();
+}
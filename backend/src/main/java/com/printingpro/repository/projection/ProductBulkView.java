@@ -0,0 +1,20 @@
+package com.printingpro.repository.projection;
+
+import com.printingpro.entity.ProductCategory;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Columns of a product row changed by a bulk statement.
+ */
+public interface ProductBulkView {
+
+    UUID getId();
+
+    ProductCategory getCategory();
+
+    BigDecimal getPricePerSqft();
+
+    Long getVersion();
+}
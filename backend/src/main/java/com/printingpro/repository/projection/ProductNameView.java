@@ -0,0 +1,17 @@
+package com.printingpro.repository.projection;
+
+import com.printingpro.entity.ProductCategory;
+
+import java.util.UUID;
+
+/**
+ * Projection of the columns needed to build product-name suggestions.
+ */
+public interface ProductNameView {
+
+    UUID getId();
+
+    String getName();
+
+    ProductCategory getCategory();
+}
@@ -0,0 +1,32 @@
+package com.printingpro.repository.projection;
+
+import com.printingpro.entity.ProductCategory;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection of the columns shown on a product card, plus the primary image.
+ * {@code createdAt} is only read to build the next-page cursor.
+ */
+public interface ProductSummaryView {
+
+    UUID getId();
+
+    String getName();
+
+    String getExcerpt();
+
+    ProductCategory getCategory();
+
+    BigDecimal getPricePerSqft();
+
+    Boolean getNegotiable();
+
+    LocalDateTime getCreatedAt();
+
+    String getImageUrl();
+
+    String getImageAltText();
+}
@@ -0,0 +1,9 @@
+package com.printingpro.repository.projection;
+
+/**
+ * Projection of a category count together with the catalog version it was counted at.
+ */
+public interface VersionedCategoryCountView extends CategoryCountView {
+
+    long getVersion();
+}
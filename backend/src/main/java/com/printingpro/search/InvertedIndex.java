@@ -0,0 +1,505 @@
+package com.printingpro.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory inverted index over product names and descriptions with BM25 ranking.
+ *
+ * <p>Every indexed document gets a dense ordinal. Posting lists are primitive {@code int[]} arrays of
+ * ordinals with parallel term frequencies. Ordinals only ever grow, so appending keeps posting lists
+ * sorted. Updating a document retires its old ordinal and appends a new one, and
+ * {@link #needsCompaction()} reports when retired ordinals should be dropped by rebuilding.
+ *
+ * <p>Concurrency: there is a single writer (callers must serialize {@link #upsert} and
+ * {@link #remove}) and any number of lock-free readers. Writers fill array slots beyond the published
+ * size and then publish a new immutable wrapper through a volatile field or the concurrent map, so a
+ * reader always sees a consistent prefix.
+ */
+public final class InvertedIndex {
+
+    /**
+     * Term frequency contributed by one occurrence in the product name (description counts 1).
+     */
+    static final int NAME_BOOST = 2;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int INITIAL_POSTINGS_CAPACITY = 4;
+
+    private final ConcurrentHashMap<String, Postings> postings = new ConcurrentHashMap<>();
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final VocabularyTrie vocabulary = new VocabularyTrie();
+    private volatile Documents documents = Documents.EMPTY;
+
+    /**
+     * A ranked match.
+     */
+    public record Hit(UUID id, double score) {
+    }
+
+    /**
+     * Top hits in descending score order, plus the number of documents matching all terms.
+     */
+    public record SearchResult(List<Hit> hits, int totalHits) {
+
+        static final SearchResult EMPTY = new SearchResult(List.of(), 0);
+    }
+
+    // ------------------------------------------------------------------ writer side
+
+    /**
+     * Indexes a document, replacing any previous version with the same id.
+     */
+    public void upsert(UUID id, String name, String description) {
+        upsert(id, name, description, 0);
+    }
+
+    /**
+     * Indexes a document with a facet key, replacing any previous version with the same id.
+     *
+     * @param facetKey small non-negative number counted per match by {@link #search(String, int, int[])}
+     */
+    public void upsert(UUID id, String name, String description, int facetKey) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : Tokenizer.tokenize(name)) {
+            frequencies.merge(term, NAME_BOOST, Integer::sum);
+        }
+        for (String term : Tokenizer.tokenize(description)) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        int length = 0;
+        for (int frequency : frequencies.values()) {
+            length += frequency;
+        }
+
+        Documents docs = documents;
+        Integer previous = ordinals.get(id);
+        if (previous != null) {
+            docs = docs.retire(previous);
+        }
+        int ordinal = docs.count;
+        documents = docs.append(id, length, facetKey);
+        ordinals.put(id, ordinal);
+
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            Postings list = postings.get(entry.getKey());
+            if (list == null) {
+                postings.put(entry.getKey(), Postings.first(ordinal, entry.getValue()));
+                vocabulary.add(entry.getKey());
+            } else {
+                postings.put(entry.getKey(), list.append(ordinal, entry.getValue()));
+            }
+        }
+    }
+
+    /**
+     * Removes a document. Its postings stay until the next rebuild but are never returned.
+     */
+    public void remove(UUID id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal != null) {
+            documents = documents.retire(ordinal);
+        }
+    }
+
+    /**
+     * True once retired ordinals outnumber live documents, i.e. a rebuild would at least halve the index.
+     */
+    public boolean needsCompaction() {
+        Documents docs = documents;
+        int retired = docs.count - docs.liveCount;
+        return retired > 1024 && retired > docs.liveCount;
+    }
+
+    // ------------------------------------------------------------------ reader side
+
+    /**
+     * Finds documents containing every term of {@code query}, ranked by BM25.
+     * Posting lists are intersected starting from the shortest one, galloping forward in all of them.
+     */
+    public SearchResult search(String query, int limit) {
+        return search(query, limit, null);
+    }
+
+    /**
+     * Like {@link #search(String, int)}, and also adds one to {@code facetCounts[facetKey]} for
+     * every matching document, including those beyond {@code limit}.
+     *
+     * @param facetCounts counters indexed by facet key, or null
+     */
+    public SearchResult search(String query, int limit, int[] facetCounts) {
+        Set<String> terms = new LinkedHashSet<>(Tokenizer.tokenize(query));
+        if (terms.isEmpty() || limit < 1) {
+            return SearchResult.EMPTY;
+        }
+
+        Documents docs = documents;
+        Postings[] lists = new Postings[terms.size()];
+        int n = 0;
+        for (String term : terms) {
+            Postings list = postings.get(term);
+            if (list == null) {
+                return SearchResult.EMPTY;
+            }
+            lists[n++] = list;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+        double liveDocs = Math.max(1, docs.liveCount);
+        double averageLength = docs.liveCount > 0 ? (double) docs.totalLength / docs.liveCount : 1;
+        double[] idf = new double[n];
+        for (int i = 0; i < n; i++) {
+            double df = Math.min(lists[i].size, liveDocs);
+            idf[i] = Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+        }
+
+        // BM25 length normalisation is k1 * (1 - b + b * length / avgLength) = normBase + normScale * length
+        double normBase = K1 * (1 - B);
+        double normScale = K1 * B / averageLength;
+
+        TopK top = new TopK(limit);
+        int[] positions = new int[n];
+        int totalHits = 0;
+        Postings lead = lists[0];
+
+        // Leapfrog join: the shortest list proposes a candidate, the others gallop to it, and any
+        // overshoot becomes the lead's next target, so long runs of non-matching ordinals are skipped.
+        while (positions[0] < lead.size) {
+            int ordinal = lead.docs[positions[0]];
+            boolean matched = true;
+            for (int i = 1; i < n; i++) {
+                Postings list = lists[i];
+                int position = gallop(list, positions[i], ordinal);
+                positions[i] = position;
+                if (position == list.size) {
+                    return new SearchResult(top.toHits(docs), totalHits);
+                }
+                if (list.docs[position] != ordinal) {
+                    positions[0] = gallop(lead, positions[0], list.docs[position]);
+                    matched = false;
+                    break;
+                }
+            }
+            if (!matched) {
+                continue;
+            }
+
+            if (ordinal < docs.count && docs.alive[ordinal] != 0) {
+                totalHits++;
+                if (facetCounts != null) {
+                    facetCounts[docs.facetKeys[ordinal]]++;
+                }
+                double norm = normBase + normScale * docs.lengths[ordinal];
+                double score = 0;
+                for (int i = 0; i < n; i++) {
+                    int tf = lists[i].freqs[positions[i]];
+                    score += idf[i] * tf * (K1 + 1) / (tf + norm);
+                }
+                top.offer(ordinal, score);
+            }
+            positions[0]++;
+        }
+
+        return new SearchResult(top.toHits(docs), totalHits);
+    }
+
+    /**
+     * Rewrites {@code query} so that each term missing from the vocabulary is replaced by the closest
+     * indexed term: fewest edits first, then the term found in the most documents. Terms of up to two
+     * characters are never corrected, terms of three to six characters allow one edit, longer terms two.
+     *
+     * @return the normalised query terms joined by spaces
+     */
+    public String correct(String query) {
+        StringBuilder corrected = new StringBuilder();
+        Correction best = new Correction();
+        for (String term : Tokenizer.tokenize(query)) {
+            String replacement = term;
+            int maxEdits = maxEdits(term.length());
+            if (maxEdits > 0 && !postings.containsKey(term)) {
+                best.reset();
+                vocabulary.search(term, maxEdits, best);
+                if (best.term != null) {
+                    replacement = best.term;
+                }
+            }
+            if (corrected.length() > 0) {
+                corrected.append(' ');
+            }
+            corrected.append(replacement);
+        }
+        return corrected.toString();
+    }
+
+    static int maxEdits(int termLength) {
+        if (termLength <= 2) {
+            return 0;
+        }
+        return termLength <= 6 ? 1 : 2;
+    }
+
+    /**
+     * Tracks the best candidate seen while walking the vocabulary.
+     */
+    private final class Correction implements VocabularyTrie.Visitor {
+
+        String term;
+        int distance;
+        int documents;
+
+        void reset() {
+            term = null;
+            distance = Integer.MAX_VALUE;
+            documents = -1;
+        }
+
+        @Override
+        public void accept(String candidate, int candidateDistance) {
+            Postings list = postings.get(candidate);
+            int candidateDocuments = list != null ? list.size : 0;
+            if (candidateDistance < distance
+                    || candidateDistance == distance && candidateDocuments > documents
+                    || candidateDistance == distance && candidateDocuments == documents && candidate.compareTo(term) < 0) {
+                term = candidate;
+                distance = candidateDistance;
+                documents = candidateDocuments;
+            }
+        }
+    }
+
+    /**
+     * Index of the first entry at or after {@code from} whose ordinal is >= {@code target},
+     * or {@code list.size} if there is none. Probes 1, 2, 4, ... ahead, then binary searches.
+     */
+    static int gallop(Postings list, int from, int target) {
+        int[] docs = list.docs;
+        int size = list.size;
+        if (from >= size || docs[from] >= target) {
+            return from;
+        }
+
+        int low = from;
+        int step = 1;
+        int high = from + step;
+        while (high < size && docs[high] < target) {
+            low = high;
+            step <<= 1;
+            high = from + step;
+        }
+        if (high > size) {
+            high = size;
+        }
+
+        // docs[low] < target, and docs[high] >= target or high == size
+        while (low + 1 < high) {
+            int mid = (low + high) >>> 1;
+            if (docs[mid] < target) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return high;
+    }
+
+    // ------------------------------------------------------------------ statistics
+
+    public int documentCount() {
+        return documents.liveCount;
+    }
+
+    public int termCount() {
+        return postings.size();
+    }
+
+    /**
+     * Approximate heap footprint in bytes (arrays, term strings and map entries).
+     */
+    public long estimatedBytes() {
+        Documents docs = documents;
+        long bytes = 16L + docs.ids.length * (4L + 32L + 4L + 4L) + docs.alive.length;
+        bytes += ordinals.size() * 64L;
+        for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+            Postings list = entry.getValue();
+            bytes += 32 + 40 + 2L * entry.getKey().length();
+            bytes += 24 + 2 * (16 + 4L * list.docs.length);
+        }
+        return bytes + vocabulary.estimatedBytes();
+    }
+
+    // ------------------------------------------------------------------ internals
+
+    /**
+     * Published view of the document table. Arrays are shared between successive views and grow by doubling.
+     */
+    private static final class Documents {
+
+        static final Documents EMPTY = new Documents(new UUID[16], new int[16], new int[16], new byte[16], 0, 0, 0);
+
+        final UUID[] ids;
+        final int[] lengths;
+        final int[] facetKeys;
+        final byte[] alive;
+        final int count;
+        final int liveCount;
+        final long totalLength;
+
+        Documents(UUID[] ids, int[] lengths, int[] facetKeys, byte[] alive, int count, int liveCount,
+                  long totalLength) {
+            this.ids = ids;
+            this.lengths = lengths;
+            this.facetKeys = facetKeys;
+            this.alive = alive;
+            this.count = count;
+            this.liveCount = liveCount;
+            this.totalLength = totalLength;
+        }
+
+        Documents append(UUID id, int length, int facetKey) {
+            UUID[] newIds = ids;
+            int[] newLengths = lengths;
+            int[] newFacetKeys = facetKeys;
+            byte[] newAlive = alive;
+            if (count == ids.length) {
+                int capacity = ids.length * 2;
+                newIds = Arrays.copyOf(ids, capacity);
+                newLengths = Arrays.copyOf(lengths, capacity);
+                newFacetKeys = Arrays.copyOf(facetKeys, capacity);
+                newAlive = Arrays.copyOf(alive, capacity);
+            }
+            newIds[count] = id;
+            newLengths[count] = length;
+            newFacetKeys[count] = facetKey;
+            newAlive[count] = 1;
+            return new Documents(newIds, newLengths, newFacetKeys, newAlive, count + 1, liveCount + 1,
+                    totalLength + length);
+        }
+
+        Documents retire(int ordinal) {
+            if (alive[ordinal] == 0) {
+                return this;
+            }
+            alive[ordinal] = 0;
+            return new Documents(ids, lengths, facetKeys, alive, count, liveCount - 1, totalLength - lengths[ordinal]);
+        }
+    }
+
+    /**
+     * Published view of one posting list: sorted ordinals and their term frequencies.
+     */
+    static final class Postings {
+
+        final int[] docs;
+        final int[] freqs;
+        final int size;
+
+        Postings(int[] docs, int[] freqs, int size) {
+            this.docs = docs;
+            this.freqs = freqs;
+            this.size = size;
+        }
+
+        static Postings first(int ordinal, int frequency) {
+            int[] docs = new int[INITIAL_POSTINGS_CAPACITY];
+            int[] freqs = new int[INITIAL_POSTINGS_CAPACITY];
+            docs[0] = ordinal;
+            freqs[0] = frequency;
+            return new Postings(docs, freqs, 1);
+        }
+
+        Postings append(int ordinal, int frequency) {
+            int[] newDocs = docs;
+            int[] newFreqs = freqs;
+            if (size == docs.length) {
+                newDocs = Arrays.copyOf(docs, size * 2);
+                newFreqs = Arrays.copyOf(freqs, size * 2);
+            }
+            newDocs[size] = ordinal;
+            newFreqs[size] = frequency;
+            return new Postings(newDocs, newFreqs, size + 1);
+        }
+    }
+
+    /**
+     * Bounded min-heap of (ordinal, score) pairs in primitive arrays.
+     */
+    private static final class TopK {
+
+        private final int[] ordinals;
+        private final double[] scores;
+        private int size;
+
+        TopK(int capacity) {
+            ordinals = new int[capacity];
+            scores = new double[capacity];
+        }
+
+        void offer(int ordinal, double score) {
+            if (size < ordinals.length) {
+                ordinals[size] = ordinal;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (score > scores[0]) {
+                ordinals[0] = ordinal;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        List<Hit> toHits(Documents docs) {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+            List<Hit> hits = new ArrayList<>(size);
+            for (int index : order) {
+                hits.add(new Hit(docs.ids[ordinals[index]], scores[index]));
+            }
+            return hits;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (scores[parent] <= scores[index]) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int left = 2 * index + 1;
+                if (left >= size) {
+                    return;
+                }
+                int smallest = left + 1 < size && scores[left + 1] < scores[left] ? left + 1 : left;
+                if (scores[index] <= scores[smallest]) {
+                    return;
+                }
+                swap(index, smallest);
+                index = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int ordinal = ordinals[a];
+            ordinals[a] = ordinals[b];
+            ordinals[b] = ordinal;
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
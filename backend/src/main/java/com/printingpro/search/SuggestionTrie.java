@@ -0,0 +1,290 @@
+package com.printingpro.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Immutable, path-compressed prefix trie for type-ahead suggestions.
+ *
+ * <p>Entries are supplied best-first, and each node stores the first {@code k} entries (by that
+ * order) reachable below it. A lookup walks at most {@code prefix.length()} characters and then
+ * copies a precomputed list, so the cost does not depend on how many entries share the prefix.
+ *
+ * <p>Nodes live in parallel primitive arrays. Children of a node are contiguous and sorted by the
+ * first character of their edge label. Edge labels are slices of one shared {@code char[]}.
+ *
+ * @param <T> suggestion payload
+ */
+public final class SuggestionTrie<T> {
+
+    private final List<T> entries;
+    private final char[] labels;
+    private final int[] labelStart;
+    private final int[] labelLength;
+    private final char[] firstChar;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] topStart;
+    private final int[] topCount;
+    private final int[] top;
+    private final int nodeCount;
+
+    private SuggestionTrie(Builder<T> builder) {
+        this.entries = List.copyOf(builder.entries);
+        this.labels = builder.labels.toString().toCharArray();
+        this.nodeCount = builder.nodeCount;
+        this.labelStart = Arrays.copyOf(builder.labelStart, nodeCount);
+        this.labelLength = Arrays.copyOf(builder.labelLength, nodeCount);
+        this.firstChar = Arrays.copyOf(builder.firstChar, nodeCount);
+        this.firstChild = Arrays.copyOf(builder.firstChild, nodeCount);
+        this.childCount = Arrays.copyOf(builder.childCount, nodeCount);
+        this.topStart = Arrays.copyOf(builder.topStart, nodeCount);
+        this.topCount = Arrays.copyOf(builder.topCount, nodeCount);
+        this.top = Arrays.copyOf(builder.top, builder.topSize);
+    }
+
+    /**
+     * Builds a trie.
+     *
+     * @param entries best-first list of suggestions
+     * @param keys    texts under which an entry can be found (normalised with {@link #normalize})
+     * @param k       completions precomputed per node, and the most a lookup can return
+     */
+    public static <T> SuggestionTrie<T> build(List<T> entries, Function<T, List<String>> keys, int k) {
+        return new Builder<>(entries, keys, k).build();
+    }
+
+    /**
+     * Lower-cases {@code text}, turns every run of non letters/digits into a single space and trims it.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                pendingSpace = false;
+                normalized.append(c);
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Best entries having a key that starts with {@code prefix}, at most {@code limit} of them.
+     */
+    public List<T> complete(String prefix, int limit) {
+        String query = normalize(prefix);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+
+        int node = 0;
+        int i = 0;
+        while (i < query.length()) {
+            int child = findChild(node, query.charAt(i));
+            if (child < 0) {
+                return List.of();
+            }
+            int start = labelStart[child];
+            int end = start + labelLength[child];
+            for (int j = start; j < end && i < query.length(); j++, i++) {
+                if (labels[j] != query.charAt(i)) {
+                    return List.of();
+                }
+            }
+            node = child;
+        }
+
+        int count = Math.min(limit, topCount[node]);
+        List<T> completions = new ArrayList<>(count);
+        for (int t = topStart[node], end = topStart[node] + count; t < end; t++) {
+            completions.add(entries.get(top[t]));
+        }
+        return completions;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    private int findChild(int node, char c) {
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = firstChar[mid];
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Builds the node arrays from the sorted (key, entry) pairs.
+     * A node covering a sorted range of keys takes the range's common prefix as its edge label,
+     * owns the keys that end there and gets one child per distinct next character.
+     */
+    private static final class Builder<T> {
+
+        private final List<T> entries;
+        private final int k;
+        private final String[] keys;
+        private final int[] owners;
+
+        private final StringBuilder labels = new StringBuilder();
+        private final int[] labelStart;
+        private final int[] labelLength;
+        private final char[] firstChar;
+        private final int[] firstChild;
+        private final int[] childCount;
+        private final int[] topStart;
+        private final int[] topCount;
+        private int[] top;
+        private int topSize;
+        private int nodeCount;
+
+        Builder(List<T> entries, Function<T, List<String>> keyFunction, int k) {
+            this.entries = entries;
+            this.k = k;
+
+            List<Object[]> pairs = new ArrayList<>();
+            for (int e = 0; e < entries.size(); e++) {
+                for (String key : keyFunction.apply(entries.get(e))) {
+                    String normalized = normalize(key);
+                    if (!normalized.isEmpty()) {
+                        pairs.add(new Object[]{normalized, e});
+                    }
+                }
+            }
+            pairs.sort(Comparator.<Object[], String>comparing(pair -> (String) pair[0])
+                    .thenComparingInt(pair -> (Integer) pair[1]));
+
+            this.keys = new String[pairs.size()];
+            this.owners = new int[pairs.size()];
+            for (int i = 0; i < pairs.size(); i++) {
+                keys[i] = (String) pairs.get(i)[0];
+                owners[i] = (Integer) pairs.get(i)[1];
+            }
+
+            // A compressed trie over n keys has fewer than 2n nodes, plus the root
+            int maxNodes = 2 * keys.length + 1;
+            labelStart = new int[maxNodes];
+            labelLength = new int[maxNodes];
+            firstChar = new char[maxNodes];
+            firstChild = new int[maxNodes];
+            childCount = new int[maxNodes];
+            topStart = new int[maxNodes];
+            topCount = new int[maxNodes];
+            top = new int[Math.max(16, keys.length)];
+        }
+
+        SuggestionTrie<T> build() {
+            nodeCount = 1;
+            fill(0, 0, keys.length, 0, true);
+            return new SuggestionTrie<>(this);
+        }
+
+        private void fill(int node, int lo, int hi, int depth, boolean root) {
+            int end = root || lo == hi ? depth : commonPrefix(keys[lo], keys[hi - 1], depth);
+            labelStart[node] = labels.length();
+            labelLength[node] = end - depth;
+            labels.append(root ? "" : keys[lo], depth, end);
+            firstChar[node] = end > depth ? keys[lo].charAt(depth) : 0;
+
+            // Keys ending exactly here sort first within the range
+            int i = lo;
+            while (i < hi && keys[i].length() == end) {
+                i++;
+            }
+            int ownEnd = i;
+
+            int groups = 0;
+            for (int g = i; g < hi; g++) {
+                if (g == i || keys[g].charAt(end) != keys[g - 1].charAt(end)) {
+                    groups++;
+                }
+            }
+            int children = nodeCount;
+            firstChild[node] = children;
+            childCount[node] = groups;
+            nodeCount += groups;
+
+            int child = children;
+            while (i < hi) {
+                char c = keys[i].charAt(end);
+                int groupEnd = i + 1;
+                while (groupEnd < hi && keys[groupEnd].charAt(end) == c) {
+                    groupEnd++;
+                }
+                fill(child++, i, groupEnd, end, false);
+                i = groupEnd;
+            }
+
+            collectTop(node, lo, ownEnd, children, groups);
+        }
+
+        /**
+         * Node's top list: the k smallest distinct entry indexes among its own keys and its children's tops.
+         */
+        private void collectTop(int node, int ownLo, int ownHi, int children, int groups) {
+            int candidates = ownHi - ownLo;
+            for (int c = children; c < children + groups; c++) {
+                candidates += topCount[c];
+            }
+            int[] merged = new int[candidates];
+            int m = 0;
+            for (int o = ownLo; o < ownHi; o++) {
+                merged[m++] = owners[o];
+            }
+            for (int c = children; c < children + groups; c++) {
+                System.arraycopy(top, topStart[c], merged, m, topCount[c]);
+                m += topCount[c];
+            }
+            Arrays.sort(merged);
+
+            topStart[node] = topSize;
+            int count = 0;
+            for (int j = 0; j < merged.length && count < k; j++) {
+                if (j == 0 || merged[j] != merged[j - 1]) {
+                    if (topSize == top.length) {
+                        top = Arrays.copyOf(top, top.length * 2);
+                    }
+                    top[topSize++] = merged[j];
+                    count++;
+                }
+            }
+            topCount[node] = count;
+        }
+
+        private static int commonPrefix(String a, String b, int from) {
+            int max = Math.min(a.length(), b.length());
+            int i = from;
+            while (i < max && a.charAt(i) == b.charAt(i)) {
+                i++;
+            }
+            return i;
+        }
+    }
+}
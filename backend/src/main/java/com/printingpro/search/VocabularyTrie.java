@@ -0,0 +1,200 @@
+package com.printingpro.search;
+
+import java.util.Arrays;
+
+/**
+ * Character trie over the index vocabulary, searched for terms within an edit distance.
+ * The distance is optimal string alignment: insertions, deletions, substitutions and
+ * transpositions of adjacent characters ("vinly" to "vinyl") each cost one edit.
+ *
+ * <p>A search walks the trie depth-first and carries one row of the edit-distance table per level,
+ * which simulates a Levenshtein automaton over the whole vocabulary at once. A branch is abandoned
+ * as soon as every cell of its row exceeds the allowed distance. Shared prefixes are compared only
+ * once, and most of the vocabulary is never reached.
+ *
+ * <p>Concurrency: one writer calls {@link #add} while readers search without locks. A node's
+ * children array is copied on write and republished through a volatile field. Searches reuse
+ * per-thread distance rows, so a query allocates nothing beyond its visitor.
+ */
+public final class VocabularyTrie {
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private static final ThreadLocal<Rows> ROWS = ThreadLocal.withInitial(Rows::new);
+
+    private final Node root = new Node('\0');
+    private volatile int size;
+    private volatile int nodeCount = 1;
+
+    /**
+     * Receives each term found within the requested distance.
+     */
+    @FunctionalInterface
+    public interface Visitor {
+
+        void accept(String term, int distance);
+    }
+
+    /**
+     * Adds {@code term} unless it is already present. Callers must serialize writes.
+     */
+    public void add(String term) {
+        Node node = root;
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            Node[] children = node.children;
+            int index = indexOf(children, c);
+            if (index >= 0) {
+                node = children[index];
+                continue;
+            }
+
+            int insertAt = -index - 1;
+            Node child = new Node(c);
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, insertAt);
+            grown[insertAt] = child;
+            System.arraycopy(children, insertAt, grown, insertAt + 1, children.length - insertAt);
+            node.children = grown;
+            nodeCount++;
+            node = child;
+        }
+        if (node.term == null) {
+            node.term = term;
+            size++;
+        }
+    }
+
+    /**
+     * Visits every term within {@code maxDistance} edits of {@code query}.
+     *
+     * @return number of trie nodes visited
+     */
+    public int search(String query, int maxDistance, Visitor visitor) {
+        Rows rows = ROWS.get();
+        int[] first = rows.row(0, query.length() + 1);
+        for (int j = 0; j <= query.length(); j++) {
+            first[j] = Math.min(j, maxDistance + 1);
+        }
+        first[query.length() + 1] = maxDistance + 1;
+
+        int visited = 0;
+        for (Node child : root.children) {
+            visited += walk(child, '\0', 1, query, maxDistance, rows, visitor);
+        }
+        return visited;
+    }
+
+    /**
+     * Fills the row for {@code node}. Only cells within {@code maxDistance} of the diagonal can
+     * hold a distance that small, so the row is computed in that band and the cells bordering it
+     * are set to {@code maxDistance + 1}, the value every larger distance is capped at.
+     */
+    private static int walk(Node node, char parent, int depth, String query, int maxDistance, Rows rows,
+                            Visitor visitor) {
+        int n = query.length();
+        int cap = maxDistance + 1;
+        int from = Math.max(1, depth - maxDistance);
+        int to = Math.min(n, depth + maxDistance);
+        if (from > to) {
+            return 1;
+        }
+
+        int[] beforePrevious = depth > 1 ? rows.rows[depth - 2] : null;
+        int[] previous = rows.rows[depth - 1];
+        int[] current = rows.row(depth, n + 1);
+
+        current[from - 1] = from == 1 ? Math.min(depth, cap) : cap;
+        int rowMin = cap;
+        for (int j = from; j <= to; j++) {
+            int cost = query.charAt(j - 1) == node.c ? 0 : 1;
+            int value = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            if (beforePrevious != null && j > 1
+                    && node.c == query.charAt(j - 2) && parent == query.charAt(j - 1)) {
+                value = Math.min(value, beforePrevious[j - 2] + 1);
+            }
+            value = Math.min(value, cap);
+            current[j] = value;
+            if (value < rowMin) {
+                rowMin = value;
+            }
+        }
+        current[to + 1] = cap;
+
+        String term = node.term;
+        if (term != null && to == n && current[n] <= maxDistance) {
+            visitor.accept(term, current[n]);
+        }
+
+        int visited = 1;
+        if (rowMin <= maxDistance) {
+            for (Node child : node.children) {
+                visited += walk(child, node.c, depth + 1, query, maxDistance, rows, visitor);
+            }
+        }
+        return visited;
+    }
+
+    private static int indexOf(Node[] children, char c) {
+        int low = 0;
+        int high = children.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = children[mid].c;
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Approximate heap footprint in bytes, excluding the term strings (shared with the index).
+     */
+    public long estimatedBytes() {
+        // Node header + fields + children array header, plus one slot in the parent's array
+        return nodeCount * (16L + 16L + 16L + 4L);
+    }
+
+    private static final class Node {
+
+        final char c;
+        volatile Node[] children = NO_CHILDREN;
+        volatile String term;
+
+        Node(char c) {
+            this.c = c;
+        }
+    }
+
+    /**
+     * Per-thread edit-distance rows, one per trie level, grown on demand and then reused.
+     */
+    private static final class Rows {
+
+        int[][] rows = new int[32][];
+
+        /**
+         * Row for {@code depth} with room for at least {@code length + 1} cells.
+         */
+        int[] row(int depth, int length) {
+            if (depth == rows.length) {
+                rows = Arrays.copyOf(rows, rows.length * 2);
+            }
+            int[] row = rows[depth];
+            if (row == null || row.length <= length) {
+                row = new int[Math.max(32, length + 1)];
+                rows[depth] = row;
+            }
+            return row;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.printingpro.service;
+
+import com.printingpro.config.CatalogProperties;
+import com.printingpro.dto.request.ProductFilterRequest;
+import com.printingpro.dto.response.AdminDashboardResponse;
+import com.printingpro.dto.response.AdminDashboardResponse.Part;
+import com.printingpro.dto.response.ContactResponse;
+import com.printingpro.dto.response.CursorPageResponse;
+import com.printingpro.dto.response.ProductResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Service behind the admin dashboard.
+ * The parts are independent reads, so they run in parallel on a small bounded pool of their own
+ * (a shared executor bean would replace the one @Async methods use). Every part's timeout counts
+ * from the same start, so the dashboard takes as long as its slowest part rather than their sum.
+ * A part that misses its timeout, fails, or finds the pool full is cancelled and left out.
+ */
+@Service
+@Slf4j
+public class AdminDashboardService {
+
+    private final ProductService productService;
+    private final ContactService contactService;
+    private final CatalogProperties.Dashboard settings;
+    private final ExecutorService executor;
+    private final MeterRegistry meterRegistry;
+
+    public AdminDashboardService(
+            ProductService productService,
+            ContactService contactService,
+            CatalogProperties catalogProperties,
+            MeterRegistry meterRegistry
+    ) {
+        this.productService = productService;
+        this.contactService = contactService;
+        this.settings = catalogProperties.getDashboard();
+        this.meterRegistry = meterRegistry;
+        this.executor = new ThreadPoolExecutor(settings.getThreads(), settings.getThreads(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(settings.getQueueCapacity()),
+                new CustomizableThreadFactory("dashboard-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Reads every dashboard part in parallel and combines those that complete in time.
+     */
+    public AdminDashboardResponse getDashboard() {
+        long started = System.nanoTime();
+        Future<CursorPageResponse<ProductResponse>> products = submit(Part.PRODUCTS, () -> productService.getAllProducts(
+                ProductFilterRequest.builder().size(ProductFilterRequest.MAX_PAGE_SIZE).build()));
+        Future<Map<String, Long>> categoryCounts = submit(Part.CATEGORY_COUNTS, productService::getProductCountByCategory);
+        Future<Long> totalProducts = submit(Part.TOTAL_PRODUCTS, productService::getTotalProductCount);
+        Future<List<ContactResponse>> recentMessages = submit(Part.RECENT_MESSAGES,
+                () -> contactService.getRecentMessages(settings.getRecentMessages()));
+
+        List<Part> unavailable = new ArrayList<>();
+        return AdminDashboardResponse.builder()
+                .products(await(Part.PRODUCTS, products, started, unavailable))
+                .categoryCounts(await(Part.CATEGORY_COUNTS, categoryCounts, started, unavailable))
+                .totalProducts(await(Part.TOTAL_PRODUCTS, totalProducts, started, unavailable))
+                .recentMessages(await(Part.RECENT_MESSAGES, recentMessages, started, unavailable))
+                .unavailable(unavailable)
+                .build();
+    }
+
+    private <T> Future<T> submit(Part part, Callable<T> read) {
+        Timer timer = Timer.builder("admin.dashboard.part").tag("part", part.name())
+                .description("Time taken to read a dashboard part").register(meterRegistry);
+        try {
+            return executor.submit(() -> timer.recordCallable(read));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Result of {@code part}, or null (and the part added to {@code unavailable}) when it is not
+     * done by its deadline or failed.
+     */
+    private <T> T await(Part part, Future<T> future, long started, List<Part> unavailable) {
+        long deadline = started + settings.timeoutOf(part).toNanos();
+        try {
+            return future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Dashboard part {} timed out after {}", part, settings.timeoutOf(part));
+            degraded(part, "timeout");
+        } catch (ExecutionException e) {
+            log.warn("Dashboard part {} failed", part, e.getCause());
+            degraded(part, "error");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            degraded(part, "interrupted");
+        }
+        unavailable.add(part);
+        return null;
+    }
+
+    private void degraded(Part part, String reason) {
+        Counter.builder("admin.dashboard.degraded").tag("part", part.name()).tag("reason", reason)
+                .description("Dashboard responses returned without a part").register(meterRegistry).increment();
+    }
+}
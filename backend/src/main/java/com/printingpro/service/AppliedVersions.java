@@ -0,0 +1,42 @@
+package com.printingpro.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Last change-log version applied to each product by a listener that patches in-memory state.
+ *
+ * <p>After-commit callbacks of two concurrent writes may run in the opposite order to their
+ * commits; without this, the older state would be applied last and stay until the next rebuild.
+ * Changes at or below the floor are already part of the last rebuild. Not thread-safe: callers
+ * hold their own lock.
+ */
+final class AppliedVersions {
+
+    private final Map<UUID, Long> versions = new HashMap<>();
+    private long floor = -1;
+
+    /**
+     * Records {@code version} for the product and returns true if it is newer than anything applied so far.
+     */
+    boolean advance(UUID productId, long version) {
+        if (version <= floor) {
+            return false;
+        }
+        Long applied = versions.get(productId);
+        if (applied != null && applied >= version) {
+            return false;
+        }
+        versions.put(productId, version);
+        return true;
+    }
+
+    /**
+     * Forgets every product after a rebuild that includes all changes up to {@code floor}.
+     */
+    void reset(long floor) {
+        versions.clear();
+        this.floor = floor;
+    }
+}
@@ -0,0 +1,55 @@
+package com.printingpro.service;
+
+import com.printingpro.dto.response.ProductResponse;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * HTTP cache validators (strong ETag and Last-Modified) for a catalog resource.
+ *
+ * @param etag         quoted strong entity tag
+ * @param lastModified last modification time in epoch milliseconds, or -1 if unknown
+ */
+public record CacheValidator(String etag, long lastModified) {
+
+    /**
+     * Validator for a single product, derived from its id and updatedAt.
+     */
+    public static CacheValidator forProduct(ProductResponse product) {
+        LocalDateTime modified = product.getUpdatedAt() != null ? product.getUpdatedAt() : product.getCreatedAt();
+        String etag = "\"p-" + product.getId() + "-" + Long.toHexString(modified.toEpochSecond(ZoneOffset.UTC))
+                + "." + Integer.toHexString(modified.getNano()) + "\"";
+        return new CacheValidator(etag, toEpochMillis(modified));
+    }
+
+    /**
+     * Validator for a listing over the given snapshot; {@code query} distinguishes filter combinations.
+     */
+    public static CacheValidator forListing(CatalogSnapshot snapshot, String query) {
+        String etag = "\"c-" + Long.toHexString(snapshot.getFingerprint())
+                + "-" + Integer.toHexString(query.hashCode()) + "\"";
+        return new CacheValidator(etag, toEpochMillis(snapshot.getLastModified()));
+    }
+
+    /**
+     * Validator for the gzip-encoded variant; a strong ETag must differ per content encoding.
+     */
+    public CacheValidator forGzip() {
+        return new CacheValidator(etag.substring(0, etag.length() - 1) + "-gz\"", lastModified);
+    }
+
+    /**
+     * Validator for another representation of the same resource, such as a sparse fieldset.
+     */
+    public CacheValidator forVariant(String variant) {
+        return new CacheValidator(etag.substring(0, etag.length() - 1) + "-" + Integer.toHexString(variant.hashCode()) + "\"",
+                lastModified);
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        // Auditing stamps timestamps with LocalDateTime.now(), i.e. the JVM default zone
+        return time != null ? time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+}
@@ -0,0 +1,373 @@
+package com.printingpro.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.printingpro.config.CatalogProperties;
+import com.printingpro.config.ReplicaRoutingDataSource;
+import com.printingpro.dto.response.ProductChangeResponse;
+import com.printingpro.dto.response.ProductChangesResponse;
+import com.printingpro.event.ProductChangedEvent;
+import com.printingpro.event.ProductsBulkChangedEvent;
+import com.printingpro.event.ProductsImportedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans committed product changes out to Server-Sent Events subscribers.
+ *
+ * <p>Connections are servlet async requests, so an idle subscriber holds no thread. One publisher
+ * thread serializes each change once and queues it for every subscriber, in commit order; it never
+ * writes to a connection or reads the database. Each subscriber has its own bounded queue, drained
+ * by one sender task at a time, so a replay, change or heartbeat never interleaves with another on
+ * the same connection. Sender tasks share a fixed pool of {@code catalog.stream.sender-threads}
+ * threads, however many clients are connected, and each writes at most a queue's worth of events
+ * before giving the others a turn. A subscriber whose queue fills up is disconnected; it resumes
+ * with {@code Last-Event-ID} once it catches up.
+ *
+ * <p>Event ids are catalog versions. A client reconnecting with {@code Last-Event-ID} first gets
+ * the changes it missed from the change log, read by its sender task. If it is more than
+ * {@code catalog.stream.max-replay} changes behind, it gets a {@code reset} event and should reload
+ * instead.
+ */
+@Component
+@Slf4j
+public class CatalogEventStream {
+
+    static final String CHANGE_EVENT = "product";
+    static final String RESET_EVENT = "reset";
+
+    private static final Outgoing HEARTBEAT = new Outgoing(-1, null);
+
+    private final ProductChangeService productChangeService;
+    private final ObjectMapper objectMapper;
+    private final CatalogProperties.Stream settings;
+    private final Counter dropped;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService publisher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicInteger senderCount = new AtomicInteger();
+    private final ExecutorService senders;
+
+    public CatalogEventStream(
+            ProductChangeService productChangeService,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            CatalogProperties catalogProperties
+    ) {
+        this.productChangeService = productChangeService;
+        this.objectMapper = objectMapper;
+        this.settings = catalogProperties.getStream();
+        this.senders = Executors.newFixedThreadPool(settings.getSenderThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "catalog-stream-send-" + senderCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("catalog.stream.subscribers", subscribers, Set::size)
+                .description("Open catalog change-stream connections").register(meterRegistry);
+        this.dropped = Counter.builder("catalog.stream.dropped")
+                .description("Change-stream connections closed because the client fell behind")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream, replaying changes after {@code lastEventId} when the client is resuming.
+     *
+     * @param lastEventId value of the Last-Event-ID header, or null for a fresh connection
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(new SseEmitter(settings.getTimeout().toMillis()), lastEventId);
+    }
+
+    /**
+     * Registers {@code emitter} before replaying, so no change committed meanwhile is missed;
+     * changes covered by the replay are skipped when the queue is drained.
+     */
+    SseEmitter subscribe(SseEmitter emitter, String lastEventId) {
+        Subscriber subscriber = new Subscriber(emitter, settings.getQueueCapacity(), parseVersion(lastEventId));
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(error -> close(subscriber));
+
+        subscribers.add(subscriber);
+        if (subscriber.replayFrom != null) {
+            schedule(subscriber);
+        }
+        return emitter;
+    }
+
+    /**
+     * Queues a committed change for every subscriber.
+     */
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        publisher.execute(() -> broadcast(event));
+    }
+
+    /**
+     * Queues every product of a committed import chunk, one change event each.
+     */
+    @TransactionalEventListener
+    public void onProductsImported(ProductsImportedEvent event) {
+        publisher.execute(() -> event.changes().forEach(this::broadcast));
+    }
+
+    /**
+     * Queues every product of a committed bulk operation, one change event each.
+     */
+    @TransactionalEventListener
+    public void onProductsBulkChanged(ProductsBulkChangedEvent event) {
+        publisher.execute(() -> event.changes().forEach(this::broadcast));
+    }
+
+    /**
+     * Keeps idle connections open through proxies and detects clients that went away.
+     */
+    @Scheduled(fixedDelayString = "#{@catalogProperties.stream.heartbeatInterval.toMillis()}")
+    public void heartbeat() {
+        publisher.execute(() -> {
+            for (Subscriber subscriber : subscribers) {
+                enqueue(subscriber, HEARTBEAT);
+            }
+        });
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        publisher.shutdownNow();
+        senders.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    private void broadcast(ProductChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Outgoing change = new Outgoing(event.version(), serialize(ProductChangeResponse.builder()
+                .version(event.version())
+                .type(event.type())
+                .productId(event.productId())
+                .product(event.product())
+                .build()));
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, change);
+        }
+    }
+
+    /**
+     * Queues without blocking; a subscriber with a full queue is dropped instead of delaying the others.
+     */
+    private void enqueue(Subscriber subscriber, Outgoing outgoing) {
+        if (!subscriber.queue.offer(outgoing)) {
+            log.debug("Dropping a catalog stream subscriber that fell {} events behind", settings.getQueueCapacity());
+            subscribers.remove(subscriber);
+            subscriber.queue.clear();
+            subscriber.dropped = true;
+            dropped.increment();
+        }
+        schedule(subscriber);
+    }
+
+    /**
+     * Starts a sender task for the subscriber unless one is already running.
+     */
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    /**
+     * Replays missed changes on the first run, then writes queued events until the queue is empty
+     * or a queue's worth has been written, after which the task is rescheduled behind the others.
+     */
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.replayFrom != null) {
+                long since = subscriber.replayFrom;
+                subscriber.replayFrom = null;
+                if (!replay(subscriber, since)) {
+                    close(subscriber);
+                    return;
+                }
+            }
+            Outgoing outgoing;
+            int batch = settings.getQueueCapacity();
+            while (batch-- > 0 && !subscriber.closed && !subscriber.dropped
+                    && (outgoing = subscriber.queue.poll()) != null) {
+                // Already delivered by this subscriber's replay
+                if (outgoing != HEARTBEAT && outgoing.version() <= subscriber.replayedUpTo) {
+                    continue;
+                }
+                if (!send(subscriber, outgoing.toEvent())) {
+                    return;
+                }
+            }
+            if (subscriber.dropped && !subscriber.closed) {
+                close(subscriber);
+                subscriber.emitter.complete();
+            }
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // Picks up events left by a full batch, or queued after the loop found the queue empty but
+        // before the flag was cleared
+        if (!subscriber.closed && (subscriber.dropped || !subscriber.queue.isEmpty())) {
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Sends the changes after {@code since}; false if the subscriber was dropped or told to reset.
+     */
+    private boolean replay(Subscriber subscriber, long since) {
+        long version = since;
+        int replayed = 0;
+        try {
+            ProductChangesResponse page;
+            do {
+                // On the primary: live events the replay is de-duplicated against were committed there
+                long after = version;
+                page = ReplicaRoutingDataSource.readFromPrimary(() -> productChangeService.getChanges(after, null));
+                replayed += page.getChanges().size();
+                if (replayed > settings.getMaxReplay()) {
+                    send(subscriber, SseEmitter.event()
+                            .name(RESET_EVENT)
+                            .id(Long.toString(ReplicaRoutingDataSource.readFromPrimary(
+                                    productChangeService::currentVersion)))
+                            .data("{}", MediaType.APPLICATION_JSON));
+                    subscriber.emitter.complete();
+                    return false;
+                }
+                for (ProductChangeResponse change : page.getChanges()) {
+                    if (!send(subscriber, changeEvent(change.getVersion(), serialize(change)))) {
+                        return false;
+                    }
+                }
+                version = page.getVersion();
+            } while (page.isHasMore());
+        } catch (RuntimeException ex) {
+            log.warn("Could not replay catalog changes since {}", since, ex);
+            subscriber.emitter.completeWithError(ex);
+            return false;
+        }
+        subscriber.replayedUpTo = version;
+        return true;
+    }
+
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.remove(subscriber);
+    }
+
+    private static SseEmitter.SseEventBuilder changeEvent(long version, String data) {
+        return SseEmitter.event()
+                .name(CHANGE_EVENT)
+                .id(Long.toString(version))
+                .data(data, MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Writes one event; a failed write means the client is gone, so it is unsubscribed.
+     */
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException ex) {
+            close(subscriber);
+            subscriber.emitter.completeWithError(ex);
+            return false;
+        }
+    }
+
+    private String serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize catalog change", ex);
+        }
+    }
+
+    private static Long parseVersion(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            long version = Long.parseLong(lastEventId.trim());
+            return version >= 0 ? version : null;
+        } catch (NumberFormatException ex) {
+            log.debug("Ignoring malformed Last-Event-ID '{}'", lastEventId);
+            return null;
+        }
+    }
+
+    /**
+     * A serialized change, or the heartbeat comment.
+     */
+    private record Outgoing(long version, String data) {
+
+        SseEmitter.SseEventBuilder toEvent() {
+            return this == HEARTBEAT ? SseEmitter.event().comment("keep-alive") : changeEvent(version, data);
+        }
+    }
+
+    private static final class Subscriber {
+
+        final SseEmitter emitter;
+        final BlockingQueue<Outgoing> queue;
+
+        /**
+         * Set while a sender task owns the connection; only that task writes to it.
+         */
+        final AtomicBoolean draining = new AtomicBoolean();
+
+        /**
+         * Version after which to replay, until the first sender task has done so.
+         */
+        Long replayFrom;
+
+        /**
+         * Highest version sent during replay; only touched by the sender task.
+         */
+        long replayedUpTo = -1;
+
+        volatile boolean dropped;
+        volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, int queueCapacity, Long replayFrom) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.replayFrom = replayFrom;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.printingpro.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.printingpro.config.CatalogProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of catalog responses serialized to UTF-8 JSON, with a pre-compressed gzip variant.
+ * Entries belong to the snapshot version they were built from; the whole generation is dropped
+ * as soon as a newer snapshot is observed, so bytes are only regenerated after a product changes.
+ */
+@Component
+@Slf4j
+public class CatalogResponseCache {
+
+    private final ProductCatalogCache catalogCache;
+    private final ObjectMapper objectMapper;
+    private final int maxEntries;
+
+    private volatile Generation generation = new Generation(-1);
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public CatalogResponseCache(
+            ProductCatalogCache catalogCache,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            CatalogProperties catalogProperties
+    ) {
+        this.catalogCache = catalogCache;
+        this.objectMapper = objectMapper;
+        this.maxEntries = catalogProperties.getResponseCache().getMaxEntries();
+
+        this.hits = Counter.builder("catalog.response-cache.requests").tag("result", "hit")
+                .description("Catalog responses written from pre-serialized bytes").register(meterRegistry);
+        this.misses = Counter.builder("catalog.response-cache.requests").tag("result", "miss")
+                .description("Catalog responses that had to be serialized").register(meterRegistry);
+    }
+
+    /**
+     * Serialized form of a catalog response.
+     *
+     * @param json      UTF-8 JSON body
+     * @param gzip      the same body gzip-compressed
+     * @param validator validator of the serialized value, or null if none was requested
+     */
+    public record SerializedResponse(byte[] json, byte[] gzip, CacheValidator validator) {
+    }
+
+    /**
+     * Returns the cached bytes for {@code key}, serializing the value produced by {@code loader} on a miss.
+     * Responses are not cached while the catalog snapshot is not loaded.
+     */
+    public SerializedResponse get(String key, Supplier<?> loader) {
+        return get(key, loader, value -> null);
+    }
+
+    /**
+     * Same as {@link #get(String, Supplier)}, keeping the validator of the serialized value with its
+     * bytes, so the headers always describe the body they are sent with.
+     */
+    public <T> SerializedResponse get(String key, Supplier<T> loader, Function<? super T, CacheValidator> validator) {
+        CatalogSnapshot snapshot = catalogCache.peek();
+        if (snapshot == null) {
+            misses.increment();
+            return serialize(loader.get(), validator);
+        }
+
+        Generation current = generationFor(snapshot.getVersion());
+        SerializedResponse cached = current.entries.get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        SerializedResponse serialized = serialize(loader.get(), validator);
+        if (current.entries.size() < maxEntries) {
+            current.entries.putIfAbsent(key, serialized);
+        }
+        return serialized;
+    }
+
+    private Generation generationFor(long version) {
+        Generation current = generation;
+        if (current.version == version) {
+            return current;
+        }
+        synchronized (this) {
+            if (generation.version < version) {
+                log.debug("Dropping serialized catalog responses for v{}", generation.version);
+                generation = new Generation(version);
+            }
+            return generation;
+        }
+    }
+
+    private <T> SerializedResponse serialize(T value, Function<? super T, CacheValidator> validator) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            return new SerializedResponse(json, compressed.toByteArray(), validator.apply(value));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize catalog response", ex);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to compress catalog response", ex);
+        }
+    }
+
+    private static final class Generation {
+
+        private final long version;
+        private final ConcurrentMap<String, SerializedResponse> entries = new ConcurrentHashMap<>();
+
+        private Generation(long version) {
+            this.version = version;
+        }
+    }
+}
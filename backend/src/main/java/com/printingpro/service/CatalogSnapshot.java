@@ -0,0 +1,303 @@
+package com.printingpro.service;
+
+import com.printingpro.dto.response.CursorPageResponse;
+import com.printingpro.dto.response.ProductResponse;
+import com.printingpro.entity.ProductCategory;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable, versioned view of the whole catalog.
+ * Products are kept in listing order ({@code createdAt DESC, id DESC}) and indexed by id and category.
+ * Writers derive a new snapshot with {@link #withUpserted} / {@link #withRemoved}; readers never lock.
+ */
+public final class CatalogSnapshot {
+
+    /**
+     * Listing order. UUIDs are compared as unsigned bytes, which matches PostgreSQL and H2,
+     * so cursors issued from the snapshot and from the database point at the same position.
+     */
+    static final Comparator<ProductResponse> LISTING_ORDER = (a, b) -> {
+        int byCreatedAt = b.getCreatedAt().compareTo(a.getCreatedAt());
+        return byCreatedAt != 0 ? byCreatedAt : compareUuids(b.getId(), a.getId());
+    };
+
+    private final long version;
+    private final LocalDateTime lastModified;
+    private final long fingerprint;
+    private final List<Entry> entries;
+    private final Map<UUID, ProductResponse> byId;
+    private final Map<ProductCategory, List<Entry>> byCategory;
+
+    private CatalogSnapshot(long version, List<Entry> sortedEntries, LocalDateTime modifiedFloor) {
+        this.version = version;
+        this.entries = Collections.unmodifiableList(sortedEntries);
+
+        Map<UUID, ProductResponse> ids = new HashMap<>(sortedEntries.size() * 2);
+        Map<ProductCategory, List<Entry>> categories = new EnumMap<>(ProductCategory.class);
+        for (ProductCategory category : ProductCategory.values()) {
+            categories.put(category, new ArrayList<>());
+        }
+        LocalDateTime latest = modifiedFloor;
+        long hash = sortedEntries.size();
+        for (Entry entry : sortedEntries) {
+            ProductResponse product = entry.product();
+            ids.put(product.getId(), product);
+            categories.get(product.getCategory()).add(entry);
+            LocalDateTime modified = modifiedAt(product);
+            if (latest == null || modified.isAfter(latest)) {
+                latest = modified;
+            }
+            hash = 31 * hash + product.getId().getMostSignificantBits();
+            hash = 31 * hash + product.getId().getLeastSignificantBits();
+            hash = 31 * hash + modified.hashCode();
+        }
+        categories.replaceAll((category, list) -> Collections.unmodifiableList(list));
+
+        this.byId = Collections.unmodifiableMap(ids);
+        this.byCategory = Collections.unmodifiableMap(categories);
+        this.lastModified = latest;
+        this.fingerprint = hash;
+    }
+
+    /**
+     * Builds a snapshot from a full set of products.
+     */
+    public static CatalogSnapshot of(long version, Collection<ProductResponse> products) {
+        List<Entry> sorted = new ArrayList<>(products.size());
+        for (ProductResponse product : products) {
+            sorted.add(Entry.of(product));
+        }
+        sorted.sort(Comparator.comparing(Entry::product, LISTING_ORDER));
+        return new CatalogSnapshot(version, sorted, null);
+    }
+
+    /**
+     * Returns a new snapshot in which the given product is inserted or replaced.
+     */
+    public CatalogSnapshot withUpserted(long newVersion, ProductResponse product) {
+        List<Entry> copy = new ArrayList<>(entries.size() + 1);
+        for (Entry entry : entries) {
+            if (!entry.product().getId().equals(product.getId())) {
+                copy.add(entry);
+            }
+        }
+        Entry added = Entry.of(product);
+        int index = Collections.binarySearch(copy, added, Comparator.comparing(Entry::product, LISTING_ORDER));
+        copy.add(index < 0 ? -index - 1 : index, added);
+        return new CatalogSnapshot(newVersion, copy, patchedAt());
+    }
+
+    /**
+     * Returns a new snapshot in which all the given products are inserted or replaced,
+     * merging them into the listing in one pass rather than one copy per product.
+     */
+    public CatalogSnapshot withUpserted(long newVersion, Collection<ProductResponse> products) {
+        Comparator<Entry> order = Comparator.comparing(Entry::product, LISTING_ORDER);
+        List<Entry> added = new ArrayList<>(products.size());
+        Set<UUID> ids = new HashSet<>(products.size() * 2);
+        for (ProductResponse product : products) {
+            added.add(Entry.of(product));
+            ids.add(product.getId());
+        }
+        added.sort(order);
+
+        List<Entry> merged = new ArrayList<>(entries.size() + added.size());
+        int next = 0;
+        for (Entry entry : entries) {
+            if (ids.contains(entry.product().getId())) {
+                continue;
+            }
+            while (next < added.size() && order.compare(added.get(next), entry) <= 0) {
+                merged.add(added.get(next++));
+            }
+            merged.add(entry);
+        }
+        merged.addAll(added.subList(next, added.size()));
+        return new CatalogSnapshot(newVersion, merged, patchedAt());
+    }
+
+    /**
+     * Returns a new snapshot without the given product.
+     */
+    public CatalogSnapshot withRemoved(long newVersion, UUID productId) {
+        List<Entry> copy = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            if (!entry.product().getId().equals(productId)) {
+                copy.add(entry);
+            }
+        }
+        return new CatalogSnapshot(newVersion, copy, patchedAt());
+    }
+
+    /**
+     * Returns a new snapshot without any of the given products.
+     */
+    public CatalogSnapshot withRemoved(long newVersion, Collection<UUID> productIds) {
+        Set<UUID> ids = new HashSet<>(productIds);
+        List<Entry> copy = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            if (!ids.contains(entry.product().getId())) {
+                copy.add(entry);
+            }
+        }
+        return new CatalogSnapshot(newVersion, copy, patchedAt());
+    }
+
+    /**
+     * Deletions and re-categorisations do not move any product's updatedAt forward,
+     * so a patched snapshot is never considered older than the moment it was patched.
+     */
+    private LocalDateTime patchedAt() {
+        LocalDateTime now = LocalDateTime.now();
+        return lastModified != null && lastModified.isAfter(now) ? lastModified : now;
+    }
+
+    private static LocalDateTime modifiedAt(ProductResponse product) {
+        return product.getUpdatedAt() != null ? product.getUpdatedAt() : product.getCreatedAt();
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Hash of every product's id and modification time. Identical catalogs yield the same
+     * fingerprint on every instance, unlike the locally incremented version.
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Latest createdAt/updatedAt across the catalog (or last patch time), null when empty.
+     */
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public ProductResponse findById(UUID id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Products in listing order.
+     */
+    public List<ProductResponse> getProducts() {
+        return entries.stream().map(Entry::product).toList();
+    }
+
+    /**
+     * Evaluates the public listing filters against the snapshot, seeking past the cursor position.
+     *
+     * @param search lower-cased search term, or null
+     */
+    public CursorPageResponse<ProductResponse> page(
+            ProductCategory category,
+            String search,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            ProductCursor cursor,
+            int size
+    ) {
+        List<Entry> source = category != null ? byCategory.get(category) : entries;
+        int start = cursor != null ? seek(source, cursor) : 0;
+
+        List<ProductResponse> items = new ArrayList<>(Math.min(size, source.size()));
+        boolean hasMore = false;
+        for (int i = start; i < source.size(); i++) {
+            Entry entry = source.get(i);
+            if (!entry.matches(search, minPrice, maxPrice)) {
+                continue;
+            }
+            if (items.size() == size) {
+                hasMore = true;
+                break;
+            }
+            items.add(entry.product());
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            ProductResponse last = items.get(items.size() - 1);
+            nextCursor = new ProductCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return CursorPageResponse.<ProductResponse>builder()
+                .items(items)
+                .size(items.size())
+                .hasMore(hasMore)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Index of the first entry strictly after the cursor position in listing order.
+     */
+    private static int seek(List<Entry> source, ProductCursor cursor) {
+        int low = 0;
+        int high = source.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            ProductResponse product = source.get(mid).product();
+            int cmp = cursor.createdAt().compareTo(product.getCreatedAt());
+            if (cmp == 0) {
+                cmp = compareUuids(cursor.id(), product.getId());
+            }
+            // Entry at mid is before or at the cursor when its (createdAt, id) is >= the cursor's
+            if (cmp <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    static int compareUuids(UUID a, UUID b) {
+        int msb = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return msb != 0 ? msb : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    /**
+     * Product plus its pre-lowered search text, so filtering never allocates.
+     */
+    private record Entry(ProductResponse product, String name, String description) {
+
+        static Entry of(ProductResponse product) {
+            return new Entry(
+                    product,
+                    product.getName() != null ? product.getName().toLowerCase(Locale.ROOT) : "",
+                    product.getDescription() != null ? product.getDescription().toLowerCase(Locale.ROOT) : ""
+            );
+        }
+
+        boolean matches(String search, BigDecimal minPrice, BigDecimal maxPrice) {
+            BigDecimal price = product.getPricePerSqft();
+            if (minPrice != null && price.compareTo(minPrice) < 0) {
+                return false;
+            }
+            if (maxPrice != null && price.compareTo(maxPrice) > 0) {
+                return false;
+            }
+            return search == null || name.contains(search) || description.contains(search);
+        }
+    }
+}
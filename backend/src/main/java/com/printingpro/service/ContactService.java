@@ -9,11 +9,13 @@ import com.printingpro.repository.ContactMessageRepository;
 import com.printingpro.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -77,6 +79,16 @@ public class ContactService {
         return messages.map(contactMapper::toResponse);
     }
 
+    /**
+     * Get the newest contact messages (for the admin dashboard).
+     */
+    public List<ContactResponse> getRecentMessages(int limit) {
+        log.debug("Fetching {} most recent contact messages", limit);
+        return contactMessageRepository.findByOrderByCreatedAtDesc(Limit.of(limit)).stream()
+                .map(contactMapper::toResponse)
+                .toList();
+    }
+
     /**
      * Get contact messages by email (for admin).
      */
@@ -0,0 +1,101 @@
+package com.printingpro.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV one record at a time, so an import never holds more than one row of its body.
+ * Fields are comma-separated and may be double-quoted; quoted fields can contain commas, line
+ * breaks and doubled quotes. Blank lines are skipped.
+ */
+final class CsvReader {
+
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private int peeked = NONE;
+    private long line = 1;
+
+    /**
+     * @param reader source of the CSV text, ideally buffered
+     */
+    CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * A record and the line it starts on. {@code error} is set when the record is malformed.
+     */
+    record Record(long line, List<String> fields, String error) {
+    }
+
+    /**
+     * The next record, or null at the end of the input.
+     */
+    Record next() throws IOException {
+        while (true) {
+            long start = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean inQuotes = false;
+            boolean read = false;
+
+            while (true) {
+                int c = read();
+                if (c == -1) {
+                    if (inQuotes) {
+                        return new Record(start, fields, "Quoted field is not closed");
+                    }
+                    if (!read) {
+                        return null;
+                    }
+                    break;
+                }
+                read = true;
+                if (inQuotes) {
+                    if (c == '"') {
+                        int following = read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            inQuotes = false;
+                            peeked = following;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    inQuotes = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    line++;
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            fields.add(field.toString());
+
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            return new Record(start, fields, null);
+        }
+    }
+
+    private int read() throws IOException {
+        if (peeked != NONE) {
+            int c = peeked;
+            peeked = NONE;
+            return c;
+        }
+        return reader.read();
+    }
+}
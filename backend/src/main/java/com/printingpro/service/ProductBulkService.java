@@ -0,0 +1,277 @@
+package com.printingpro.service;
+
+import com.printingpro.config.CatalogProperties;
+import com.printingpro.dto.request.ProductBulkRequest;
+import com.printingpro.dto.request.ProductBulkRequest.Operation;
+import com.printingpro.dto.response.ProductBulkResponse;
+import com.printingpro.dto.response.ProductResponse;
+import com.printingpro.entity.Product;
+import com.printingpro.entity.ProductCategory;
+import com.printingpro.event.ProductChangedEvent;
+import com.printingpro.event.ProductChangedEvent.ChangeType;
+import com.printingpro.event.ProductsBulkChangedEvent;
+import com.printingpro.exception.ValidationException;
+import com.printingpro.mapper.ProductMapper;
+import com.printingpro.repository.ProductBulkRepository.Selection;
+import com.printingpro.repository.ProductRepository;
+import com.printingpro.repository.projection.ProductBulkView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Service for bulk admin operations: deleting, re-categorising and repricing many products at once.
+ *
+ * <p>Each write is one set-based statement over the selection that returns the rows it changed, so
+ * nothing is read or locked beforehand and the response reports what the statements wrote. The
+ * change log is then written in batches, and one {@link ProductsBulkChangedEvent} lets the in-memory
+ * catalog state apply the whole operation in one step.
+ */
+@Service
+@Slf4j
+public class ProductBulkService {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    /**
+     * Prices are stored as DECIMAL(10, 2), so they must stay below this.
+     */
+    private static final BigDecimal PRICE_LIMIT = new BigDecimal("100000000");
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final ProductChangeService productChangeService;
+    private final ProductCatalogCache catalogCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxProducts;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ProductBulkService(
+            ProductRepository productRepository,
+            ProductMapper productMapper,
+            ProductChangeService productChangeService,
+            ProductCatalogCache catalogCache,
+            ApplicationEventPublisher eventPublisher,
+            CatalogProperties catalogProperties
+    ) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.productChangeService = productChangeService;
+        this.catalogCache = catalogCache;
+        this.eventPublisher = eventPublisher;
+        this.maxProducts = catalogProperties.getBulk().getMaxProducts();
+    }
+
+    /**
+     * Applies a bulk operation in one transaction and returns how many products its statements wrote.
+     */
+    @Transactional
+    public ProductBulkResponse apply(ProductBulkRequest request) {
+        validate(request);
+        Selection selection = request.getIds() != null && !request.getIds().isEmpty()
+                ? Selection.byIds(new LinkedHashSet<>(request.getIds()))
+                : Selection.byFilters(request.getCategory(), request.getMinPrice(), request.getMaxPrice());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ProductChangedEvent> changes = switch (request.getOperation()) {
+            case DELETE -> delete(selection.ids());
+            case CHANGE_CATEGORY -> changeCategory(selection, request.getTargetCategory(), now);
+            case ADJUST_PRICE -> adjustPrice(selection, request.getPricePercent(), request.getPriceAmount(), now);
+        };
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new ProductsBulkChangedEvent(changes));
+        }
+
+        log.info("Bulk {} wrote {} products", request.getOperation(), changes.size());
+        return ProductBulkResponse.builder()
+                .operation(request.getOperation())
+                .affected(changes.size())
+                .version(changes.isEmpty() ? null : changes.get(changes.size() - 1).version())
+                .build();
+    }
+
+    private void validate(ProductBulkRequest request) {
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean byFilters = request.getCategory() != null || request.getMinPrice() != null
+                || request.getMaxPrice() != null;
+        if (byIds && byFilters) {
+            throw new ValidationException("Select products either by ids or by filters, not both");
+        }
+        if (request.getOperation() == Operation.DELETE && !byIds) {
+            throw new ValidationException("Bulk delete selects products by ids only");
+        }
+        if (!byIds && !byFilters) {
+            throw new ValidationException("Select products by ids, category or price range");
+        }
+        if (byIds && request.getIds().size() > maxProducts) {
+            throw new ValidationException("A bulk operation can list at most " + maxProducts + " product ids");
+        }
+        if (request.getMinPrice() != null && request.getMaxPrice() != null
+                && request.getMinPrice().compareTo(request.getMaxPrice()) > 0) {
+            throw new ValidationException("Minimum price cannot be greater than maximum price");
+        }
+
+        switch (request.getOperation()) {
+            case CHANGE_CATEGORY -> {
+                if (request.getTargetCategory() == null) {
+                    throw new ValidationException("Target category is required");
+                }
+            }
+            case ADJUST_PRICE -> {
+                if ((request.getPricePercent() == null) == (request.getPriceAmount() == null)) {
+                    throw new ValidationException("Give either a price percentage or a price amount");
+                }
+                if (request.getPricePercent() != null && request.getPricePercent().compareTo(HUNDRED.negate()) <= 0) {
+                    throw new ValidationException("Price percentage must be greater than -100");
+                }
+            }
+            case DELETE -> {
+            }
+        }
+    }
+
+    private List<ProductChangedEvent> delete(Collection<UUID> ids) {
+        productRepository.deleteImagesByProductIds(ids);
+        List<ProductBulkView> rows = productRepository.deleteReturning(ids);
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        long first = productChangeService.recordAll(ChangeType.DELETED, ids(rows));
+        List<ProductChangedEvent> changes = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            changes.add(ProductChangedEvent.deleted(rows.get(i).getId(), rows.get(i).getCategory(), first + i));
+        }
+        return changes;
+    }
+
+    /**
+     * Moves the selection with one statement per source category, which is then each moved product's
+     * previous category. Products already in the target category are left untouched.
+     */
+    private List<ProductChangedEvent> changeCategory(Selection selection, ProductCategory target, LocalDateTime now) {
+        List<ProductBulkView> rows = new ArrayList<>();
+        Map<UUID, ProductCategory> previousCategories = new HashMap<>();
+        for (ProductCategory from : ProductCategory.values()) {
+            if (from == target || (selection.category() != null && selection.category() != from)) {
+                continue;
+            }
+            for (ProductBulkView row : productRepository.moveCategory(selection, from, target, now)) {
+                rows.add(row);
+                previousCategories.put(row.getId(), from);
+            }
+        }
+        return recordUpdated(rows, now, row -> previousCategories.get(row.getId()));
+    }
+
+    private List<ProductChangedEvent> adjustPrice(Selection selection, BigDecimal percent, BigDecimal amount,
+                                                  LocalDateTime now) {
+        if ((percent != null ? percent : amount).signum() == 0) {
+            return List.of();
+        }
+        BigDecimal factor = percent != null ? BigDecimal.ONE.add(percent.divide(HUNDRED)) : null;
+
+        // An adjustment keeps prices in order, so checking the extremes (with the database's rounding)
+        // checks every selected price before anything is written
+        BigDecimal[] range = productRepository.findPriceRange(selection);
+        if (range[0] == null) {
+            return List.of();
+        }
+        checkPrice(adjust(range[0], factor, amount), "the lowest selected price");
+        checkPrice(adjust(range[1], factor, amount), "the highest selected price");
+
+        List<ProductBulkView> rows = factor != null
+                ? productRepository.scalePrice(selection, factor, now)
+                : productRepository.addToPrice(selection, amount, now);
+        // A price written concurrently since the check fails here and rolls the statement back
+        for (ProductBulkView row : rows) {
+            checkPrice(row.getPricePerSqft(), "the price of product " + row.getId());
+        }
+        return recordUpdated(rows, now, ProductBulkView::getCategory);
+    }
+
+    private static BigDecimal adjust(BigDecimal price, BigDecimal factor, BigDecimal amount) {
+        return factor != null ? price.multiply(factor).setScale(2, RoundingMode.HALF_UP) : price.add(amount);
+    }
+
+    private static void checkPrice(BigDecimal price, String subject) {
+        if (price.signum() <= 0 || price.compareTo(PRICE_LIMIT) >= 0) {
+            throw new ValidationException("The adjustment would make " + subject + " " + price.toPlainString()
+                    + "; prices must be greater than zero and below " + PRICE_LIMIT.toPlainString());
+        }
+    }
+
+    /**
+     * Records the updated rows in the change log and returns their changes. A product whose snapshot
+     * entry is at the version just before the statement is built from that entry and the returned
+     * columns; the others are re-read in one query. The re-read bypasses the second-level cache: the
+     * bulk statement has just evicted the product region, and filling it is left to ordinary reads.
+     */
+    private List<ProductChangedEvent> recordUpdated(List<ProductBulkView> rows, LocalDateTime now,
+                                                    Function<ProductBulkView, ProductCategory> previousCategory) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        long first = productChangeService.recordAll(ChangeType.UPDATED, ids(rows));
+
+        Map<UUID, ProductResponse> products = new HashMap<>(rows.size() * 2);
+        CatalogSnapshot snapshot = catalogCache.peek();
+        List<UUID> missing = new ArrayList<>();
+        for (ProductBulkView row : rows) {
+            ProductResponse cached = snapshot != null ? snapshot.findById(row.getId()) : null;
+            if (cached != null && cached.getVersion() != null && cached.getVersion() == row.getVersion() - 1) {
+                products.put(row.getId(), cached.toBuilder()
+                        .category(row.getCategory())
+                        .pricePerSqft(row.getPricePerSqft())
+                        .updatedAt(now)
+                        .version(row.getVersion())
+                        .build());
+            } else {
+                missing.add(row.getId());
+            }
+        }
+        if (!missing.isEmpty()) {
+            Session session = entityManager.unwrap(Session.class);
+            CacheMode cacheMode = session.getCacheMode();
+            session.setCacheMode(CacheMode.IGNORE);
+            try {
+                for (Product product : productRepository.findWithImagesByIdIn(missing)) {
+                    products.put(product.getId(), productMapper.toResponse(product));
+                }
+            } finally {
+                // The session may be the request's open-in-view one, which later reads still use
+                session.setCacheMode(cacheMode);
+            }
+        }
+
+        List<ProductChangedEvent> changes = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            ProductBulkView row = rows.get(i);
+            changes.add(ProductChangedEvent.updated(products.get(row.getId()), previousCategory.apply(row), first + i));
+        }
+        return changes;
+    }
+
+    private static List<UUID> ids(List<ProductBulkView> rows) {
+        return rows.stream().map(ProductBulkView::getId).toList();
+    }
+}
@@ -0,0 +1,192 @@
+package com.printingpro.service;
+
+import com.printingpro.config.CatalogProperties;
+import com.printingpro.config.ReplicaRoutingDataSource;
+import com.printingpro.dto.response.ProductResponse;
+import com.printingpro.event.ProductChangedEvent;
+import com.printingpro.event.ProductChangedEvent.ChangeType;
+import com.printingpro.event.ProductsBulkChangedEvent;
+import com.printingpro.event.ProductsImportedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the in-memory {@link CatalogSnapshot} used to serve public catalog reads.
+ * The snapshot is loaded once the application is ready and patched after each product write commits.
+ * Reads are a single volatile load; writers are serialized so patches never interleave with a rebuild.
+ */
+@Component
+@Slf4j
+public class ProductCatalogCache {
+
+    private final ProductCatalogLoader catalogLoader;
+    private final ProductChangeService productChangeService;
+    private final boolean enabled;
+
+    private final AtomicReference<CatalogSnapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * Guarded by this object's lock, like every snapshot write.
+     */
+    private final AppliedVersions appliedVersions = new AppliedVersions();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer rebuildTimer;
+
+    public ProductCatalogCache(
+            ProductCatalogLoader catalogLoader,
+            ProductChangeService productChangeService,
+            MeterRegistry meterRegistry,
+            CatalogProperties catalogProperties
+    ) {
+        this.catalogLoader = catalogLoader;
+        this.productChangeService = productChangeService;
+        this.enabled = catalogProperties.getCache().isEnabled();
+
+        this.hits = Counter.builder("catalog.cache.requests").tag("result", "hit")
+                .description("Catalog reads served from the in-memory snapshot").register(meterRegistry);
+        this.misses = Counter.builder("catalog.cache.requests").tag("result", "miss")
+                .description("Catalog reads that fell back to the database").register(meterRegistry);
+        this.rebuildTimer = Timer.builder("catalog.cache.rebuild")
+                .description("Time taken to rebuild the catalog snapshot from the database").register(meterRegistry);
+        Gauge.builder("catalog.cache.size", snapshot, ref -> ref.get() != null ? ref.get().size() : 0)
+                .description("Products held in the catalog snapshot").register(meterRegistry);
+        Gauge.builder("catalog.cache.version", snapshot, ref -> ref.get() != null ? ref.get().getVersion() : 0)
+                .description("Version of the current catalog snapshot").register(meterRegistry);
+    }
+
+    /**
+     * Current snapshot, or null when caching is disabled or the snapshot has not been loaded yet.
+     * Records a hit or miss for the read that is about to be served.
+     */
+    public CatalogSnapshot current() {
+        CatalogSnapshot current = snapshot.get();
+        if (current != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return current;
+    }
+
+    /**
+     * Current snapshot without recording a cache request, for metadata such as validators.
+     */
+    public CatalogSnapshot peek() {
+        return snapshot.get();
+    }
+
+    /**
+     * Loads the snapshot once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Reloads every product from the database and atomically swaps in a new snapshot.
+     */
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        // Read before the products, so every change up to it is in the new snapshot
+        long changeVersion = ReplicaRoutingDataSource.readFromPrimary(productChangeService::currentVersion);
+        List<ProductResponse> products = catalogLoader.loadAll();
+
+        CatalogSnapshot previous = snapshot.get();
+        long version = previous != null ? previous.getVersion() + 1 : 1;
+        snapshot.set(CatalogSnapshot.of(version, products));
+        appliedVersions.reset(changeVersion);
+
+        long elapsed = System.nanoTime() - started;
+        rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Catalog snapshot v{} built with {} products in {} ms", version, products.size(), elapsed / 1_000_000);
+    }
+
+    /**
+     * Patches the snapshot once a product write has committed. A change older than one already
+     * applied to the same product (its callback ran late) is ignored.
+     */
+    @TransactionalEventListener
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        CatalogSnapshot current = snapshot.get();
+        if (current == null || !appliedVersions.advance(event.productId(), event.version())) {
+            return;
+        }
+
+        long version = current.getVersion() + 1;
+        switch (event.type()) {
+            case CREATED, UPDATED -> snapshot.set(current.withUpserted(version, event.product()));
+            case DELETED -> snapshot.set(current.withRemoved(version, event.productId()));
+        }
+        log.debug("Catalog snapshot patched to v{} after {} of {}", version, event.type(), event.productId());
+    }
+
+    /**
+     * Patches the snapshot once an import chunk has committed.
+     */
+    @TransactionalEventListener
+    public synchronized void onProductsImported(ProductsImportedEvent event) {
+        CatalogSnapshot current = snapshot.get();
+        if (current == null) {
+            return;
+        }
+
+        List<ProductResponse> created = event.changes().stream()
+                .filter(change -> appliedVersions.advance(change.productId(), change.version()))
+                .map(ProductChangedEvent::product)
+                .toList();
+        if (created.isEmpty()) {
+            return;
+        }
+        long version = current.getVersion() + 1;
+        snapshot.set(current.withUpserted(version, created));
+        log.debug("Catalog snapshot patched to v{} after importing {} products", version, created.size());
+    }
+
+    /**
+     * Patches the snapshot once a bulk operation has committed, in one step for all its products.
+     */
+    @TransactionalEventListener
+    public synchronized void onProductsBulkChanged(ProductsBulkChangedEvent event) {
+        CatalogSnapshot current = snapshot.get();
+        if (current == null) {
+            return;
+        }
+
+        List<UUID> deleted = new ArrayList<>();
+        List<ProductResponse> updated = new ArrayList<>();
+        for (ProductChangedEvent change : event.changes()) {
+            if (appliedVersions.advance(change.productId(), change.version())) {
+                if (change.type() == ChangeType.DELETED) {
+                    deleted.add(change.productId());
+                } else {
+                    updated.add(change.product());
+                }
+            }
+        }
+        if (deleted.isEmpty() && updated.isEmpty()) {
+            return;
+        }
+        long version = current.getVersion() + 1;
+        CatalogSnapshot patched = deleted.isEmpty() ? current : current.withRemoved(version, deleted);
+        snapshot.set(updated.isEmpty() ? patched : patched.withUpserted(version, updated));
+        log.debug("Catalog snapshot patched to v{} after a bulk change of {} products", version, event.changes().size());
+    }
+}
@@ -0,0 +1,84 @@
+package com.printingpro.service;
+
+import com.printingpro.config.CatalogProperties;
+import com.printingpro.config.ReplicaRoutingDataSource;
+import com.printingpro.dto.request.ProductField;
+import com.printingpro.dto.response.ProductImageResponse;
+import com.printingpro.dto.response.ProductResponse;
+import com.printingpro.mapper.ProductMapper;
+import com.printingpro.repository.ProductRepository;
+import jakarta.persistence.Tuple;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Reads the whole catalog for the in-memory snapshot and search index.
+ * Products and images are scrolled as tuples through a database cursor, so no entity is hydrated,
+ * tracked or snapshotted, and the driver holds only one fetch of rows at a time.
+ * Rows arrive unordered; consumers sort what they keep.
+ * Reads go to the primary: consumers pair them with a change-log version read just before.
+ */
+@Component
+public class ProductCatalogLoader {
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+
+    public ProductCatalogLoader(
+            ProductRepository productRepository,
+            ProductMapper productMapper,
+            PlatformTransactionManager transactionManager,
+            CatalogProperties catalogProperties
+    ) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fetchSize = catalogProperties.getCache().getLoadFetchSize();
+    }
+
+    /**
+     * Every product with its images in display order, using two queries.
+     */
+    public List<ProductResponse> loadAll() {
+        return ReplicaRoutingDataSource.readFromPrimary(() -> readOnlyTransaction.execute(status -> {
+            Map<UUID, List<ProductImageResponse>> images = new HashMap<>();
+            try (Stream<Tuple> rows = productRepository.streamImageRows(fetchSize)) {
+                rows.forEach(row -> images.computeIfAbsent(row.get("productId", UUID.class), id -> new ArrayList<>(4))
+                        .add(productMapper.toImageResponse(row)));
+            }
+            images.values().forEach(list -> list.sort(ProductMapper.IMAGE_ORDER));
+
+            List<ProductResponse> products = new ArrayList<>();
+            try (Stream<Tuple> rows = productRepository.streamFields(ProductField.columns(), fetchSize)) {
+                rows.forEach(row -> products.add(productMapper.toResponse(
+                        row, images.get(row.get(ProductField.ID.getFieldName(), UUID.class)))));
+            }
+            return products;
+        }));
+    }
+
+    /**
+     * Passes every product row, selecting only the column fields in {@code fields}, to {@code consumer}.
+     * Rows are aliased as in {@link com.printingpro.repository.ProductFieldRepository}.
+     */
+    public void forEachRow(Set<ProductField> fields, Consumer<Tuple> consumer) {
+        ReplicaRoutingDataSource.readFromPrimary(() -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Tuple> rows = productRepository.streamFields(fields, fetchSize)) {
+                rows.forEach(consumer);
+            }
+        }));
+    }
+}
@@ -0,0 +1,213 @@
+package com.printingpro.service;
+
+import com.printingpro.config.ReplicaRoutingDataSource;
+import com.printingpro.entity.ProductCategory;
+import com.printingpro.event.ProductChangedEvent;
+import com.printingpro.event.ProductsBulkChangedEvent;
+import com.printingpro.event.ProductsImportedEvent;
+import com.printingpro.repository.ProductRepository;
+import com.printingpro.repository.projection.CategoryCountView;
+import com.printingpro.repository.projection.VersionedCategoryCountView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live number of products per category, for admin analytics.
+ * Seeded by one grouped count once the application is ready, adjusted after each product write
+ * commits, and recounted on a schedule to correct any drift. Reads sum a few adders and never
+ * touch the database, unless the counters have not been seeded yet.
+ *
+ * <p>A recount reads the catalog version and the counts in one statement, so it includes exactly
+ * the changes up to that version. Writes committing while it runs are applied again on top of it,
+ * and writes it already includes are skipped.
+ */
+@Component
+@Slf4j
+public class ProductCategoryCounters {
+
+    private final ProductRepository productRepository;
+
+    private final Map<ProductCategory, LongAdder> counts = new EnumMap<>(ProductCategory.class);
+
+    /**
+     * Catalog version the counters were last recounted at, or -1 before the first recount.
+     */
+    private volatile long countedVersion = -1;
+
+    /**
+     * Changes applied while a recount is running, or null when none is.
+     */
+    private List<ProductChangedEvent> appliedDuringRecount;
+
+    public ProductCategoryCounters(ProductRepository productRepository, MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+
+        for (ProductCategory category : ProductCategory.values()) {
+            LongAdder count = new LongAdder();
+            counts.put(category, count);
+            Gauge.builder("catalog.products", count, LongAdder::sum)
+                    .tag("category", category.name())
+                    .description("Products per category, from the live counters").register(meterRegistry);
+        }
+    }
+
+    /**
+     * Products in each category, including categories with none.
+     */
+    public Map<ProductCategory, Long> counts() {
+        if (countedVersion < 0) {
+            return countFromDatabase();
+        }
+        Map<ProductCategory, Long> result = new EnumMap<>(ProductCategory.class);
+        counts.forEach((category, count) -> result.put(category, count.sum()));
+        return result;
+    }
+
+    /**
+     * Products in all categories.
+     */
+    public long total() {
+        if (countedVersion < 0) {
+            return countFromDatabase().values().stream().mapToLong(Long::longValue).sum();
+        }
+        return counts.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Seeds the counters once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        recount();
+    }
+
+    /**
+     * Replaces the counters with a fresh grouped count from the database.
+     */
+    @Scheduled(initialDelayString = "#{@catalogProperties.analytics.reconcileInterval.toMillis()}",
+            fixedDelayString = "#{@catalogProperties.analytics.reconcileInterval.toMillis()}")
+    public void recount() {
+        synchronized (this) {
+            appliedDuringRecount = new ArrayList<>();
+        }
+        Recount recount;
+        try {
+            // On the primary: a replica's version could be older than events already applied
+            recount = ReplicaRoutingDataSource.readFromPrimary(this::countWithVersion);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                appliedDuringRecount = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            Map<ProductCategory, Long> previous = new EnumMap<>(ProductCategory.class);
+            counts.forEach((category, count) -> {
+                previous.put(category, count.sumThenReset());
+                count.add(recount.counts().get(category));
+            });
+            for (ProductChangedEvent event : appliedDuringRecount) {
+                if (event.version() > recount.version()) {
+                    apply(event);
+                }
+            }
+            appliedDuringRecount = null;
+
+            long drift = 0;
+            for (ProductCategory category : ProductCategory.values()) {
+                drift += Math.abs(previous.get(category) - counts.get(category).sum());
+            }
+            if (countedVersion >= 0 && drift != 0) {
+                log.warn("Category counters were off by {} products at catalog version {}", drift, recount.version());
+            }
+            countedVersion = recount.version();
+        }
+        log.debug("Category counters recounted at catalog version {}", recount.version());
+    }
+
+    /**
+     * Adjusts the counters once a product write has committed.
+     */
+    @TransactionalEventListener
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        if (event.version() <= countedVersion) {
+            // Already part of the last recount
+            return;
+        }
+        apply(event);
+        if (appliedDuringRecount != null) {
+            appliedDuringRecount.add(event);
+        }
+    }
+
+    /**
+     * Adjusts the counters once an import chunk has committed.
+     */
+    @TransactionalEventListener
+    public synchronized void onProductsImported(ProductsImportedEvent event) {
+        event.changes().forEach(this::onProductChanged);
+    }
+
+    /**
+     * Adjusts the counters once a bulk operation has committed.
+     */
+    @TransactionalEventListener
+    public synchronized void onProductsBulkChanged(ProductsBulkChangedEvent event) {
+        event.changes().forEach(this::onProductChanged);
+    }
+
+    private void apply(ProductChangedEvent event) {
+        switch (event.type()) {
+            case CREATED -> counts.get(event.product().getCategory()).increment();
+            case UPDATED -> {
+                if (event.previousCategory() != event.product().getCategory()) {
+                    counts.get(event.previousCategory()).decrement();
+                    counts.get(event.product().getCategory()).increment();
+                }
+            }
+            case DELETED -> counts.get(event.previousCategory()).decrement();
+        }
+    }
+
+    private Recount countWithVersion() {
+        List<VersionedCategoryCountView> rows = productRepository.countGroupedByCategoryWithVersion();
+        if (rows.isEmpty()) {
+            // No version row yet, so no change has been recorded: every product predates version 1
+            return new Recount(0, countFromDatabase());
+        }
+        return new Recount(rows.get(0).getVersion(), toCounts(rows));
+    }
+
+    private Map<ProductCategory, Long> countFromDatabase() {
+        return toCounts(productRepository.countGroupedByCategory());
+    }
+
+    private static Map<ProductCategory, Long> toCounts(List<? extends CategoryCountView> rows) {
+        Map<ProductCategory, Long> result = new EnumMap<>(ProductCategory.class);
+        for (ProductCategory category : ProductCategory.values()) {
+            result.put(category, 0L);
+        }
+        for (CategoryCountView row : rows) {
+            if (row.getCategory() != null) {
+                result.put(row.getCategory(), row.getCount());
+            }
+        }
+        return result;
+    }
+
+    private record Recount(long version, Map<ProductCategory, Long> counts) {
+    }
+}
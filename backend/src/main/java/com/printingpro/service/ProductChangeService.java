@@ -0,0 +1,202 @@
+package com.printingpro.service;
+
+import com.printingpro.config.CatalogProperties;
+import com.printingpro.dto.response.ProductChangeResponse;
+import com.printingpro.dto.response.ProductChangesResponse;
+import com.printingpro.dto.response.ProductResponse;
+import com.printingpro.entity.CatalogVersion;
+import com.printingpro.entity.Product;
+import com.printingpro.entity.ProductChange;
+import com.printingpro.event.ProductChangedEvent.ChangeType;
+import com.printingpro.exception.ValidationException;
+import com.printingpro.mapper.ProductMapper;
+import com.printingpro.repository.CatalogVersionRepository;
+import com.printingpro.repository.ProductChangeRepository;
+import com.printingpro.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Service for the catalog change log behind delta sync.
+ * Every product write stamps the product's change row with a new catalog version inside the
+ * writing transaction; deletions leave a tombstone. Clients then ask for the changes after the
+ * last version they saw.
+ */
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class ProductChangeService {
+
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final ProductChangeRepository productChangeRepository;
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final int maxResults;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ProductChangeService(
+            CatalogVersionRepository catalogVersionRepository,
+            ProductChangeRepository productChangeRepository,
+            ProductRepository productRepository,
+            ProductMapper productMapper,
+            CatalogProperties catalogProperties
+    ) {
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.productChangeRepository = productChangeRepository;
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.maxResults = catalogProperties.getChanges().getMaxResults();
+    }
+
+    /**
+     * Records a product write at a new catalog version. Must run inside the writing transaction.
+     *
+     * @return the version assigned to the change
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long record(ChangeType type, UUID productId) {
+        long version = allocate(1);
+        ProductChange change = productChangeRepository.findById(productId)
+                .orElseGet(() -> ProductChange.builder().productId(productId).build());
+        change.setVersion(version);
+        change.setType(type);
+        change.setChangedAt(LocalDateTime.now());
+        productChangeRepository.save(change);
+        return version;
+    }
+
+    /**
+     * Records the creation of new products at consecutive catalog versions, in list order.
+     * The change rows are inserted without first looking for existing ones, so they batch.
+     * Must run inside the writing transaction.
+     *
+     * @return the version assigned to the first product
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long recordCreated(List<UUID> productIds) {
+        long first = allocate(productIds.size());
+        insert(ChangeType.CREATED, productIds, first);
+        return first;
+    }
+
+    /**
+     * Records the same kind of write to existing products at consecutive catalog versions, in list
+     * order. Their previous change rows are deleted by one statement and the new ones inserted in
+     * batches. Must run inside the writing transaction.
+     *
+     * @return the version assigned to the first product
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long recordAll(ChangeType type, List<UUID> productIds) {
+        long first = allocate(productIds.size());
+        productChangeRepository.deleteByProductIds(productIds);
+        insert(type, productIds, first);
+        return first;
+    }
+
+    private void insert(ChangeType type, List<UUID> productIds, long first) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < productIds.size(); i++) {
+            entityManager.persist(ProductChange.builder()
+                    .productId(productIds.get(i))
+                    .version(first + i)
+                    .type(type)
+                    .changedAt(now)
+                    .build());
+        }
+    }
+
+    /**
+     * Reserves {@code count} consecutive versions and returns the first. The counter row stays
+     * locked until the calling transaction ends, so concurrent writers commit in version order.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long allocate(int count) {
+        CatalogVersion counter = catalogVersionRepository.findForUpdate(CatalogVersion.ROW_ID)
+                .orElseGet(() -> catalogVersionRepository.save(new CatalogVersion(CatalogVersion.ROW_ID, 0L)));
+        long first = counter.getVersion() + 1;
+        counter.setVersion(counter.getVersion() + count);
+        return first;
+    }
+
+    /**
+     * Last committed catalog version; every change up to it is visible.
+     */
+    public long currentVersion() {
+        return catalogVersionRepository.findById(CatalogVersion.ROW_ID)
+                .map(CatalogVersion::getVersion)
+                .orElse(0L);
+    }
+
+    /**
+     * Changes after {@code since}, oldest first, with the current state of created and updated products.
+     * A product changed several times since then appears once, at its latest version.
+     *
+     * @param limit maximum number of changes, or null for the configured maximum
+     */
+    public ProductChangesResponse getChanges(long since, Integer limit) {
+        int size = limit != null ? limit : maxResults;
+        if (size < 1 || size > maxResults) {
+            throw new ValidationException("Limit must be between 1 and " + maxResults);
+        }
+        if (since < 0) {
+            throw new ValidationException("Version must be zero or positive");
+        }
+
+        // Read the version first: changes committing after this point are left for the next request
+        long current = currentVersion();
+        List<ProductChange> changes = productChangeRepository.findChanges(since, current, PageRequest.of(0, size + 1));
+        boolean hasMore = changes.size() > size;
+        if (hasMore) {
+            changes = changes.subList(0, size);
+        }
+
+        List<UUID> upserted = changes.stream()
+                .filter(change -> change.getType() != ChangeType.DELETED)
+                .map(ProductChange::getProductId)
+                .toList();
+        Map<UUID, ProductResponse> products = new HashMap<>();
+        if (!upserted.isEmpty()) {
+            for (Product product : productRepository.findWithImagesByIdIn(upserted)) {
+                products.put(product.getId(), productMapper.toResponse(product));
+            }
+        }
+
+        List<ProductChangeResponse> entries = new ArrayList<>(changes.size());
+        for (ProductChange change : changes) {
+            ProductResponse product = products.get(change.getProductId());
+            if (change.getType() != ChangeType.DELETED && product == null) {
+                // Deleted after the version was read; its tombstone arrives with the next request
+                continue;
+            }
+            entries.add(ProductChangeResponse.builder()
+                    .version(change.getVersion())
+                    .type(change.getType())
+                    .productId(change.getProductId())
+                    .product(product)
+                    .build());
+        }
+
+        long version = hasMore ? changes.get(changes.size() - 1).getVersion() : Math.max(since, current);
+        return ProductChangesResponse.builder()
+                .since(since)
+                .version(version)
+                .hasMore(hasMore)
+                .changes(entries)
+                .build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.printingpro.service;
+
+import com.printingpro.exception.ValidationException;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Columns of a catalog CSV, in export order. Header names are matched ignoring case and
+ * punctuation, so {@code pricePerSqft}, {@code price_per_sqft} and {@code Price Per Sqft} are the
+ * same column. The id and timestamps are exported but ignored on import, so an export can be
+ * imported again as new products.
+ */
+enum ProductCsvColumn {
+    ID("id", false),
+    NAME("name", true),
+    DESCRIPTION("description", true),
+    CATEGORY("category", true),
+    PRICE_PER_SQFT("pricePerSqft", true),
+    NEGOTIABLE("negotiable", false),
+    IMAGES("images", true),
+    CREATED_AT("createdAt", false),
+    UPDATED_AT("updatedAt", false);
+
+    /**
+     * Separates the image URLs of a row.
+     */
+    static final String IMAGE_SEPARATOR = "|";
+
+    private static final Pattern NOT_ALPHANUMERIC = Pattern.compile("[^a-z0-9]");
+
+    private final String header;
+    private final boolean required;
+
+    ProductCsvColumn(String header, boolean required) {
+        this.header = header;
+        this.required = required;
+    }
+
+    String getHeader() {
+        return header;
+    }
+
+    /**
+     * This column's field of a record, or null when the header does not have the column.
+     */
+    String of(List<String> fields, Map<ProductCsvColumn, Integer> columns) {
+        Integer index = columns.get(this);
+        return index != null ? fields.get(index) : null;
+    }
+
+    /**
+     * Position of each column named in {@code header}; unknown, duplicate and missing required
+     * columns are rejected.
+     */
+    static Map<ProductCsvColumn, Integer> locate(List<String> header) {
+        Map<ProductCsvColumn, Integer> columns = new EnumMap<>(ProductCsvColumn.class);
+        for (int i = 0; i < header.size(); i++) {
+            String name = normalize(header.get(i));
+            ProductCsvColumn column = null;
+            for (ProductCsvColumn candidate : values()) {
+                if (normalize(candidate.header).equals(name)) {
+                    column = candidate;
+                }
+            }
+            if (column == null) {
+                throw new ValidationException("Unknown CSV column: " + header.get(i).trim());
+            }
+            if (columns.put(column, i) != null) {
+                throw new ValidationException("Duplicate CSV column: " + header.get(i).trim());
+            }
+        }
+        for (ProductCsvColumn column : values()) {
+            if (column.required && !columns.containsKey(column)) {
+                throw new ValidationException("Missing CSV column: " + column.header);
+            }
+        }
+        return columns;
+    }
+
+    private static String normalize(String name) {
+        return NOT_ALPHANUMERIC.matcher(name.toLowerCase(Locale.ROOT)).replaceAll("");
+    }
+}
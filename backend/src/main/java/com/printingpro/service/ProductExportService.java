@@ -0,0 +1,154 @@
+package com.printingpro.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.printingpro.dto.request.ProductFileFormat;
+import com.printingpro.dto.response.ProductImageResponse;
+import com.printingpro.dto.response.ProductResponse;
+import com.printingpro.entity.Product;
+import com.printingpro.mapper.ProductMapper;
+import com.printingpro.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service for exporting the whole catalog as NDJSON or CSV.
+ *
+ * <p>Products are streamed from a database cursor and written as they arrive, so memory use does
+ * not grow with the catalog. They are taken a batch at a time so that each batch's images are read
+ * with one query, and every product is detached once written.
+ */
+@Service
+@Slf4j
+public class ProductExportService {
+
+    /**
+     * Products held before their images are read; matches {@code @BatchSize} on {@code Product.images},
+     * so each batch costs one image query.
+     */
+    private static final int IMAGE_BATCH_SIZE = 100;
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final ObjectWriter responseWriter;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Timer exportTimer;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ProductExportService(
+            ProductRepository productRepository,
+            ProductMapper productMapper,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.responseWriter = objectMapper.writerFor(ProductResponse.class);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.exportTimer = Timer.builder("catalog.export")
+                .description("Time taken to export the whole catalog").register(meterRegistry);
+    }
+
+    /**
+     * Writes every product to {@code out} in listing order. The stream is flushed but not closed.
+     */
+    public void export(ProductFileFormat format, OutputStream out) {
+        long started = System.nanoTime();
+        long exported = readOnlyTransaction.execute(status -> {
+            // Lazy image loads follow the session's cache mode, not the product query's
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            try (Stream<Product> products = productRepository.streamAll()) {
+                long count = write(format, products.iterator(), writer);
+                writer.flush();
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Catalog export was interrupted", e);
+            }
+        });
+
+        long elapsed = System.nanoTime() - started;
+        exportTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Exported {} products as {} in {} ms", exported, format, elapsed / 1_000_000);
+    }
+
+    private long write(ProductFileFormat format, Iterator<Product> products, Writer writer) throws IOException {
+        CsvWriter csv = null;
+        if (format == ProductFileFormat.CSV) {
+            csv = new CsvWriter(writer);
+            List<String> header = new ArrayList<>();
+            for (ProductCsvColumn column : ProductCsvColumn.values()) {
+                header.add(column.getHeader());
+            }
+            csv.write(header);
+        }
+
+        long count = 0;
+        List<Product> batch = new ArrayList<>(IMAGE_BATCH_SIZE);
+        while (products.hasNext()) {
+            batch.add(products.next());
+            if (batch.size() == IMAGE_BATCH_SIZE || !products.hasNext()) {
+                for (Product product : batch) {
+                    ProductResponse response = productMapper.toResponse(product);
+                    if (csv != null) {
+                        csv.write(toRecord(response));
+                    } else {
+                        writer.write(responseWriter.writeValueAsString(response));
+                        writer.write('\n');
+                    }
+                    entityManager.detach(product);
+                }
+                count += batch.size();
+                batch.clear();
+            }
+        }
+        return count;
+    }
+
+    private static List<String> toRecord(ProductResponse product) {
+        List<String> record = new ArrayList<>();
+        for (ProductCsvColumn column : ProductCsvColumn.values()) {
+            record.add(switch (column) {
+                case ID -> product.getId().toString();
+                case NAME -> product.getName();
+                case DESCRIPTION -> product.getDescription();
+                case CATEGORY -> product.getCategory().name();
+                case PRICE_PER_SQFT -> product.getPricePerSqft().toPlainString();
+                case NEGOTIABLE -> String.valueOf(product.getNegotiable());
+                case IMAGES -> product.getImages().stream()
+                        .map(ProductImageResponse::getUrl)
+                        .collect(Collectors.joining(ProductCsvColumn.IMAGE_SEPARATOR));
+                case CREATED_AT -> Objects.toString(product.getCreatedAt(), null);
+                case UPDATED_AT -> Objects.toString(product.getUpdatedAt(), null);
+            });
+        }
+        return record;
+    }
+}
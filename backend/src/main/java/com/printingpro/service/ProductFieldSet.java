@@ -0,0 +1,112 @@
+package com.printingpro.service;
+
+import com.printingpro.dto.request.ProductField;
+import com.printingpro.exception.ValidationException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Parsed {@code fields=} parameter: the product fields a client asked for.
+ * The id is always included. Parsed sets are interned by their raw text, so a repeated
+ * parameter costs one map lookup.
+ */
+public final class ProductFieldSet {
+
+    /**
+     * Distinct raw parameter values remembered; beyond this, values are parsed on every request.
+     */
+    private static final int MAX_CACHED = 256;
+
+    private static final ConcurrentMap<String, ProductFieldSet> PARSED = new ConcurrentHashMap<>();
+
+    private static final String ALLOWED = Arrays.stream(ProductField.values())
+            .map(ProductField::getFieldName)
+            .collect(Collectors.joining(", "));
+
+    private final Set<ProductField> fields;
+    private final List<ProductField> ordered;
+    private final String canonical;
+
+    private ProductFieldSet(EnumSet<ProductField> fields) {
+        this.fields = Collections.unmodifiableSet(fields);
+        this.ordered = List.copyOf(fields);
+        this.canonical = ordered.stream().map(ProductField::getFieldName).collect(Collectors.joining(","));
+    }
+
+    /**
+     * Parses a comma-separated list of field names, e.g. {@code "name,pricePerSqft,images"}.
+     *
+     * @throws ValidationException if the list is empty or names an unknown field
+     */
+    public static ProductFieldSet parse(String spec) {
+        if (spec == null) {
+            throw new ValidationException("Fields must not be empty");
+        }
+        ProductFieldSet cached = PARSED.get(spec);
+        if (cached != null) {
+            return cached;
+        }
+
+        EnumSet<ProductField> fields = EnumSet.of(ProductField.ID);
+        boolean any = false;
+        for (String name : spec.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            fields.add(lookup(trimmed));
+            any = true;
+        }
+        if (!any) {
+            throw new ValidationException("Fields must not be empty");
+        }
+
+        ProductFieldSet parsed = new ProductFieldSet(fields);
+        if (PARSED.size() < MAX_CACHED) {
+            PARSED.putIfAbsent(spec, parsed);
+        }
+        return parsed;
+    }
+
+    private static ProductField lookup(String name) {
+        for (ProductField field : ProductField.values()) {
+            if (field.getFieldName().equals(name)) {
+                return field;
+            }
+        }
+        throw new ValidationException("Unknown field '" + name + "'; allowed fields are " + ALLOWED);
+    }
+
+    public boolean contains(ProductField field) {
+        return fields.contains(field);
+    }
+
+    /**
+     * Requested fields, read-only.
+     */
+    public Set<ProductField> getFields() {
+        return fields;
+    }
+
+    /**
+     * Requested fields in declaration order, which is also the JSON property order.
+     */
+    public List<ProductField> getOrdered() {
+        return ordered;
+    }
+
+    /**
+     * Canonical form: field names in declaration order, so equivalent parameters share cache entries.
+     */
+    @Override
+    public String toString() {
+        return canonical;
+    }
+}
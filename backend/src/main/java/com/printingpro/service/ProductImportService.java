@@ -0,0 +1,342 @@
+package com.printingpro.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.printingpro.config.CatalogProperties;
+import com.printingpro.dto.request.ProductFileFormat;
+import com.printingpro.dto.request.ProductImageRequest;
+import com.printingpro.dto.request.ProductRequest;
+import com.printingpro.dto.response.ProductImportResponse;
+import com.printingpro.dto.response.ProductImportResponse.RowError;
+import com.printingpro.dto.response.ProductResponse;
+import com.printingpro.entity.Product;
+import com.printingpro.entity.ProductCategory;
+import com.printingpro.event.ProductsImportedEvent;
+import com.printingpro.exception.ValidationException;
+import com.printingpro.mapper.ProductMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Service for importing whole product lists, such as supplier price lists.
+ *
+ * <p>The body is read one row at a time and each row is validated with the {@link ProductRequest}
+ * constraints. Valid rows are written in chunks, one transaction each: the inserts go out as JDBC
+ * batches, the chunk's catalog versions are allocated together, and a single
+ * {@link ProductsImportedEvent} lets the in-memory catalog state apply the chunk in one step.
+ * A failed row is reported and skipped; it never stops the import.
+ */
+@Service
+@Slf4j
+public class ProductImportService {
+
+    private static final String IMAGES_REQUIRED = "At least one product image is required";
+
+    private final ProductMapper productMapper;
+    private final ProductChangeService productChangeService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final ObjectReader requestReader;
+    private final TransactionTemplate transaction;
+    private final CatalogProperties.Imports settings;
+
+    private final Counter importedRows;
+    private final Counter failedRows;
+    private final Timer chunkTimer;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ProductImportService(
+            ProductMapper productMapper,
+            ProductChangeService productChangeService,
+            ApplicationEventPublisher eventPublisher,
+            Validator validator,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            CatalogProperties catalogProperties,
+            MeterRegistry meterRegistry
+    ) {
+        this.productMapper = productMapper;
+        this.productChangeService = productChangeService;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.requestReader = objectMapper.readerFor(ProductRequest.class);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.settings = catalogProperties.getImports();
+
+        this.importedRows = Counter.builder("catalog.import.rows").tag("result", "imported")
+                .description("Rows created by product imports").register(meterRegistry);
+        this.failedRows = Counter.builder("catalog.import.rows").tag("result", "failed")
+                .description("Rows rejected by product imports").register(meterRegistry);
+        this.chunkTimer = Timer.builder("catalog.import.chunk")
+                .description("Time taken to write one chunk of an import").register(meterRegistry);
+    }
+
+    /**
+     * Imports every valid row of {@code body}. Chunks are committed as they fill up, so the
+     * products imported before a failure to read the body stay imported.
+     */
+    public ProductImportResponse importProducts(Reader body, ProductFileFormat format) {
+        Run run = new Run();
+        try (BufferedReader reader = new BufferedReader(body)) {
+            switch (format) {
+                case NDJSON -> readNdjson(reader, run);
+                case CSV -> readCsv(reader, run);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Import stopped after " + run.received + " rows", e);
+        }
+        run.writePending();
+
+        log.info("Imported {} of {} products ({} failed)", run.imported, run.received, run.failed);
+        return ProductImportResponse.builder()
+                .received(run.received)
+                .imported(run.imported)
+                .failed(run.failed)
+                .errors(run.errors)
+                .build();
+    }
+
+    private void readNdjson(BufferedReader reader, Run run) throws IOException {
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            ProductRequest request;
+            try {
+                request = requestReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                run.fail(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            run.accept(lineNumber, request);
+        }
+    }
+
+    private void readCsv(BufferedReader reader, Run run) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        CsvReader.Record header = csv.next();
+        if (header == null) {
+            return;
+        }
+        if (header.error() != null) {
+            throw new ValidationException("CSV header is malformed: " + header.error());
+        }
+        Map<ProductCsvColumn, Integer> columns = ProductCsvColumn.locate(header.fields());
+
+        CsvReader.Record record;
+        while ((record = csv.next()) != null) {
+            if (record.error() != null) {
+                run.fail(record.line(), record.error());
+            } else if (record.fields().size() != header.fields().size()) {
+                run.fail(record.line(), "Expected " + header.fields().size() + " fields but found "
+                        + record.fields().size());
+            } else {
+                try {
+                    run.accept(record.line(), toRequest(record.fields(), columns));
+                } catch (IllegalArgumentException e) {
+                    run.fail(record.line(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Maps a CSV record onto a request; malformed values are reported as IllegalArgumentException.
+     */
+    private static ProductRequest toRequest(List<String> fields, Map<ProductCsvColumn, Integer> columns) {
+        ProductRequest request = new ProductRequest();
+        request.setName(blankToNull(ProductCsvColumn.NAME.of(fields, columns)));
+        request.setDescription(blankToNull(ProductCsvColumn.DESCRIPTION.of(fields, columns)));
+
+        String category = blankToNull(ProductCsvColumn.CATEGORY.of(fields, columns));
+        if (category != null) {
+            try {
+                request.setCategory(ProductCategory.valueOf(category.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown category: " + category.trim());
+            }
+        }
+
+        String price = blankToNull(ProductCsvColumn.PRICE_PER_SQFT.of(fields, columns));
+        if (price != null) {
+            try {
+                request.setPricePerSqft(new BigDecimal(price.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Price per square foot must be a number: " + price.trim());
+            }
+        }
+
+        String negotiable = blankToNull(ProductCsvColumn.NEGOTIABLE.of(fields, columns));
+        if (negotiable != null) {
+            request.setNegotiable(switch (negotiable.trim().toLowerCase(Locale.ROOT)) {
+                case "true", "yes", "1" -> true;
+                case "false", "no", "0" -> false;
+                default -> throw new IllegalArgumentException("Negotiable must be true or false: " + negotiable.trim());
+            });
+        }
+
+        String images = ProductCsvColumn.IMAGES.of(fields, columns);
+        List<ProductImageRequest> imageRequests = new ArrayList<>();
+        if (images != null) {
+            for (String url : images.split(Pattern.quote(ProductCsvColumn.IMAGE_SEPARATOR))) {
+                if (!url.isBlank()) {
+                    imageRequests.add(ProductImageRequest.builder()
+                            .url(url.trim())
+                            .altText(request.getName())
+                            .ordering(imageRequests.size())
+                            .build());
+                }
+            }
+        }
+        request.setImages(imageRequests);
+        return request;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    /**
+     * Validation errors of a row, or null when it can be imported.
+     */
+    private String validate(ProductRequest request) {
+        List<String> messages = new ArrayList<>();
+        for (ConstraintViolation<ProductRequest> violation : validator.validate(request)) {
+            messages.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        if (request.getImages() == null || request.getImages().isEmpty()) {
+            messages.add("images: " + IMAGES_REQUIRED);
+        }
+        if (messages.isEmpty()) {
+            return null;
+        }
+        messages.sort(null);
+        return String.join("; ", messages);
+    }
+
+    /**
+     * Inserts one chunk and records it in the change log. Runs inside the chunk's transaction.
+     */
+    private void insert(List<PendingRow> rows) {
+        // New rows would only crowd the second-level cache; they are cached when first read. With
+        // open-in-view the session outlives the chunk, so its cache mode is restored afterwards.
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode cacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+        try {
+            List<Product> products = new ArrayList<>(rows.size());
+            for (PendingRow row : rows) {
+                Product product = productMapper.toEntity(row.request());
+                entityManager.persist(product);
+                products.add(product);
+            }
+            // Ids are generated in memory, so the inserts are sent in batches here rather than one by one
+            entityManager.flush();
+
+            List<ProductResponse> responses = products.stream().map(productMapper::toResponse).toList();
+            long firstVersion = productChangeService.recordCreated(products.stream().map(Product::getId).toList());
+            eventPublisher.publishEvent(new ProductsImportedEvent(responses, firstVersion));
+
+            // Detaching the chunk keeps later flushes from dirty-checking every product imported so far
+            entityManager.flush();
+            entityManager.clear();
+        } finally {
+            session.setCacheMode(cacheMode);
+        }
+    }
+
+    private record PendingRow(long row, ProductRequest request) {
+    }
+
+    /**
+     * Progress of one import: counts, reported errors, and the rows waiting for the next chunk.
+     */
+    private final class Run {
+
+        private long received;
+        private long imported;
+        private long failed;
+        private final List<RowError> errors = new ArrayList<>();
+        private final List<PendingRow> pending = new ArrayList<>();
+
+        void accept(long row, ProductRequest request) {
+            received++;
+            String error = validate(request);
+            if (error != null) {
+                reject(row, error);
+                return;
+            }
+            pending.add(new PendingRow(row, request));
+            if (pending.size() >= settings.getChunkSize()) {
+                writePending();
+            }
+        }
+
+        void fail(long row, String message) {
+            received++;
+            reject(row, message);
+        }
+
+        private void reject(long row, String message) {
+            failed++;
+            failedRows.increment();
+            if (errors.size() < settings.getMaxErrors()) {
+                errors.add(new RowError(row, message));
+            }
+        }
+
+        void writePending() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<PendingRow> chunk = List.copyOf(pending);
+            pending.clear();
+            long started = System.nanoTime();
+            try {
+                transaction.executeWithoutResult(status -> insert(chunk));
+                imported += chunk.size();
+                importedRows.increment(chunk.size());
+            } catch (DataAccessException | TransactionException | PersistenceException e) {
+                log.warn("Import chunk of rows {} to {} failed", chunk.get(0).row(), chunk.get(chunk.size() - 1).row(), e);
+                for (PendingRow row : chunk) {
+                    reject(row.row(), "Not saved: the chunk containing this row could not be written");
+                }
+            } finally {
+                chunkTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.printingpro.service;
+
+import com.printingpro.config.CatalogProperties;
+import com.printingpro.config.ReplicaRoutingDataSource;
+import com.printingpro.dto.request.ProductField;
+import com.printingpro.entity.ProductCategory;
+import com.printingpro.event.ProductChangedEvent;
+import com.printingpro.event.ProductsBulkChangedEvent;
+import com.printingpro.event.ProductsImportedEvent;
+import com.printingpro.search.InvertedIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintains the {@link InvertedIndex} behind {@code SearchMode.MEMORY}.
+ * The index is built from the database once the application is ready, patched after each product
+ * write commits, and rebuilt when deleted or replaced documents start to dominate it.
+ * Size and memory are exported as the {@code catalog.search.index.*} gauges.
+ */
+@Component
+@Slf4j
+public class ProductSearchIndex {
+
+    private static final Set<ProductField> INDEXED_FIELDS = EnumSet.of(
+            ProductField.NAME, ProductField.DESCRIPTION, ProductField.CATEGORY, ProductField.PRICE_PER_SQFT);
+
+    private final ProductCatalogLoader catalogLoader;
+    private final ProductChangeService productChangeService;
+    private final SearchFacets searchFacets;
+    private final boolean enabled;
+    private final Timer rebuildTimer;
+
+    private volatile InvertedIndex index;
+
+    private final AppliedVersions appliedVersions = new AppliedVersions();
+
+    public ProductSearchIndex(
+            ProductCatalogLoader catalogLoader,
+            ProductChangeService productChangeService,
+            SearchFacets searchFacets,
+            MeterRegistry meterRegistry,
+            CatalogProperties catalogProperties
+    ) {
+        this.catalogLoader = catalogLoader;
+        this.productChangeService = productChangeService;
+        this.searchFacets = searchFacets;
+        this.enabled = catalogProperties.getSearch().isMemoryIndexEnabled();
+
+        this.rebuildTimer = Timer.builder("catalog.search.index.rebuild")
+                .description("Time taken to build the in-memory search index").register(meterRegistry);
+        Gauge.builder("catalog.search.index.documents", this, self -> self.index != null ? self.index.documentCount() : 0)
+                .description("Products held in the in-memory search index").register(meterRegistry);
+        Gauge.builder("catalog.search.index.terms", this, self -> self.index != null ? self.index.termCount() : 0)
+                .description("Distinct terms in the in-memory search index").register(meterRegistry);
+        Gauge.builder("catalog.search.index.memory", this, self -> self.index != null ? self.index.estimatedBytes() : 0)
+                .baseUnit("bytes")
+                .description("Approximate heap used by the in-memory search index").register(meterRegistry);
+    }
+
+    /**
+     * Current index, or null when the index is disabled or not built yet.
+     */
+    public InvertedIndex current() {
+        return index;
+    }
+
+    /**
+     * Builds the index once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Indexes every product from the database into a fresh index and swaps it in.
+     * Only the indexed columns are read; images are not loaded.
+     */
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        // Read before the rows, so every change up to it is in the rebuilt index
+        long version = ReplicaRoutingDataSource.readFromPrimary(productChangeService::currentVersion);
+        InvertedIndex rebuilt = new InvertedIndex();
+        catalogLoader.forEachRow(INDEXED_FIELDS, row -> rebuilt.upsert(
+                row.get(ProductField.ID.getFieldName(), UUID.class),
+                row.get(ProductField.NAME.getFieldName(), String.class),
+                row.get(ProductField.DESCRIPTION.getFieldName(), String.class),
+                searchFacets.facetKey(
+                        row.get(ProductField.CATEGORY.getFieldName(), ProductCategory.class),
+                        row.get(ProductField.PRICE_PER_SQFT.getFieldName(), BigDecimal.class))));
+        index = rebuilt;
+        appliedVersions.reset(version);
+
+        long elapsed = System.nanoTime() - started;
+        rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Search index built with {} products and {} terms (~{} KB) in {} ms",
+                rebuilt.documentCount(), rebuilt.termCount(), rebuilt.estimatedBytes() / 1024, elapsed / 1_000_000);
+    }
+
+    /**
+     * Applies a committed product write to the index.
+     */
+    @TransactionalEventListener
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        InvertedIndex current = index;
+        if (current == null) {
+            return;
+        }
+
+        apply(current, event);
+        if (current.needsCompaction()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Applies a committed import chunk to the index.
+     */
+    @TransactionalEventListener
+    public synchronized void onProductsImported(ProductsImportedEvent event) {
+        InvertedIndex current = index;
+        if (current == null) {
+            return;
+        }
+
+        event.changes().forEach(change -> apply(current, change));
+        if (current.needsCompaction()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Applies a committed bulk operation to the index, compacting at most once.
+     */
+    @TransactionalEventListener
+    public synchronized void onProductsBulkChanged(ProductsBulkChangedEvent event) {
+        InvertedIndex current = index;
+        if (current == null) {
+            return;
+        }
+
+        event.changes().forEach(change -> apply(current, change));
+        if (current.needsCompaction()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Applies one change unless a newer change to the same product has been applied already.
+     */
+    private void apply(InvertedIndex current, ProductChangedEvent event) {
+        if (!appliedVersions.advance(event.productId(), event.version())) {
+            return;
+        }
+        switch (event.type()) {
+            case CREATED, UPDATED -> current.upsert(
+                    event.productId(), event.product().getName(), event.product().getDescription(),
+                    searchFacets.facetKey(event.product().getCategory(), event.product().getPricePerSqft()));
+            case DELETED -> current.remove(event.productId());
+        }
+    }
+}
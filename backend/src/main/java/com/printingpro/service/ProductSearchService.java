@@ -0,0 +1,204 @@
+package com.printingpro.service;
+
+import com.printingpro.config.CatalogProperties;
+import com.printingpro.dto.request.SearchMode;
+import com.printingpro.dto.response.ProductResponse;
+import com.printingpro.dto.response.ProductSearchResponse;
+import com.printingpro.entity.Product;
+import com.printingpro.exception.ValidationException;
+import com.printingpro.mapper.ProductMapper;
+import com.printingpro.repository.ProductRepository;
+import com.printingpro.search.InvertedIndex;
+import com.printingpro.search.Tokenizer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for ranked product search.
+ * The matching strategy is selected per request so the modes can be compared on the same data;
+ * latency is recorded per mode as the {@code catalog.search} timer.
+ * MEMORY and FUZZY searches are answered from the index and snapshot without a transaction; only
+ * the database modes borrow a connection.
+ */
+@Service
+@Slf4j
+public class ProductSearchService {
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final ProductSearchIndex searchIndex;
+    private final ProductCatalogCache catalogCache;
+    private final SearchFacets searchFacets;
+    private final CatalogProperties catalogProperties;
+    private final MeterRegistry meterRegistry;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ProductSearchService(
+            ProductRepository productRepository,
+            ProductMapper productMapper,
+            ProductSearchIndex searchIndex,
+            ProductCatalogCache catalogCache,
+            SearchFacets searchFacets,
+            CatalogProperties catalogProperties,
+            MeterRegistry meterRegistry,
+            EntityManagerFactory entityManagerFactory,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.searchIndex = searchIndex;
+        this.catalogCache = catalogCache;
+        this.searchFacets = searchFacets;
+        this.catalogProperties = catalogProperties;
+        this.meterRegistry = meterRegistry;
+        this.entityManagerFactory = entityManagerFactory;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Search products by name and description.
+     * MEMORY and FUZZY fall back to LIKE while the in-memory index is not built, and FULL_TEXT and
+     * TRIGRAM fall back to LIKE on databases other than PostgreSQL; the response reports the mode
+     * that actually served the request.
+     *
+     * @param mode   matching strategy, or null for the configured default
+     * @param limit  maximum number of results, or null for the configured maximum
+     * @param facets also count every match per category and price bucket
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ProductSearchResponse searchProducts(String query, SearchMode mode, Integer limit, boolean facets) {
+        if (query == null || query.isBlank()) {
+            throw new ValidationException("Search query is required");
+        }
+
+        String term = query.trim();
+        SearchMode searchMode = mode != null ? mode : catalogProperties.getSearch().getDefaultMode();
+        int maxResults = catalogProperties.getSearch().getMaxResults();
+        int size = limit != null ? limit : maxResults;
+        if (size < 1 || size > maxResults) {
+            throw new ValidationException("Limit must be between 1 and " + maxResults);
+        }
+
+        InvertedIndex index = searchIndex.current();
+        if (index == null && (searchMode == SearchMode.MEMORY || searchMode == SearchMode.FUZZY)) {
+            log.debug("Search index not built, falling back to LIKE");
+            searchMode = SearchMode.LIKE;
+        }
+        if ((searchMode == SearchMode.FULL_TEXT || searchMode == SearchMode.TRIGRAM) && !isPostgres()) {
+            log.debug("{} search needs PostgreSQL, falling back to LIKE", searchMode);
+            searchMode = SearchMode.LIKE;
+        }
+
+        log.debug("Searching products for '{}' using {}", term, searchMode);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        ProductSearchResponse.ProductSearchResponseBuilder response = ProductSearchResponse.builder()
+                .query(term)
+                .mode(searchMode);
+
+        if (searchMode == SearchMode.MEMORY || searchMode == SearchMode.FUZZY) {
+            String searched = term;
+            if (searchMode == SearchMode.FUZZY) {
+                String corrected = index.correct(term);
+                if (!corrected.equals(String.join(" ", Tokenizer.tokenize(term)))) {
+                    response.correctedQuery(corrected);
+                    searched = corrected;
+                }
+            }
+            // Facets are counted during the same pass over the posting lists
+            int[] counters = facets ? searchFacets.newCounters() : null;
+            List<InvertedIndex.Hit> hits = index.search(searched, size, counters).hits();
+            response.items(resolveHits(hits));
+            if (facets) {
+                response.facets(searchFacets.fromCounters(counters));
+            }
+        } else {
+            searchDatabase(response, searchMode, term, size, facets);
+        }
+        sample.stop(meterRegistry.timer("catalog.search", "mode", searchMode.name()));
+
+        return response.build();
+    }
+
+    /**
+     * Runs a LIKE, FULL_TEXT or TRIGRAM search, with its facets, in one read-only transaction.
+     */
+    private void searchDatabase(ProductSearchResponse.ProductSearchResponseBuilder response, SearchMode searchMode,
+                                String term, int size, boolean facets) {
+        String pattern = escapeLike(term);
+        readOnlyTransaction.executeWithoutResult(status -> {
+            List<Product> products = switch (searchMode) {
+                case FULL_TEXT -> productRepository.searchFullText(term, size);
+                case TRIGRAM -> productRepository.searchTrigram(term, pattern, size);
+                default -> productRepository.searchProducts(pattern, PageRequest.of(0, size)).getContent();
+            };
+            response.items(productMapper.toResponseList(products));
+            if (facets) {
+                response.facets(searchFacets.fromRows(
+                        productRepository.countFacets(searchMode, term, pattern, searchFacets.getBoundaries())));
+            }
+        });
+    }
+
+    /**
+     * Resolves ranked hits from the catalog snapshot when it is loaded, otherwise with one query.
+     */
+    private List<ProductResponse> resolveHits(List<InvertedIndex.Hit> hits) {
+        if (hits.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        CatalogSnapshot snapshot = catalogCache.current();
+        if (snapshot != null) {
+            List<ProductResponse> items = new ArrayList<>(hits.size());
+            for (InvertedIndex.Hit hit : hits) {
+                ProductResponse product = snapshot.findById(hit.id());
+                if (product != null) {
+                    items.add(product);
+                }
+            }
+            return items;
+        }
+
+        List<UUID> ids = hits.stream().map(InvertedIndex.Hit::id).toList();
+        return readOnlyTransaction.execute(status -> {
+            Map<UUID, Product> byId = productRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+            return productMapper.toResponseList(ids.stream().map(byId::get).filter(Objects::nonNull).toList());
+        });
+    }
+
+    /**
+     * FULL_TEXT and TRIGRAM rely on tsvector and pg_trgm, which only PostgreSQL provides.
+     */
+    private boolean isPostgres() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    /**
+     * Escapes LIKE wildcards so user input is matched literally.
+     */
+    static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
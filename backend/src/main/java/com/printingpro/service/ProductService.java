@@ -1,25 +1,48 @@
 package com.printingpro.service;
 
+import com.printingpro.dto.request.ProductField;
+import com.printingpro.dto.request.ProductFilterRequest;
+import com.printingpro.dto.request.ProductPatchRequest;
 import com.printingpro.dto.request.ProductRequest;
+import com.printingpro.dto.response.CursorPageResponse;
+import com.printingpro.dto.response.ProductBatchResponse;
+import com.printingpro.dto.response.ProductImageResponse;
 import com.printingpro.dto.response.ProductResponse;
+import com.printingpro.dto.response.ProductSummaryResponse;
 import com.printingpro.entity.Product;
 import com.printingpro.entity.ProductCategory;
+import com.printingpro.entity.ProductImage;
+import com.printingpro.event.ProductChangedEvent;
+import com.printingpro.event.ProductChangedEvent.ChangeType;
+import com.printingpro.exception.ConflictException;
 import com.printingpro.exception.ResourceNotFoundException;
 import com.printingpro.exception.ValidationException;
 import com.printingpro.mapper.ProductMapper;
 import com.printingpro.repository.ProductRepository;
+import com.printingpro.repository.projection.ProductSummaryView;
+import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiFunction;
 
 /**
  * Service for managing products.
@@ -33,29 +56,248 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final ProductCatalogCache catalogCache;
+    private final ProductChangeService productChangeService;
+    private final ProductCategoryCounters categoryCounters;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * Get all products with optional filters and pagination.
+     * Get all products with optional filters and keyset pagination.
+     * Served from the catalog snapshot when loaded; SUPPORTS keeps a hit from touching the pool.
+     * A miss reads tuples rather than entities, so nothing is tracked or snapshotted by Hibernate.
      */
-    public List<ProductResponse> getAllProducts() {
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public CursorPageResponse<ProductResponse> getAllProducts(ProductFilterRequest filter) {
+        log.debug("Fetching products with filter: {}", filter);
 
+        validatePriceRange(filter);
+        ProductCursor cursor = ProductCursor.decode(filter.getCursor());
+        int size = pageSize(filter);
+        String search = searchTerm(filter);
 
-        List<Product> products = productRepository.findAll();
-        return products.stream().map(productMapper::toResponse).toList();
+        CatalogSnapshot snapshot = catalogCache.current();
+        if (snapshot != null) {
+            return snapshot.page(
+                    filter.getCategory(),
+                    search != null ? search.toLowerCase(Locale.ROOT) : null,
+                    filter.getMinPrice(),
+                    filter.getMaxPrice(),
+                    cursor,
+                    size
+            );
+        }
+
+        return loadPage(filter, search, cursor, size, ProductField.columns(), true, productMapper::toResponse);
+    }
+
+    /**
+     * Same listing as {@link #getAllProducts}, projected to card summaries.
+     * The database path selects only the card columns and the primary image in one query
+     * and hydrates no entities.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public CursorPageResponse<ProductSummaryResponse> getProductSummaries(ProductFilterRequest filter) {
+        log.debug("Fetching product summaries with filter: {}", filter);
+
+        validatePriceRange(filter);
+        ProductCursor cursor = ProductCursor.decode(filter.getCursor());
+        int size = pageSize(filter);
+        String search = searchTerm(filter);
+
+        CatalogSnapshot snapshot = catalogCache.current();
+        if (snapshot != null) {
+            CursorPageResponse<ProductResponse> page = snapshot.page(
+                    filter.getCategory(),
+                    search != null ? search.toLowerCase(Locale.ROOT) : null,
+                    filter.getMinPrice(),
+                    filter.getMaxPrice(),
+                    cursor,
+                    size
+            );
+            return CursorPageResponse.<ProductSummaryResponse>builder()
+                    .items(page.getItems().stream().map(productMapper::toSummary).toList())
+                    .size(page.getSize())
+                    .hasMore(page.isHasMore())
+                    .nextCursor(page.getNextCursor())
+                    .build();
+        }
+
+        Slice<ProductSummaryView> slice = productRepository.findSummariesByFilters(
+                filter.getCategory(),
+                search != null ? ProductSearchService.escapeLike(search) : null,
+                filter.getMinPrice(),
+                filter.getMaxPrice(),
+                cursor != null ? cursor.createdAt() : null,
+                cursor != null ? cursor.id() : null,
+                PageRequest.of(0, size)
+        );
+
+        List<ProductSummaryView> rows = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext() && !rows.isEmpty()) {
+            ProductSummaryView last = rows.get(rows.size() - 1);
+            nextCursor = new ProductCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return CursorPageResponse.<ProductSummaryResponse>builder()
+                .items(rows.stream().map(productMapper::toSummary).toList())
+                .size(rows.size())
+                .hasMore(nextCursor != null)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Same listing as {@link #getAllProducts}, limited to the requested fields.
+     * The database path selects only the requested columns, and reads images with one extra
+     * query only when they are requested.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public CursorPageResponse<Map<String, Object>> getProductFields(ProductFilterRequest filter, ProductFieldSet fields) {
+        log.debug("Fetching product fields {} with filter: {}", fields, filter);
+
+        validatePriceRange(filter);
+        ProductCursor cursor = ProductCursor.decode(filter.getCursor());
+        int size = pageSize(filter);
+        String search = searchTerm(filter);
+
+        CatalogSnapshot snapshot = catalogCache.current();
+        if (snapshot != null) {
+            CursorPageResponse<ProductResponse> page = snapshot.page(
+                    filter.getCategory(),
+                    search != null ? search.toLowerCase(Locale.ROOT) : null,
+                    filter.getMinPrice(),
+                    filter.getMaxPrice(),
+                    cursor,
+                    size
+            );
+            return CursorPageResponse.<Map<String, Object>>builder()
+                    .items(page.getItems().stream()
+                            .map(product -> productMapper.toFieldMap(product, fields.getOrdered()))
+                            .toList())
+                    .size(page.getSize())
+                    .hasMore(page.isHasMore())
+                    .nextCursor(page.getNextCursor())
+                    .build();
+        }
+
+        List<ProductField> ordered = fields.getOrdered();
+        return loadPage(filter, search, cursor, size, fields.getFields(), fields.contains(ProductField.IMAGES),
+                (row, images) -> productMapper.toFieldMap(row, ordered, images));
+    }
+
+    /**
+     * A single product limited to the requested fields.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Map<String, Object> getProductFieldsById(UUID id, ProductFieldSet fields) {
+        log.debug("Fetching product fields {} for id: {}", fields, id);
+
+        CatalogSnapshot snapshot = catalogCache.current();
+        if (snapshot != null) {
+            ProductResponse cached = snapshot.findById(id);
+            if (cached == null) {
+                throw new ResourceNotFoundException("Product not found with id: " + id);
+            }
+            return productMapper.toFieldMap(cached, fields.getOrdered());
+        }
+
+        Tuple row = productRepository.findFieldsById(id, fields.getFields())
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        List<ProductImageResponse> images = fields.contains(ProductField.IMAGES) ? loadImages(List.of(row)).get(id) : null;
+        return productMapper.toFieldMap(row, fields.getOrdered(), images);
     }
 
     /**
      * Get a single product by ID.
+     * The snapshot holds every product, so an id missing from it does not exist.
+     * A miss loads the product and its images by id through the second-level cache,
+     * so repeated misses for the same product do not reach the database.
      */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public ProductResponse getProductById(UUID id) {
         log.debug("Fetching product with id: {}", id);
 
+        CatalogSnapshot snapshot = catalogCache.current();
+        if (snapshot != null) {
+            ProductResponse cached = snapshot.findById(id);
+            if (cached == null) {
+                throw new ResourceNotFoundException("Product not found with id: " + id);
+            }
+            return cached;
+        }
+
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
-
         return productMapper.toResponse(product);
     }
 
+    /**
+     * Get several products by ID, in request order and without duplicates.
+     * Served from the snapshot when loaded; otherwise the products and their images are read
+     * with one IN query. Ids that match no product are reported as missing.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ProductBatchResponse getProductsByIds(List<UUID> ids) {
+        log.debug("Fetching {} products by id", ids.size());
+
+        LinkedHashSet<UUID> requested = new LinkedHashSet<>(ids);
+        Map<UUID, ProductResponse> found = new HashMap<>();
+
+        CatalogSnapshot snapshot = catalogCache.current();
+        if (snapshot != null) {
+            for (UUID id : requested) {
+                ProductResponse cached = snapshot.findById(id);
+                if (cached != null) {
+                    found.put(id, cached);
+                }
+            }
+        } else {
+            for (Product product : productRepository.findWithImagesByIdIn(requested)) {
+                found.put(product.getId(), productMapper.toResponse(product));
+            }
+        }
+
+        List<ProductResponse> products = new ArrayList<>(found.size());
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : requested) {
+            ProductResponse product = found.get(id);
+            if (product != null) {
+                products.add(product);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        return ProductBatchResponse.builder()
+                .products(products)
+                .missing(missing)
+                .build();
+    }
+
+    /**
+     * Cache validators for a listing request, answered from the snapshot without touching the database.
+     * Empty when the snapshot is not loaded.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<CacheValidator> getListingValidator(ProductFilterRequest filter) {
+        CatalogSnapshot snapshot = catalogCache.peek();
+        return snapshot != null
+                ? Optional.of(CacheValidator.forListing(snapshot, filter.toString()))
+                : Optional.empty();
+    }
+
+    /**
+     * Cache validators for a single product, answered from the snapshot without touching the database.
+     * Empty when the snapshot is not loaded or does not contain the product.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<CacheValidator> getProductValidator(UUID id) {
+        CatalogSnapshot snapshot = catalogCache.peek();
+        ProductResponse product = snapshot != null ? snapshot.findById(id) : null;
+        return Optional.ofNullable(product).map(CacheValidator::forProduct);
+    }
+
     /**
      * Create a new product.
      * Validates that at least one image is provided.
@@ -71,9 +313,12 @@ public class ProductService {
 
         Product product = productMapper.toEntity(request);
         Product savedProduct = productRepository.save(product);
+        ProductResponse response = productMapper.toResponse(savedProduct);
+        long version = productChangeService.record(ChangeType.CREATED, savedProduct.getId());
+        eventPublisher.publishEvent(ProductChangedEvent.created(response, version));
 
         log.info("Product created successfully with id: {}", savedProduct.getId());
-        return productMapper.toResponse(savedProduct);
+        return response;
     }
 
     /**
@@ -86,11 +331,127 @@ public class ProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
 
+        ProductCategory previousCategory = product.getCategory();
         productMapper.updateEntity(product, request);
-        Product updatedProduct = productRepository.save(product);
+        // Flush so updatedAt is stamped before the response and change event are built
+        Product updatedProduct = productRepository.saveAndFlush(product);
+        ProductResponse response = productMapper.toResponse(updatedProduct);
+        long version = productChangeService.record(ChangeType.UPDATED, id);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(response, previousCategory, version));
 
         log.info("Product updated successfully: {}", id);
-        return productMapper.toResponse(updatedProduct);
+        return response;
+    }
+
+    /**
+     * Partially update a product with a JSON Merge Patch made from version {@code patch.version}.
+     * The product is read by id (usually from the second-level cache) without its images, and the
+     * flush issues one {@code UPDATE} of the patched columns guarded by {@code WHERE version = ?},
+     * so a concurrent edit makes this one fail with a ConflictException instead of being overwritten.
+     */
+    @Transactional
+    public ProductResponse patchProduct(UUID id, ProductPatchRequest patch) {
+        log.info("Patching product with id: {}", id);
+
+        validatePatch(patch);
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        if (!product.getVersion().equals(patch.getVersion())) {
+            throw conflict(id, product.getVersion());
+        }
+
+        ProductCategory previousCategory = product.getCategory();
+        productMapper.applyPatch(product, patch);
+        Product updatedProduct;
+        try {
+            updatedProduct = productRepository.saveAndFlush(product);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Changed after it was read; the row may also have been deleted meanwhile
+            throw conflict(id, productRepository.findVersionById(id).orElse(null));
+        }
+        // Images cannot be patched, so the snapshot's are reused instead of loading the collection
+        List<ProductImageResponse> images = snapshotImages(id, patch.getVersion());
+        ProductResponse response = images != null
+                ? productMapper.toResponse(updatedProduct, images)
+                : productMapper.toResponse(updatedProduct);
+        long version = productChangeService.record(ChangeType.UPDATED, id);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(response, previousCategory, version));
+
+        log.info("Product patched successfully: {} (version {})", id, updatedProduct.getVersion());
+        return response;
+    }
+
+    /**
+     * The product's images from the snapshot, or null unless its entry is at {@code version}. Every
+     * image change bumps the product's version, so an entry at that version has the current images.
+     */
+    private List<ProductImageResponse> snapshotImages(UUID id, Long version) {
+        CatalogSnapshot snapshot = catalogCache.peek();
+        ProductResponse cached = snapshot != null ? snapshot.findById(id) : null;
+        return cached != null && version.equals(cached.getVersion()) ? cached.getImages() : null;
+    }
+
+    private static void validatePatch(ProductPatchRequest patch) {
+        if (patch.isPatched(ProductPatchRequest.IMAGES)) {
+            throw new ValidationException("Images cannot be patched; use PUT or the image order endpoint");
+        }
+        requireValue(patch, ProductPatchRequest.NAME, patch.getName());
+        requireValue(patch, ProductPatchRequest.DESCRIPTION, patch.getDescription());
+        requireValue(patch, ProductPatchRequest.CATEGORY, patch.getCategory());
+        requireValue(patch, ProductPatchRequest.PRICE_PER_SQFT, patch.getPricePerSqft());
+    }
+
+    /**
+     * Rejects removing a required property, which a merge patch expresses as null.
+     */
+    private static void requireValue(ProductPatchRequest patch, String property, Object value) {
+        if (patch.isPatched(property) && value == null) {
+            throw new ValidationException(property + " is required and cannot be removed");
+        }
+    }
+
+    private static ConflictException conflict(UUID id, Long currentVersion) {
+        return new ConflictException("Product " + id + " was modified by someone else; current version is "
+                + currentVersion, currentVersion);
+    }
+
+    /**
+     * Reorder a product's images; {@code imageIds} lists every image once, in display order.
+     * Only the ordering column is written: the images are updated through the persistence context,
+     * so the changed rows go out as one JDBC batch and their cached entries are updated with them.
+     * A changed order also updates the product's version and updatedAt.
+     */
+    @Transactional
+    public ProductResponse reorderImages(UUID id, List<UUID> imageIds) {
+        log.info("Reordering images of product with id: {}", id);
+
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+
+        Map<UUID, ProductImage> images = new HashMap<>();
+        for (ProductImage image : product.getImages()) {
+            images.put(image.getId(), image);
+        }
+        if (imageIds.size() != images.size() || !images.keySet().equals(new HashSet<>(imageIds))) {
+            throw new ValidationException("Image ids must list every image of the product exactly once");
+        }
+        boolean changed = false;
+        for (int i = 0; i < imageIds.size(); i++) {
+            ProductImage image = images.get(imageIds.get(i));
+            if (image.getOrdering() != i) {
+                image.setOrdering(i);
+                changed = true;
+            }
+        }
+        if (changed) {
+            product.imagesChanged();
+        }
+        productRepository.flush();
+
+        ProductResponse response = productMapper.toResponse(product);
+        long version = productChangeService.record(ChangeType.UPDATED, id);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(response, product.getCategory(), version));
+        return response;
     }
 
     /**
@@ -100,34 +461,110 @@ public class ProductService {
     public void deleteProduct(UUID id) {
         log.info("Deleting product with id: {}", id);
 
-        if (!productRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Product not found with id: " + id);
-        }
+        // Loaded (usually from the entity cache) for its category; deleteById would load it anyway
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
 
-        productRepository.deleteById(id);
+        productRepository.delete(product);
+        long version = productChangeService.record(ChangeType.DELETED, id);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(id, product.getCategory(), version));
         log.info("Product deleted successfully: {}", id);
     }
 
     /**
      * Get product count by category (for admin analytics).
+     * Answered from the live counters; every category is present, with zero when it has no products.
      */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Map<String, Long> getProductCountByCategory() {
         log.debug("Fetching product count by category");
 
         Map<String, Long> categoryCount = new HashMap<>();
-        for (ProductCategory category : ProductCategory.values()) {
-            long count = productRepository.countByCategory(category);
-            categoryCount.put(category.name(), count);
-        }
-
+        categoryCounters.counts().forEach((category, count) -> categoryCount.put(category.name(), count));
         return categoryCount;
     }
 
     /**
-     * Get total product count.
+     * Get total product count, from the live counters.
      */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public long getTotalProductCount() {
-        return productRepository.count();
+        return categoryCounters.total();
     }
-}
 
+    /**
+     * Reads one listing page as tuples selecting the column fields in {@code fields}, plus the
+     * page's images with one more query when {@code withImages} is set. Asks for one extra row
+     * to detect a next page. Nothing is hydrated, so the persistence context stays empty.
+     */
+    private <T> CursorPageResponse<T> loadPage(
+            ProductFilterRequest filter,
+            String search,
+            ProductCursor cursor,
+            int size,
+            Set<ProductField> fields,
+            boolean withImages,
+            BiFunction<Tuple, List<ProductImageResponse>, T> mapper
+    ) {
+        List<Tuple> rows = productRepository.findFieldsByFilters(
+                fields,
+                filter.getCategory(),
+                search != null ? ProductSearchService.escapeLike(search) : null,
+                filter.getMinPrice(),
+                filter.getMaxPrice(),
+                cursor != null ? cursor.createdAt() : null,
+                cursor != null ? cursor.id() : null,
+                size + 1
+        );
+
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            Tuple last = rows.get(rows.size() - 1);
+            nextCursor = new ProductCursor(
+                    last.get(ProductField.CREATED_AT.getFieldName(), LocalDateTime.class),
+                    last.get(ProductField.ID.getFieldName(), UUID.class)).encode();
+        }
+
+        Map<UUID, List<ProductImageResponse>> images = withImages ? loadImages(rows) : Map.of();
+        List<T> items = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            items.add(mapper.apply(row, images.get(row.get(ProductField.ID.getFieldName(), UUID.class))));
+        }
+
+        return CursorPageResponse.<T>builder()
+                .items(items)
+                .size(items.size())
+                .hasMore(hasMore)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private Map<UUID, List<ProductImageResponse>> loadImages(List<Tuple> rows) {
+        if (rows.isEmpty()) {
+            return Map.of();
+        }
+        List<UUID> ids = rows.stream().map(row -> row.get(ProductField.ID.getFieldName(), UUID.class)).toList();
+        return productMapper.toImageResponsesByProduct(productRepository.findImageRows(ids));
+    }
+
+    private static void validatePriceRange(ProductFilterRequest filter) {
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null
+                && filter.getMinPrice().compareTo(filter.getMaxPrice()) > 0) {
+            throw new ValidationException("Minimum price must not exceed maximum price");
+        }
+    }
+
+    private static int pageSize(ProductFilterRequest filter) {
+        return filter.getSize() != null ? filter.getSize() : ProductFilterRequest.DEFAULT_PAGE_SIZE;
+    }
+
+    private static String searchTerm(ProductFilterRequest filter) {
+        return filter.getSearch() != null && !filter.getSearch().isBlank()
+                ? filter.getSearch().trim()
+                : null;
+    }
+}
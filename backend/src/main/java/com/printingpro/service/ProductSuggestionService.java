@@ -0,0 +1,190 @@
+package com.printingpro.service;
+
+import com.printingpro.config.CatalogProperties;
+import com.printingpro.config.ReplicaRoutingDataSource;
+import com.printingpro.dto.response.SuggestionResponse;
+import com.printingpro.entity.ProductCategory;
+import com.printingpro.event.ProductChangedEvent;
+import com.printingpro.event.ProductsBulkChangedEvent;
+import com.printingpro.event.ProductsImportedEvent;
+import com.printingpro.exception.ValidationException;
+import com.printingpro.repository.ProductRepository;
+import com.printingpro.repository.projection.ProductNameView;
+import com.printingpro.search.SuggestionTrie;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service for type-ahead suggestions over product names and category display names.
+ * Lookups read an immutable {@link SuggestionTrie}. The trie is rebuilt on a background thread
+ * after product writes commit and then swapped in, so writers and readers never wait on each other.
+ * Bursts of writes are coalesced into a single rebuild.
+ */
+@Service
+@Slf4j
+public class ProductSuggestionService {
+
+    /**
+     * Words of a name, after the first, that also start a key (so "banner" finds "Vinyl Banner").
+     */
+    private static final int MAX_WORD_KEYS = 6;
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int maxResults;
+    private final Timer rebuildTimer;
+
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "suggestion-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    private volatile SuggestionTrie<SuggestionResponse> trie;
+
+    public ProductSuggestionService(
+            ProductRepository productRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            CatalogProperties catalogProperties
+    ) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxResults = catalogProperties.getSuggest().getMaxResults();
+        this.rebuildTimer = Timer.builder("catalog.suggest.rebuild")
+                .description("Time taken to rebuild the suggestion trie").register(meterRegistry);
+    }
+
+    /**
+     * Suggestions whose name or display name has a word starting with {@code query}.
+     * Categories come first, then products with the shortest names.
+     * Returns an empty list until the first trie has been built.
+     *
+     * @param limit maximum number of suggestions, or null for the configured maximum
+     */
+    public List<SuggestionResponse> suggest(String query, Integer limit) {
+        int size = limit != null ? limit : maxResults;
+        if (size < 1 || size > maxResults) {
+            throw new ValidationException("Limit must be between 1 and " + maxResults);
+        }
+
+        SuggestionTrie<SuggestionResponse> current = trie;
+        if (current == null || query == null) {
+            return List.of();
+        }
+        return current.complete(query, size);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        requestRebuild();
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        requestRebuild();
+    }
+
+    @TransactionalEventListener
+    public void onProductsImported(ProductsImportedEvent event) {
+        requestRebuild();
+    }
+
+    @TransactionalEventListener
+    public void onProductsBulkChanged(ProductsBulkChangedEvent event) {
+        requestRebuild();
+    }
+
+    /**
+     * Schedules a rebuild unless one is already queued; a queued rebuild will see this change too.
+     */
+    public void requestRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            rebuildExecutor.execute(this::rebuild);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private void rebuild() {
+        // Cleared before reading so that writes committing during the rebuild queue another one
+        rebuildPending.set(false);
+        long started = System.nanoTime();
+        try {
+            // On the primary, so the trie includes the write whose commit queued this rebuild
+            List<ProductNameView> products = ReplicaRoutingDataSource.readFromPrimary(
+                    () -> readOnlyTransaction.execute(status -> productRepository.findAllNames()));
+            SuggestionTrie<SuggestionResponse> rebuilt =
+                    SuggestionTrie.build(entries(products), ProductSuggestionService::keys, maxResults);
+            trie = rebuilt;
+
+            long elapsed = System.nanoTime() - started;
+            rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            log.debug("Suggestion trie rebuilt with {} entries and {} nodes in {} ms",
+                    rebuilt.size(), rebuilt.nodeCount(), elapsed / 1_000_000);
+        } catch (RuntimeException ex) {
+            log.error("Failed to rebuild suggestion trie", ex);
+        }
+    }
+
+    /**
+     * Suggestions best-first: categories, then products by name length and name.
+     */
+    private static List<SuggestionResponse> entries(List<ProductNameView> products) {
+        List<SuggestionResponse> entries = new ArrayList<>(ProductCategory.values().length + products.size());
+        for (ProductCategory category : ProductCategory.values()) {
+            entries.add(SuggestionResponse.builder()
+                    .text(category.getDisplayName())
+                    .type(SuggestionResponse.Type.CATEGORY)
+                    .category(category)
+                    .build());
+        }
+
+        List<ProductNameView> sorted = new ArrayList<>(products);
+        sorted.sort(Comparator.comparingInt((ProductNameView p) -> p.getName().length())
+                .thenComparing(ProductNameView::getName, String.CASE_INSENSITIVE_ORDER));
+        for (ProductNameView product : sorted) {
+            entries.add(SuggestionResponse.builder()
+                    .text(product.getName())
+                    .type(SuggestionResponse.Type.PRODUCT)
+                    .category(product.getCategory())
+                    .productId(product.getId())
+                    .build());
+        }
+        return entries;
+    }
+
+    /**
+     * The whole text plus the text from each later word onwards.
+     */
+    private static List<String> keys(SuggestionResponse entry) {
+        String text = SuggestionTrie.normalize(entry.getText());
+        List<String> keys = new ArrayList<>();
+        keys.add(text);
+        for (int i = text.indexOf(' '); i >= 0 && keys.size() <= MAX_WORD_KEYS; i = text.indexOf(' ', i + 1)) {
+            keys.add(text.substring(i + 1));
+        }
+        return keys;
+    }
+}
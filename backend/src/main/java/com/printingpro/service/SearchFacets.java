@@ -0,0 +1,117 @@
+package com.printingpro.service;
+
+import com.printingpro.config.CatalogProperties;
+import com.printingpro.dto.response.PriceBucketResponse;
+import com.printingpro.dto.response.SearchFacetsResponse;
+import com.printingpro.entity.ProductCategory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Category and price-bucket facets for search results.
+ * A product's facet key combines its category and price bucket into one small integer, so a
+ * single pass over the matches can count both facets into one primitive array.
+ */
+@Component
+public class SearchFacets {
+
+    private static final ProductCategory[] CATEGORIES = ProductCategory.values();
+
+    private final List<BigDecimal> boundaries;
+
+    public SearchFacets(CatalogProperties catalogProperties) {
+        this.boundaries = List.copyOf(catalogProperties.getSearch().getPriceBuckets());
+        for (int i = 1; i < boundaries.size(); i++) {
+            if (boundaries.get(i).compareTo(boundaries.get(i - 1)) <= 0) {
+                throw new IllegalStateException("catalog.search.price-buckets must be strictly ascending");
+            }
+        }
+    }
+
+    /**
+     * Ascending bucket boundaries; bucket {@code i} covers {@code [boundaries[i - 1], boundaries[i])}.
+     */
+    public List<BigDecimal> getBoundaries() {
+        return boundaries;
+    }
+
+    public int bucketCount() {
+        return boundaries.size() + 1;
+    }
+
+    public int bucketOf(BigDecimal price) {
+        int bucket = 0;
+        while (bucket < boundaries.size() && price.compareTo(boundaries.get(bucket)) >= 0) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    public int facetKey(ProductCategory category, BigDecimal price) {
+        return category.ordinal() * bucketCount() + bucketOf(price);
+    }
+
+    /**
+     * Zeroed counters indexed by facet key.
+     */
+    public int[] newCounters() {
+        return new int[CATEGORIES.length * bucketCount()];
+    }
+
+    /**
+     * Folds counters indexed by facet key into per-category and per-bucket totals.
+     */
+    public SearchFacetsResponse fromCounters(int[] counters) {
+        long[] categoryCounts = new long[CATEGORIES.length];
+        long[] bucketCounts = new long[bucketCount()];
+        for (int key = 0; key < counters.length; key++) {
+            categoryCounts[key / bucketCount()] += counters[key];
+            bucketCounts[key % bucketCount()] += counters[key];
+        }
+        return toResponse(categoryCounts, bucketCounts);
+    }
+
+    /**
+     * Folds {@code (category, bucket, count)} rows from a GROUP BY query into facet totals.
+     */
+    public SearchFacetsResponse fromRows(List<Object[]> rows) {
+        long[] categoryCounts = new long[CATEGORIES.length];
+        long[] bucketCounts = new long[bucketCount()];
+        for (Object[] row : rows) {
+            long count = ((Number) row[2]).longValue();
+            categoryCounts[ProductCategory.valueOf(row[0].toString()).ordinal()] += count;
+            bucketCounts[((Number) row[1]).intValue()] += count;
+        }
+        return toResponse(categoryCounts, bucketCounts);
+    }
+
+    private SearchFacetsResponse toResponse(long[] categoryCounts, long[] bucketCounts) {
+        Map<ProductCategory, Long> categories = new EnumMap<>(ProductCategory.class);
+        long total = 0;
+        for (ProductCategory category : CATEGORIES) {
+            categories.put(category, categoryCounts[category.ordinal()]);
+            total += categoryCounts[category.ordinal()];
+        }
+
+        List<PriceBucketResponse> priceBuckets = new ArrayList<>(bucketCounts.length);
+        for (int bucket = 0; bucket < bucketCounts.length; bucket++) {
+            priceBuckets.add(PriceBucketResponse.builder()
+                    .min(bucket > 0 ? boundaries.get(bucket - 1) : null)
+                    .max(bucket < boundaries.size() ? boundaries.get(bucket) : null)
+                    .count(bucketCounts[bucket])
+                    .build());
+        }
+
+        return SearchFacetsResponse.builder()
+                .total(total)
+                .categories(new LinkedHashMap<>(categories))
+                .priceBuckets(priceBuckets)
+                .build();
+    }
+}
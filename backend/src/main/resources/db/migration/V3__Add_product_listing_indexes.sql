@@ -0,0 +1,16 @@
+-- Composite indexes backing the keyset-paginated product listing.
+-- The listing is ordered by (created_at DESC, id DESC) and seeks past the last row of the
+-- previous page, so each index ends with (created_at, id) to serve that order directly.
+
+-- Unfiltered listing
+CREATE INDEX idx_products_created_at_id ON products(created_at, id);
+
+-- Category filter
+CREATE INDEX idx_products_category_created_at_id ON products(category, created_at, id);
+
+-- Category + price range filter
+CREATE INDEX idx_products_category_price_created_at_id ON products(category, price_per_sqft, created_at, id);
+
+-- Superseded by the composite indexes above (same leading columns)
+DROP INDEX IF EXISTS idx_products_created_at;
+DROP INDEX IF EXISTS idx_products_category;
@@ -0,0 +1,18 @@
+-- Full-text and trigram search support for products.
+-- Replaces sequential scans caused by LOWER(column) LIKE '%term%'.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Weighted document: matches in the name rank above matches in the description
+ALTER TABLE products
+    ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX idx_products_search_vector ON products USING GIN (search_vector);
+
+-- Trigram indexes serve substring (I)LIKE '%term%' matches and similarity ranking
+CREATE INDEX idx_products_name_trgm ON products USING GIN (name gin_trgm_ops);
+CREATE INDEX idx_products_description_trgm ON products USING GIN (description gin_trgm_ops);
@@ -0,0 +1,26 @@
+-- Change log behind GET /api/products/changes?since=<version>.
+-- catalog_version holds the last allocated version; writers lock its single row, so versions
+-- become visible in commit order and a client never skips a change that commits late.
+CREATE TABLE catalog_version (
+    id INTEGER PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+-- Latest change per product. Deleted products keep a DELETED row (tombstone), so there is
+-- no foreign key to products.
+CREATE TABLE product_changes (
+    product_id UUID PRIMARY KEY,
+    version BIGINT NOT NULL,
+    change_type VARCHAR(10) NOT NULL,
+    changed_at TIMESTAMP NOT NULL
+);
+
+CREATE UNIQUE INDEX idx_product_changes_version ON product_changes(version);
+
+-- Existing products become versions 1..n in creation order
+INSERT INTO product_changes (product_id, version, change_type, changed_at)
+SELECT id, ROW_NUMBER() OVER (ORDER BY created_at, id), 'CREATED', COALESCE(updated_at, created_at)
+FROM products;
+
+INSERT INTO catalog_version (id, version)
+SELECT 1, COUNT(*) FROM products;
@@ -0,0 +1,3 @@
+-- Optimistic locking for product writes: every update checks and increments the row version,
+-- so concurrent admin edits conflict instead of silently overwriting each other.
+ALTER TABLE products ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
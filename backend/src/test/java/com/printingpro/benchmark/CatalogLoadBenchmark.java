@@ -0,0 +1,173 @@
+package com.printingpro.benchmark;
+
+import com.printingpro.PrintingProApplication;
+import com.printingpro.dto.request.ProductFilterRequest;
+import com.printingpro.dto.response.ProductResponse;
+import com.printingpro.entity.Product;
+import com.printingpro.entity.ProductCategory;
+import com.printingpro.mapper.ProductMapper;
+import com.printingpro.repository.ProductRepository;
+import com.printingpro.service.ProductCatalogLoader;
+import com.printingpro.service.ProductService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares heap allocation of catalog reads that hydrate managed entities (the former paths)
+ * with the tuple reads now used on a snapshot miss and for snapshot rebuilds, on a 50k-product
+ * catalog with three images per product. H2 runs in-process, so database-side allocation is
+ * counted as well.
+ *
+ * <p>Run with GC profiling and compare {@code gc.alloc.rate.norm} (bytes per operation):
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     org.openjdk.jmh.Main CatalogLoadBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class CatalogLoadBenchmark {
+
+    private static final int PRODUCT_COUNT = 50_000;
+    private static final int IMAGES_PER_PRODUCT = 3;
+    private static final int PAGE_SIZE = 20;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private TransactionTemplate readOnlyTransaction;
+    private ProductRepository productRepository;
+    private ProductMapper productMapper;
+    private ProductCatalogLoader catalogLoader;
+    private ProductService productService;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(PrintingProApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(
+                        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        // Placeholders application.yml reads from the environment
+                        "MAIL_FROM=bench@example.com",
+                        "MAIL_TO=bench@example.com",
+                        "MAIL_USERNAME=bench",
+                        "MAIL_PASSWORD=bench",
+                        "ADMIN_PASSWORD=bench")
+                // Arguments, so they win over application.yml and application-test.yml
+                .run("--catalog.cache.enabled=false",
+                        "--catalog.search.memory-index-enabled=false",
+                        "--logging.level.com.printingpro=WARN");
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        productRepository = context.getBean(ProductRepository.class);
+        productMapper = context.getBean(ProductMapper.class);
+        catalogLoader = context.getBean(ProductCatalogLoader.class);
+        productService = context.getBean(ProductService.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Former snapshot rebuild: {@code findAll()} plus lazily batch-loaded images, then mapped.
+     */
+    @Benchmark
+    public List<ProductResponse> rebuildFromEntities() {
+        return readOnlyTransaction.execute(status -> productMapper.toResponseList(productRepository.findAll()));
+    }
+
+    @Benchmark
+    public List<ProductResponse> rebuildFromTuples() {
+        return catalogLoader.loadAll();
+    }
+
+    /**
+     * Former snapshot miss: a managed, snapshotted page in a request-scoped (open-in-view) session.
+     */
+    @Benchmark
+    public List<ProductResponse> pageFromEntities() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return productMapper.toResponseList(entityManager
+                    .createQuery("SELECT p FROM Product p ORDER BY p.createdAt DESC, p.id DESC", Product.class)
+                    .setMaxResults(PAGE_SIZE + 1)
+                    .getResultList()
+                    .subList(0, PAGE_SIZE));
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public List<ProductResponse> pageFromTuples() {
+        return productService.getAllProducts(ProductFilterRequest.builder().size(PAGE_SIZE).build()).getItems();
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        // The listing index from V3; the test profile builds the schema without Flyway
+        jdbcTemplate.execute("CREATE INDEX idx_products_created_at_id ON products(created_at, id)");
+
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 10, 0);
+        String description = "High-quality outdoor vinyl banner perfect for storefronts, events, and advertising. ";
+        List<Object[]> products = new ArrayList<>(PRODUCT_COUNT);
+        List<Object[]> images = new ArrayList<>(PRODUCT_COUNT * IMAGES_PER_PRODUCT);
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            UUID id = UUID.randomUUID();
+            Timestamp createdAt = Timestamp.valueOf(now.minusSeconds(i));
+            products.add(new Object[]{id, "Premium Vinyl Banner " + i, description.repeat(3),
+                    ProductCategory.values()[i % ProductCategory.values().length].name(),
+                    new BigDecimal("25.50"), true, createdAt, createdAt});
+            for (int j = 0; j < IMAGES_PER_PRODUCT; j++) {
+                images.add(new Object[]{UUID.randomUUID(), id, "/uploads/" + UUID.randomUUID() + ".jpg",
+                        "Product " + i + " image " + j, j});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (id, name, description, category, price_per_sqft, "
+                + "negotiable, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", products);
+        jdbcTemplate.batchUpdate("INSERT INTO product_images (id, product_id, url, alt_text, ordering) "
+                + "VALUES (?, ?, ?, ?, ?)", images);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CatalogLoadBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,150 @@
+package com.printingpro.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.printingpro.dto.response.CursorPageResponse;
+import com.printingpro.dto.response.ProductImageResponse;
+import com.printingpro.dto.response.ProductResponse;
+import com.printingpro.entity.ProductCategory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares writing a catalog page through Jackson on every request (the former
+ * {@code ResponseEntity<List<ProductResponse>>} path) with writing pre-serialized bytes
+ * as done by CatalogResponseCache.
+ *
+ * <p>Run with:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     com.printingpro.benchmark.CatalogSerializationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private CursorPageResponse<ProductResponse> page;
+    private byte[] json;
+    private byte[] gzip;
+    /**
+     * Stands in for the servlet response buffer; reset before each write.
+     */
+    private final ByteArrayOutputStream sink = new ByteArrayOutputStream(256 * 1024);
+
+    @Setup
+    public void setUp() throws IOException {
+        // Same configuration Spring Boot applies to the HTTP message converters
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<ProductResponse> items = new ArrayList<>(pageSize);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 10, 0);
+        for (int i = 0; i < pageSize; i++) {
+            List<ProductImageResponse> images = new ArrayList<>();
+            for (int j = 0; j < 3; j++) {
+                images.add(ProductImageResponse.builder()
+                        .id(UUID.randomUUID())
+                        .url("/uploads/" + UUID.randomUUID() + ".jpg")
+                        .altText("Product " + i + " image " + j)
+                        .ordering(j)
+                        .build());
+            }
+            items.add(ProductResponse.builder()
+                    .id(UUID.randomUUID())
+                    .name("Premium Vinyl Banner " + i)
+                    .description("High-quality outdoor vinyl banner perfect for storefronts, events, and advertising. "
+                            .repeat(4))
+                    .category(i % 2 == 0 ? ProductCategory.FLEX_PRINTING : ProductCategory.PAMPHLET)
+                    .pricePerSqft(new BigDecimal("25.50"))
+                    .negotiable(true)
+                    .images(images)
+                    .createdAt(now.minusMinutes(i))
+                    .updatedAt(now)
+                    .build());
+        }
+        page = CursorPageResponse.<ProductResponse>builder()
+                .items(items)
+                .size(items.size())
+                .hasMore(true)
+                .nextCursor("MjAyNC0wMS0wMVQxMDowMHwxMjM")
+                .build();
+
+        json = objectMapper.writeValueAsBytes(page);
+        gzip = compress(json);
+    }
+
+    @Benchmark
+    public int jacksonPerRequest() throws IOException {
+        sink.reset();
+        objectMapper.writeValue(sink, page);
+        return sink.size();
+    }
+
+    @Benchmark
+    public int jacksonPerRequestGzip() throws IOException {
+        sink.reset();
+        try (GZIPOutputStream out = new GZIPOutputStream(sink)) {
+            objectMapper.writeValue(out, page);
+        }
+        return sink.size();
+    }
+
+    @Benchmark
+    public int preSerialized() throws IOException {
+        sink.reset();
+        sink.write(json);
+        return sink.size();
+    }
+
+    @Benchmark
+    public int preSerializedGzip() throws IOException {
+        sink.reset();
+        sink.write(gzip);
+        return sink.size();
+    }
+
+    private static byte[] compress(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CatalogSerializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
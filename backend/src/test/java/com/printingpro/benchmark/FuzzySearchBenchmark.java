@@ -0,0 +1,88 @@
+package com.printingpro.benchmark;
+
+import com.printingpro.search.VocabularyTrie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of fuzzy vocabulary lookups (the step FUZZY search adds before querying the index)
+ * against vocabulary size and edit distance. Queries are vocabulary terms with one random edit.
+ *
+ * <p>Run with:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     com.printingpro.benchmark.FuzzySearchBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FuzzySearchBenchmark {
+
+    private static final int QUERIES = 256;
+
+    @Param({"1000", "10000", "100000"})
+    private int vocabularySize;
+
+    @Param({"1", "2"})
+    private int maxDistance;
+
+    private VocabularyTrie vocabularyTrie;
+    private String[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String[] vocabulary = new String[vocabularySize];
+        vocabularyTrie = new VocabularyTrie();
+        for (int i = 0; i < vocabularySize; i++) {
+            // English-like lengths (4-11) over a full alphabet
+            char[] chars = new char[4 + random.nextInt(8)];
+            for (int c = 0; c < chars.length; c++) {
+                chars[c] = (char) ('a' + random.nextInt(26));
+            }
+            vocabulary[i] = new String(chars);
+            vocabularyTrie.add(vocabulary[i]);
+        }
+
+        queries = new String[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            char[] chars = vocabulary[random.nextInt(vocabularySize)].toCharArray();
+            chars[random.nextInt(chars.length)] = (char) ('a' + random.nextInt(26));
+            queries[q] = new String(chars);
+        }
+    }
+
+    @Benchmark
+    public int search(Blackhole blackhole) {
+        String query = queries[next++ & (QUERIES - 1)];
+        return vocabularyTrie.search(query, maxDistance, (term, distance) -> blackhole.consume(term));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FuzzySearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
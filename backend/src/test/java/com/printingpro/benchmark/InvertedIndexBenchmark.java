@@ -0,0 +1,116 @@
+package com.printingpro.benchmark;
+
+import com.printingpro.search.InvertedIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of the in-memory search index over a synthetic catalog whose vocabulary has
+ * a skewed (Zipf-like) term distribution, so common and rare terms are both exercised.
+ *
+ * <p>Run with:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     com.printingpro.benchmark.InvertedIndexBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvertedIndexBenchmark {
+
+    private static final String[] PRODUCTS = {
+            "banner", "flex", "pamphlet", "visiting", "card", "sticker", "poster", "brochure", "canvas", "board"
+    };
+    private static final String[] WORDS = {
+            "premium", "outdoor", "vinyl", "glossy", "matte", "printing", "waterproof", "durable", "custom",
+            "large", "format", "backlit", "laminated", "paper", "quality", "colour", "design", "event",
+            "storefront", "advertising", "shop", "wedding", "festival", "office", "signage", "frame"
+    };
+
+    /**
+     * Descriptions draw from the named words followed by a long tail of generated ones.
+     */
+    private static final int VOCABULARY_SIZE = 20_000;
+
+    @Param({"100000"})
+    private int products;
+
+    private InvertedIndex index;
+
+    @Setup
+    public void setUp() {
+        String[] vocabulary = new String[VOCABULARY_SIZE];
+        System.arraycopy(WORDS, 0, vocabulary, 0, WORDS.length);
+        for (int i = WORDS.length; i < VOCABULARY_SIZE; i++) {
+            vocabulary[i] = "word" + i;
+        }
+
+        Random random = new Random(42);
+        index = new InvertedIndex();
+        for (int i = 0; i < products; i++) {
+            String name = pick(random, WORDS) + " " + pick(random, PRODUCTS) + " " + i;
+            StringBuilder description = new StringBuilder();
+            for (int w = 0; w < 20; w++) {
+                description.append(pick(random, vocabulary)).append(' ');
+            }
+            index.upsert(UUID.randomUUID(), name, description.toString());
+        }
+        System.out.printf("%nIndexed %d products, %d terms, ~%d MB%n",
+                index.documentCount(), index.termCount(), index.estimatedBytes() / (1024 * 1024));
+    }
+
+    /**
+     * Picks with probability roughly proportional to 1 / rank.
+     */
+    private static String pick(Random random, String[] words) {
+        int rank = (int) Math.floor(Math.pow(words.length + 1, random.nextDouble())) - 1;
+        return words[Math.min(rank, words.length - 1)];
+    }
+
+    @Benchmark
+    public int singleTerm() {
+        return index.search("wedding", 20).totalHits();
+    }
+
+    @Benchmark
+    public int twoTerms() {
+        return index.search("vinyl banner", 20).totalHits();
+    }
+
+    @Benchmark
+    public int threeTermsSelective() {
+        return index.search("glossy brochure festival", 20).totalHits();
+    }
+
+    @Benchmark
+    public int commonAndRareTerm() {
+        return index.search("premium word5000", 20).totalHits();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(InvertedIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
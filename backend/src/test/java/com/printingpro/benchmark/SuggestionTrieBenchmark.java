@@ -0,0 +1,103 @@
+package com.printingpro.benchmark;
+
+import com.printingpro.search.SuggestionTrie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution (see the p0.99 row) of suggestion lookups while several threads query
+ * concurrently, and the time to rebuild the trie.
+ *
+ * <p>Run with:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     com.printingpro.benchmark.SuggestionTrieBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SuggestionTrieBenchmark {
+
+    private static final String[] WORDS = {
+            "premium", "outdoor", "vinyl", "glossy", "matte", "flex", "banner", "pamphlet", "visiting", "card",
+            "sticker", "poster", "brochure", "canvas", "board", "backlit", "laminated", "wedding", "festival", "sign"
+    };
+    private static final String[] PREFIXES = {"b", "ba", "ban", "vinyl b", "flex", "pre", "wed", "sti", "zzz", "p"};
+
+    @Param({"100000"})
+    private int products;
+
+    private List<String> names;
+    private SuggestionTrie<String> trie;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        names = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            names.add(WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " "
+                    + WORDS[random.nextInt(WORDS.length)] + " " + i);
+        }
+        trie = build();
+    }
+
+    private SuggestionTrie<String> build() {
+        return SuggestionTrie.build(names, name -> {
+            List<String> keys = new ArrayList<>();
+            String normalized = SuggestionTrie.normalize(name);
+            keys.add(normalized);
+            for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+                keys.add(normalized.substring(i + 1));
+            }
+            return keys;
+        }, 10);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Threads(4)
+    public List<String> complete(Cursor cursor) {
+        String prefix = PREFIXES[cursor.next++ % PREFIXES.length];
+        return trie.complete(prefix, 10);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public SuggestionTrie<String> rebuild() {
+        return build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SuggestionTrieBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
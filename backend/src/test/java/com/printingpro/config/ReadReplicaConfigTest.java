@@ -0,0 +1,114 @@
+package com.printingpro.config;
+
+import com.printingpro.dto.request.ProductFilterRequest;
+import com.printingpro.dto.request.ProductImageRequest;
+import com.printingpro.dto.request.ProductRequest;
+import com.printingpro.dto.response.ProductResponse;
+import com.printingpro.entity.ProductCategory;
+import com.printingpro.service.EmailService;
+import com.printingpro.service.ProductService;
+import com.printingpro.service.ProductSuggestionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the replica wiring with JPA. The replica pool opens the primary's in-memory database,
+ * standing in for a replica that is never behind; the routing meters show which pool served what.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.url=jdbc:h2:mem:replicas;DB_CLOSE_DELAY=-1",
+        "read-replicas.enabled=true",
+        "read-replicas.lag-query=",
+        "read-replicas.pools[0].name=replica-1",
+        "read-replicas.pools[0].url=jdbc:h2:mem:replicas;DB_CLOSE_DELAY=-1",
+        "catalog.cache.enabled=false",
+        "catalog.search.memory-index-enabled=false",
+        "MAIL_FROM=shop@example.com",
+        "MAIL_TO=shop@example.com",
+        "MAIL_USERNAME=shop",
+        "MAIL_PASSWORD=secret",
+        "ADMIN_PASSWORD=secret"
+})
+@ActiveProfiles("test")
+class ReadReplicaConfigTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private EmailService emailService;
+
+    @MockBean
+    private ProductSuggestionService suggestionService;
+
+    @Test
+    void readThenWriteInOneSession_RoutesEachToItsPool() {
+        // Arrange: bind a session the way open-in-view does for a request
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        double writes = routed("primary", "write");
+
+        try {
+            // Act
+            productService.getAllProducts(ProductFilterRequest.builder().build());
+            double readsBeforeWrite = routed("replica-1", "read");
+            ProductResponse created = productService.createProduct(request("Vinyl Banner"));
+            double readsAfterWrite = routed("replica-1", "read");
+            List<ProductResponse> listed = productService.getAllProducts(ProductFilterRequest.builder().build()).getItems();
+
+            // Assert: the write did not reuse the replica connection of the first read
+            assertTrue(readsBeforeWrite > 0);
+            assertEquals(writes + 1, routed("primary", "write"));
+            assertEquals(readsBeforeWrite, readsAfterWrite);
+            assertTrue(routed("replica-1", "read") > readsAfterWrite);
+            assertTrue(listed.stream().anyMatch(product -> product.getId().equals(created.getId())));
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+
+    @Test
+    void pools_PublishHikariMetrics() {
+        // Act
+        productService.getAllProducts(ProductFilterRequest.builder().build());
+
+        // Assert
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").tag("pool", "primary").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").tag("pool", "replica-1").gauge());
+    }
+
+    private double routed(String pool, String route) {
+        return meterRegistry.get("datasource.routing.connections").tag("pool", pool).tag("route", route).counter().count();
+    }
+
+    private static ProductRequest request(String name) {
+        return ProductRequest.builder()
+                .name(name)
+                .description(name + " for shops and events")
+                .category(ProductCategory.FLEX_PRINTING)
+                .pricePerSqft(new BigDecimal("25.50"))
+                .images(List.of(ProductImageRequest.builder().url("/uploads/a.jpg").build()))
+                .build();
+    }
+}
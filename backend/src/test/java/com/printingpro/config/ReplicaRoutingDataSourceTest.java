@@ -0,0 +1,183 @@
+package com.printingpro.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routes through the same proxy and transaction manager setup as {@link ReadReplicaConfig},
+ * against separate in-memory H2 databases that each record their own name.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<String, JdbcTemplate> databases = new LinkedHashMap<>();
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @AfterEach
+    void tearDown() {
+        databases.values().forEach(database -> database.execute("SHUTDOWN"));
+    }
+
+    @Test
+    void readOnlyTransactions_GoToReplica_OthersToPrimary() {
+        // Arrange
+        route(database("primary"), Map.of("replica-1", database("replica-1")));
+        // The proxy reads the default connection settings from the primary once when created
+        double writesBefore = routed("primary", "write");
+
+        // Act
+        String read = readOnlyTransaction.execute(status -> currentDatabase());
+        String written = writeTransaction.execute(status -> currentDatabase());
+
+        // Assert
+        assertEquals("replica-1", read);
+        assertEquals("primary", written);
+        assertEquals(1, routed("replica-1", "read"));
+        assertEquals(writesBefore + 1, routed("primary", "write"));
+    }
+
+    @Test
+    void replica_StaysOutOfRotationUntilItsFirstCheck() {
+        // Arrange
+        route(database("primary"), Map.of("replica-1", database("replica-1")), false);
+
+        // Act
+        String beforeCheck = readOnlyTransaction.execute(status -> currentDatabase());
+        routingDataSource.checkReplicas();
+        String afterCheck = readOnlyTransaction.execute(status -> currentDatabase());
+
+        // Assert
+        assertEquals("primary", beforeCheck);
+        assertEquals("replica-1", afterCheck);
+    }
+
+    @Test
+    void readFromPrimary_RoutesReadOnlyTransactionsToPrimary() {
+        // Arrange
+        route(database("primary"), Map.of("replica-1", database("replica-1")));
+
+        // Act
+        String pinned = ReplicaRoutingDataSource.readFromPrimary(
+                () -> readOnlyTransaction.execute(status -> currentDatabase()));
+        String read = readOnlyTransaction.execute(status -> currentDatabase());
+
+        // Assert
+        assertEquals("primary", pinned);
+        assertEquals("replica-1", read);
+        assertEquals(1, routed("primary", "pinned"));
+    }
+
+    @Test
+    void readOnlyTransactions_AlternateBetweenReplicas() {
+        // Arrange
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", database("replica-1"));
+        replicas.put("replica-2", database("replica-2"));
+        route(database("primary"), replicas);
+
+        // Act
+        String first = readOnlyTransaction.execute(status -> currentDatabase());
+        String second = readOnlyTransaction.execute(status -> currentDatabase());
+
+        // Assert
+        assertNotEquals(first, second);
+        assertEquals(1, routed("replica-1", "read"));
+        assertEquals(1, routed("replica-2", "read"));
+    }
+
+    @Test
+    void laggingReplica_FallsBackToPrimaryUntilItCatchesUp() {
+        // Arrange
+        route(database("primary"), Map.of("replica-1", database("replica-1")));
+        databases.get("replica-1").update("UPDATE replica_lag SET seconds = 30");
+
+        // Act
+        routingDataSource.checkReplicas();
+        String whileLagging = readOnlyTransaction.execute(status -> currentDatabase());
+        databases.get("replica-1").update("UPDATE replica_lag SET seconds = 1");
+        routingDataSource.checkReplicas();
+        String afterCatchingUp = readOnlyTransaction.execute(status -> currentDatabase());
+
+        // Assert
+        assertEquals("primary", whileLagging);
+        assertEquals("replica-1", afterCatchingUp);
+        assertEquals(1, routed("primary", "fallback"));
+        assertEquals(1.0, meterRegistry.get("datasource.replica.lag").tag("pool", "replica-1").gauge().value());
+    }
+
+    @Test
+    void unreachableReplica_FallsBackToPrimary() {
+        // Arrange: IFEXISTS refuses to create the database, so every connection attempt fails
+        JdbcDataSource missing = new JdbcDataSource();
+        missing.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";IFEXISTS=TRUE");
+        route(database("primary"), Map.of("replica-1", missing));
+
+        // Act
+        routingDataSource.checkReplicas();
+        String read = readOnlyTransaction.execute(status -> currentDatabase());
+
+        // Assert
+        assertEquals("primary", read);
+        assertEquals(0.0, meterRegistry.get("datasource.replica.available").tag("pool", "replica-1").gauge().value());
+    }
+
+    private void route(DataSource primary, Map<String, DataSource> replicas) {
+        route(primary, replicas, true);
+    }
+
+    private void route(DataSource primary, Map<String, DataSource> replicas, boolean checked) {
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas, Duration.ofSeconds(5),
+                "SELECT seconds FROM replica_lag", meterRegistry);
+        routingDataSource.afterPropertiesSet();
+        if (checked) {
+            routingDataSource.checkReplicas();
+        }
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * A fresh database holding its name and a replay lag of zero.
+     */
+    private DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate database = new JdbcTemplate(dataSource);
+        database.execute("CREATE TABLE database_name (name VARCHAR(20))");
+        database.update("INSERT INTO database_name VALUES (?)", name);
+        database.execute("CREATE TABLE replica_lag (seconds DOUBLE PRECISION)");
+        database.update("INSERT INTO replica_lag VALUES (0)");
+        databases.put(name, database);
+        return dataSource;
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT name FROM database_name", String.class);
+    }
+
+    private double routed(String pool, String route) {
+        return meterRegistry.get("datasource.routing.connections").tag("pool", pool).tag("route", route).counter().count();
+    }
+}
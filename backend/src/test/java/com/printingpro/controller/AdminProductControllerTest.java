@@ -0,0 +1,405 @@
+package com.printingpro.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.printingpro.dto.request.ContactRequest;
+import com.printingpro.dto.request.ProductImageRequest;
+import com.printingpro.dto.request.ProductRequest;
+import com.printingpro.entity.Product;
+import com.printingpro.entity.ProductCategory;
+import com.printingpro.entity.ProductImage;
+import com.printingpro.event.ProductsImportedEvent;
+import com.printingpro.service.EmailService;
+import com.printingpro.service.ProductSuggestionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests that product writes through the admin API keep Hibernate's second-level cache consistent.
+ * The catalog snapshot is disabled so that product reads go through the entity cache.
+ * Uses the H2 dialect because PostgreSQL renders the change-log lock as FOR NO KEY UPDATE.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "catalog.cache.enabled=false",
+        "catalog.search.memory-index-enabled=false",
+        "catalog.imports.chunk-size=2",
+        "MAIL_FROM=shop@example.com",
+        "MAIL_TO=shop@example.com",
+        "MAIL_USERNAME=shop",
+        "MAIL_PASSWORD=secret",
+        "ADMIN_PASSWORD=secret"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(roles = "ADMIN")
+class AdminProductControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ImportChunkProbe importChunkProbe;
+
+    @MockBean
+    private EmailService emailService;
+
+    /**
+     * Rebuilds on a background thread after each write, which would add to the statement counts.
+     */
+    @MockBean
+    private ProductSuggestionService suggestionService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getProduct_AfterFirstRead_IsServedFromSecondLevelCache() throws Exception {
+        // Arrange
+        UUID id = createProduct("Vinyl Banner", "/uploads/a.jpg", "/uploads/b.jpg");
+        getProduct(id);
+        statistics.clear();
+
+        // Act
+        JsonNode product = getProduct(id);
+
+        // Assert
+        assertEquals("Vinyl Banner", product.get("name").asText());
+        assertEquals(2, product.get("images").size());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("product").getHitCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("product-images").getHitCount());
+        assertEquals(2, statistics.getDomainDataRegionStatistics("product-image").getHitCount());
+        assertNotNull(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tags("region", "product", "result", "hit").functionCounter());
+    }
+
+    @Test
+    void updateProduct_ReplacesCachedProductAndImages() throws Exception {
+        // Arrange
+        UUID id = createProduct("Vinyl Banner", "/uploads/a.jpg", "/uploads/b.jpg");
+        getProduct(id);
+
+        // Act
+        mockMvc.perform(put("/api/admin/products/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request("Canvas Print", "/uploads/c.jpg"))))
+                .andExpect(status().isOk());
+        JsonNode product = getProduct(id);
+
+        // Assert
+        assertEquals("Canvas Print", product.get("name").asText());
+        assertEquals(1, product.get("images").size());
+        assertEquals("/uploads/c.jpg", product.get("images").get(0).get("url").asText());
+    }
+
+    @Test
+    void updateProduct_WithSameImages_KeepsImageRowsAndCachedCollection() throws Exception {
+        // Arrange
+        UUID id = createProduct("Vinyl Banner", "/uploads/a.jpg", "/uploads/b.jpg");
+        getProduct(id);
+        ProductRequest update = request("Vinyl Banner", "/uploads/b.jpg", "/uploads/a.jpg");
+        update.setPricePerSqft(new BigDecimal("30.00"));
+        update.getImages().get(1).setAltText("Front");
+        statistics.clear();
+
+        // Act
+        mockMvc.perform(put("/api/admin/products/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(update)))
+                .andExpect(status().isOk());
+        EntityStatistics images = statistics.getEntityStatistics(ProductImage.class.getName());
+        long inserted = images.getInsertCount();
+        long deleted = images.getDeleteCount();
+        long updated = images.getUpdateCount();
+        statistics.clear();
+        JsonNode product = getProduct(id);
+
+        // Assert: one image changed in place, none deleted or re-inserted, and the cached collection survived
+        assertEquals(0, inserted);
+        assertEquals(0, deleted);
+        assertEquals(1, updated);
+        assertEquals(1, statistics.getDomainDataRegionStatistics("product-images").getHitCount());
+        assertTrue(product.get("images").findValuesAsText("altText").contains("Front"));
+        assertEquals(30.0, product.get("pricePerSqft").asDouble());
+    }
+
+    @Test
+    void reorderImages_RewritesOrderingOnly() throws Exception {
+        // Arrange
+        UUID id = createProduct("Vinyl Banner", "/uploads/a.jpg", "/uploads/b.jpg", "/uploads/c.jpg");
+        JsonNode created = getProduct(id);
+        List<String> reversed = new ArrayList<>(created.get("images").findValuesAsText("id"));
+        Collections.reverse(reversed);
+        statistics.clear();
+
+        // Act
+        mockMvc.perform(put("/api/admin/products/{id}/images/order", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(Map.of("imageIds", reversed))))
+                .andExpect(status().isOk());
+        JsonNode product = getProduct(id);
+
+        // Assert: all three start at ordering 0, so the image now first keeps its value
+        EntityStatistics images = statistics.getEntityStatistics(ProductImage.class.getName());
+        assertEquals(2, images.getUpdateCount());
+        assertEquals(0, images.getInsertCount() + images.getDeleteCount());
+        assertEquals(reversed, product.get("images").findValuesAsText("id"));
+        assertEquals(List.of("0", "1", "2"), product.get("images").findValuesAsText("ordering"));
+    }
+
+    @Test
+    void reorderImages_WithMissingImage_IsRejected() throws Exception {
+        // Arrange
+        UUID id = createProduct("Vinyl Banner", "/uploads/a.jpg", "/uploads/b.jpg");
+        String firstImage = getProduct(id).get("images").get(0).get("id").asText();
+
+        // Act & Assert
+        mockMvc.perform(put("/api/admin/products/{id}/images/order", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(Map.of("imageIds", List.of(firstImage)))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void patchProduct_UpdatesOnlyPatchedColumnsWithoutLoadingImages() throws Exception {
+        // Arrange
+        UUID id = createProduct("Vinyl Banner", "/uploads/a.jpg");
+        long version = getProduct(id).get("version").asLong();
+        statistics.clear();
+
+        // Act
+        MvcResult result = mockMvc.perform(patch("/api/admin/products/{id}", id)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"version\":" + version + ",\"pricePerSqft\":21.50,\"negotiable\":null}"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Assert: one guarded UPDATE of the product row, and the image collection is never read
+        JsonNode patched = objectMapper.readTree(result.getResponse().getContentAsByteArray());
+        assertEquals(version + 1, patched.get("version").asLong());
+        assertEquals(0, new BigDecimal("21.50").compareTo(patched.get("pricePerSqft").decimalValue()));
+        assertTrue(patched.get("negotiable").asBoolean());
+        assertEquals("Vinyl Banner", patched.get("name").asText());
+        assertEquals(1, statistics.getEntityStatistics(Product.class.getName()).getUpdateCount());
+        assertEquals(0, statistics.getCollectionStatistics(Product.class.getName() + ".images").getLoadCount());
+        assertEquals(1, getProduct(id).get("images").size());
+    }
+
+    @Test
+    void patchProduct_WithStaleVersion_ReturnsConflictWithCurrentVersion() throws Exception {
+        // Arrange
+        UUID id = createProduct("Vinyl Banner", "/uploads/a.jpg");
+        long version = getProduct(id).get("version").asLong();
+        mockMvc.perform(patch("/api/admin/products/{id}", id)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"version\":" + version + ",\"name\":\"Renamed\"}"))
+                .andExpect(status().isOk());
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/admin/products/{id}", id)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"version\":" + version + ",\"name\":\"Overwritten\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.currentVersion").value(version + 1));
+        assertEquals("Renamed", getProduct(id).get("name").asText());
+    }
+
+    @Test
+    void deleteProduct_EvictsCachedProduct() throws Exception {
+        // Arrange
+        UUID id = createProduct("Vinyl Banner", "/uploads/a.jpg");
+        getProduct(id);
+
+        // Act
+        mockMvc.perform(delete("/api/admin/products/{id}", id)).andExpect(status().isNoContent());
+        statistics.clear();
+
+        // Assert: READ_WRITE leaves a lock in place of the entry, so the read misses and asks the database
+        mockMvc.perform(get("/api/products/{id}", id)).andExpect(status().isNotFound());
+        assertEquals(0, statistics.getDomainDataRegionStatistics("product").getHitCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void submitContactMessage_ReadsProductFromSecondLevelCache() throws Exception {
+        // Arrange
+        UUID id = createProduct("Vinyl Banner", "/uploads/a.jpg");
+        getProduct(id);
+        statistics.clear();
+        ContactRequest contact = ContactRequest.builder()
+                .name("Asha")
+                .email("asha@example.com")
+                .message("Need 20 banners")
+                .productId(id)
+                .build();
+
+        // Act
+        mockMvc.perform(post("/api/contact")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(contact)))
+                .andExpect(status().isCreated());
+
+        // Assert
+        assertEquals(1, statistics.getDomainDataRegionStatistics("product").getHitCount());
+        assertEquals(0, statistics.getEntityStatistics(Product.class.getName()).getFetchCount());
+    }
+
+    @Test
+    void exportProducts_StreamsEveryProductWithOneImageQueryPerBatch() throws Exception {
+        // Arrange: ordered images, since images of equal ordering are listed by their random ids
+        ProductRequest banner = request("Vinyl Banner", "/uploads/a.jpg", "/uploads/b.jpg");
+        banner.getImages().get(1).setOrdering(1);
+        UUID first = createProduct(banner);
+        createProduct("Canvas, \"Framed\"", "/uploads/c.jpg");
+        getProduct(first);
+        statistics.clear();
+
+        // Act
+        MvcResult started = mockMvc.perform(get("/api/admin/products/export").param("format", "csv"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        String csv = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"products.csv\""))
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert: one query for the products and one for the images of the (single) batch,
+        // and the export neither read nor filled the second-level cache
+        assertTrue(csv.startsWith("id,name,description,category,pricePerSqft,negotiable,images,createdAt,updatedAt\r\n"));
+        assertTrue(csv.contains(first + ",Vinyl Banner,"));
+        assertTrue(csv.contains(",/uploads/a.jpg|/uploads/b.jpg,"));
+        assertTrue(csv.contains(",\"Canvas, \"\"Framed\"\"\","));
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getSecondLevelCacheHitCount());
+        assertEquals(0, statistics.getSecondLevelCachePutCount());
+    }
+
+    @Test
+    void importProducts_DetachesEachChunkBeforeTheNextOne() throws Exception {
+        // Arrange
+        importChunkProbe.managed.clear();
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 6; i++) {
+            body.append(objectMapper.writeValueAsString(request("Import " + i, "/uploads/import-" + i + ".jpg")))
+                    .append('\n');
+        }
+
+        // Act
+        byte[] response = mockMvc.perform(post("/api/admin/products/import")
+                        .contentType("application/x-ndjson")
+                        .content(body.toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert: each chunk of two manages its products, images, change rows and the version
+        // counter, and nothing left over from earlier chunks
+        assertEquals(6, objectMapper.readTree(response).get("imported").asInt());
+        assertEquals(List.of(7, 7, 7), importChunkProbe.managed);
+    }
+
+    private UUID createProduct(String name, String... imageUrls) throws Exception {
+        return createProduct(request(name, imageUrls));
+    }
+
+    private UUID createProduct(ProductRequest request) throws Exception {
+        byte[] body = mockMvc.perform(post("/api/admin/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsByteArray();
+        return UUID.fromString(objectMapper.readTree(body).get("id").asText());
+    }
+
+    private JsonNode getProduct(UUID id) throws Exception {
+        byte[] body = mockMvc.perform(get("/api/products/{id}", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        return objectMapper.readTree(body);
+    }
+
+    private static ProductRequest request(String name, String... imageUrls) {
+        return ProductRequest.builder()
+                .name(name)
+                .description(name + " for shops and events")
+                .category(ProductCategory.FLEX_PRINTING)
+                .pricePerSqft(new BigDecimal("25.50"))
+                .images(Arrays.stream(imageUrls)
+                        .map(url -> ProductImageRequest.builder().url(url).build())
+                        .toList())
+                .build();
+    }
+
+    @TestConfiguration
+    static class ImportChunkProbeConfig {
+
+        @Bean
+        ImportChunkProbe importChunkProbe() {
+            return new ImportChunkProbe();
+        }
+    }
+
+    /**
+     * Samples the request's persistence context as each import chunk is published, before the chunk commits.
+     */
+    static class ImportChunkProbe {
+
+        final List<Integer> managed = new CopyOnWriteArrayList<>();
+
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        @EventListener
+        void onProductsImported(ProductsImportedEvent event) {
+            managed.add(entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.printingpro.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.printingpro.dto.request.ProductImageRequest;
+import com.printingpro.dto.request.ProductRequest;
+import com.printingpro.entity.Product;
+import com.printingpro.entity.ProductCategory;
+import com.printingpro.service.EmailService;
+import com.printingpro.service.ProductService;
+import com.printingpro.service.ProductSuggestionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests conditional GETs on the public product endpoints: validators come from the in-memory
+ * snapshot, so a 304 is answered without borrowing a database connection. The entity cache is
+ * disabled, so any read the snapshot does not serve shows up in Hibernate's statistics.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.url=jdbc:h2:mem:conditional;DB_CLOSE_DELAY=-1",
+        "catalog.search.memory-index-enabled=false",
+        "catalog.entity-cache.enabled=false",
+        "MAIL_FROM=shop@example.com",
+        "MAIL_TO=shop@example.com",
+        "MAIL_USERNAME=shop",
+        "MAIL_PASSWORD=secret",
+        "ADMIN_PASSWORD=secret"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private EmailService emailService;
+
+    @MockBean
+    private ProductSuggestionService suggestionService;
+
+    @Test
+    void getProductById_WithMatchingETag_Returns304WithoutBorrowingAConnection() throws Exception {
+        // Arrange
+        UUID id = createProduct("Vinyl Banner");
+        MvcResult first = mockMvc.perform(get("/api/products/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        String lastModified = first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+        long acquired = connectionsAcquired();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        mockMvc.perform(get("/api/products/{id}", id).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+        assertEquals(acquired, connectionsAcquired());
+    }
+
+    @Test
+    void getProductById_GzipAndFieldsetVariants_HaveTheirOwnETags() throws Exception {
+        // Arrange
+        UUID id = createProduct("Pamphlet");
+        String plain = mockMvc.perform(get("/api/products/{id}", id))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act
+        MvcResult gzip = mockMvc.perform(get("/api/products/{id}", id)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, plain))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+        MvcResult fields = mockMvc.perform(get("/api/products/{id}", id).param("fields", "name,pricePerSqft"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Assert: each variant revalidates against its own ETag only
+        String gzipEtag = gzip.getResponse().getHeader(HttpHeaders.ETAG);
+        String fieldsEtag = fields.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(plain, gzipEtag);
+        assertNotEquals(plain, fieldsEtag);
+        mockMvc.perform(get("/api/products/{id}", id).header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, gzipEtag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/products/{id}", id).param("fields", "pricePerSqft,name")
+                        .header(HttpHeaders.IF_NONE_MATCH, fieldsEtag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getAllProducts_AfterAWrite_NoLongerMatchesTheOldETag() throws Exception {
+        // Arrange
+        createProduct("Flex Board");
+        String etag = mockMvc.perform(get("/api/products").param("category", "FLEX_PRINTING"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/products").param("category", "FLEX_PRINTING").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // Act
+        createProduct("Flex Standee");
+
+        // Assert
+        mockMvc.perform(get("/api/products").param("category", "FLEX_PRINTING").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getProductById_AfterImagesAreReordered_NoLongerMatchesTheOldETag() throws Exception {
+        // Arrange
+        UUID id = createProduct(request("Roll-up Stand", "/uploads/front.jpg", "/uploads/back.jpg"));
+        MvcResult first = mockMvc.perform(get("/api/products/{id}", id)).andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        JsonNode before = objectMapper.readTree(first.getResponse().getContentAsByteArray());
+        List<String> reversed = new ArrayList<>(before.get("images").findValuesAsText("id"));
+        Collections.reverse(reversed);
+
+        // Act
+        mockMvc.perform(put("/api/admin/products/{id}/images/order", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(Map.of("imageIds", reversed))))
+                .andExpect(status().isOk());
+
+        // Assert
+        MvcResult after = mockMvc.perform(get("/api/products/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode product = objectMapper.readTree(after.getResponse().getContentAsByteArray());
+        assertEquals(reversed, product.get("images").findValuesAsText("id"));
+        assertTrue(product.get("version").asLong() > before.get("version").asLong());
+    }
+
+    @Test
+    void getProductById_AfterAnImageOnlyUpdate_NoLongerMatchesTheOldETag() throws Exception {
+        // Arrange
+        ProductRequest request = request("Acrylic Sign", "/uploads/sign.jpg");
+        UUID id = createProduct(request);
+        String etag = mockMvc.perform(get("/api/products/{id}", id))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act: only the image's alt text differs, so only the image row would be written
+        request.getImages().get(0).setAltText("Frosted acrylic");
+        productService.updateProduct(id, request);
+
+        // Assert
+        mockMvc.perform(get("/api/products/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void patchProduct_TakesImagesFromTheSnapshotWithoutLoadingThem() throws Exception {
+        // Arrange
+        UUID id = createProduct(request("Backlit Sign", "/uploads/backlit.jpg"));
+        long version = objectMapper.readTree(mockMvc.perform(get("/api/products/{id}", id))
+                .andReturn().getResponse().getContentAsByteArray()).get("version").asLong();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        MvcResult result = mockMvc.perform(patch("/api/admin/products/{id}", id)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"version\":" + version + ",\"name\":\"Backlit Panel\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Assert: the response and the snapshot keep the image, which was never read
+        JsonNode patched = objectMapper.readTree(result.getResponse().getContentAsByteArray());
+        assertEquals("Backlit Panel", patched.get("name").asText());
+        assertEquals("/uploads/backlit.jpg", patched.get("images").get(0).get("url").asText());
+        assertEquals(0, statistics.getCollectionStatistics(Product.class.getName() + ".images").getLoadCount());
+        JsonNode product = objectMapper.readTree(mockMvc.perform(get("/api/products/{id}", id))
+                .andReturn().getResponse().getContentAsByteArray());
+        assertEquals(1, product.get("images").size());
+    }
+
+    private UUID createProduct(String name) {
+        return createProduct(request(name, "/uploads/" + name + ".jpg"));
+    }
+
+    private UUID createProduct(ProductRequest request) {
+        return productService.createProduct(request).getId();
+    }
+
+    private static ProductRequest request(String name, String... imageUrls) {
+        List<ProductImageRequest> images = new ArrayList<>();
+        for (int i = 0; i < imageUrls.length; i++) {
+            images.add(ProductImageRequest.builder().url(imageUrls[i]).ordering(i).build());
+        }
+        return ProductRequest.builder()
+                .name(name)
+                .description("Description of " + name)
+                .category(ProductCategory.FLEX_PRINTING)
+                .pricePerSqft(new BigDecimal("12.50"))
+                .images(images)
+                .build();
+    }
+
+    private long connectionsAcquired() {
+        return meterRegistry.find("hikaricp.connections.acquire").timers().stream().mapToLong(Timer::count).sum();
+    }
+}
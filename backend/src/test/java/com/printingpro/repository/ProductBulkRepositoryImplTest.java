@@ -0,0 +1,66 @@
+package com.printingpro.repository;
+
+import com.printingpro.entity.ProductCategory;
+import com.printingpro.repository.ProductBulkRepository.Selection;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the statements built for PostgreSQL, which the H2 tests never run; the H2 forms are
+ * covered end to end by {@code ProductBulkServiceTest}.
+ */
+class ProductBulkRepositoryImplTest {
+
+    @Test
+    void updateSql_OnPostgres_ReturnsTheUpdatedRows() {
+        // Arrange
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        String where = ProductBulkRepositoryImpl.where(
+                Selection.byFilters(ProductCategory.PAMPHLET, new BigDecimal("10"), null), parameters);
+
+        // Act
+        String sql = ProductBulkRepositoryImpl.updateSql(ProductBulkRepositoryImpl.SCALE_PRICE, where, true);
+
+        // Assert
+        assertEquals("UPDATE products SET price_per_sqft = ROUND(price_per_sqft * :factor, 2), "
+                + "version = version + 1, updated_at = :now "
+                + "WHERE category = :category AND price_per_sqft >= :minPrice "
+                + "RETURNING id, category, price_per_sqft, version", sql);
+        assertEquals(Map.of("category", "PAMPHLET", "minPrice", new BigDecimal("10")), parameters);
+    }
+
+    @Test
+    void updateSql_OnPostgresWithoutFilters_UpdatesEveryProduct() {
+        // Act
+        String sql = ProductBulkRepositoryImpl.updateSql(ProductBulkRepositoryImpl.MOVE_CATEGORY,
+                "category = :from AND " + ProductBulkRepositoryImpl.where(
+                        Selection.byFilters(null, null, null), new LinkedHashMap<>()), true);
+
+        // Assert
+        assertEquals("UPDATE products SET category = :to, version = version + 1, updated_at = :now "
+                + "WHERE category = :from AND 1 = 1 RETURNING id, category, price_per_sqft, version", sql);
+    }
+
+    @Test
+    void deleteSql_OnPostgres_ReturnsTheDeletedRows() {
+        // Arrange
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        List<UUID> ids = List.of(UUID.randomUUID());
+
+        // Act
+        String where = ProductBulkRepositoryImpl.where(Selection.byIds(ids), parameters);
+        String sql = ProductBulkRepositoryImpl.deleteSql(true);
+
+        // Assert
+        assertEquals("id IN (:ids)", where);
+        assertEquals(Map.of("ids", ids), parameters);
+        assertEquals("DELETE FROM products WHERE id IN (:ids) RETURNING id, category, price_per_sqft, version", sql);
+    }
+}
@@ -0,0 +1,264 @@
+package com.printingpro.repository;
+
+import com.printingpro.dto.request.ProductField;
+import com.printingpro.dto.request.ProductFilterRequest;
+import com.printingpro.dto.request.SearchMode;
+import com.printingpro.dto.response.CursorPageResponse;
+import com.printingpro.dto.response.ProductResponse;
+import com.printingpro.entity.CatalogVersion;
+import com.printingpro.entity.Product;
+import com.printingpro.entity.ProductCategory;
+import com.printingpro.entity.ProductImage;
+import com.printingpro.mapper.ProductMapper;
+import com.printingpro.repository.projection.ProductSummaryView;
+import com.printingpro.repository.projection.VersionedCategoryCountView;
+import com.printingpro.service.ProductCatalogCache;
+import com.printingpro.service.ProductCategoryCounters;
+import com.printingpro.service.ProductChangeService;
+import com.printingpro.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Tuple;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Repository tests guarding the number of SQL statements issued by catalog reads.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import(ProductMapper.class)
+class ProductRepositoryTest {
+
+    private static final int PRODUCT_COUNT = 20;
+    private static final int IMAGES_PER_PRODUCT = 3;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductMapper productMapper;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            Product product = Product.builder()
+                    .name("Product " + i)
+                    .description("Description " + i)
+                    .category(i % 2 == 0 ? ProductCategory.FLEX_PRINTING : ProductCategory.PAMPHLET)
+                    .pricePerSqft(new BigDecimal("10.00").add(BigDecimal.valueOf(i)))
+                    .createdAt(createdAt.plusMinutes(i))
+                    .build();
+            for (int j = 0; j < IMAGES_PER_PRODUCT; j++) {
+                product.addImage(ProductImage.builder().url("/uploads/" + i + "-" + j + ".jpg").ordering(j).build());
+            }
+            entityManager.persist(product);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllProducts_WithoutSnapshot_UsesBoundedNumberOfStatements() {
+        // Act
+        CursorPageResponse<ProductResponse> page = databaseProductService().getAllProducts(
+                ProductFilterRequest.builder().size(PRODUCT_COUNT).build());
+
+        // Assert: one query for the page's columns, one for the images of all its products
+        assertEquals(PRODUCT_COUNT, page.getItems().size());
+        assertTrue(page.getItems().stream().allMatch(r -> r.getImages().size() == IMAGES_PER_PRODUCT));
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "Expected at most 2 statements but was " + statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void listingsWithoutSnapshot_MatchSearchWildcardsLiterally() {
+        // Arrange: as a wildcard, "_" would match the space in "Product 1"
+        ProductService productService = databaseProductService();
+        ProductFilterRequest filter = ProductFilterRequest.builder().search("t_1").build();
+
+        // Act & Assert
+        assertTrue(productService.getAllProducts(filter).getItems().isEmpty());
+        assertTrue(productService.getProductSummaries(filter).getItems().isEmpty());
+        assertEquals(11, productService.getAllProducts(
+                ProductFilterRequest.builder().search("t 1").size(PRODUCT_COUNT).build()).getItems().size());
+    }
+
+    @Test
+    void findFieldsByFilters_WithCursor_SeeksPastPreviousPage() {
+        // Arrange
+        List<Tuple> first = productRepository.findFieldsByFilters(EnumSet.of(ProductField.NAME),
+                null, null, null, null, null, null, 5);
+        Tuple last = first.get(first.size() - 1);
+
+        // Act
+        List<Tuple> second = productRepository.findFieldsByFilters(EnumSet.of(ProductField.NAME),
+                null, null, null, null, last.get("createdAt", LocalDateTime.class), last.get("id", UUID.class), 5);
+
+        // Assert
+        assertEquals("Product 19", first.get(0).get("name"));
+        assertEquals("Product 14", second.get(0).get("name"));
+        assertTrue(second.stream().map(row -> row.get("id")).noneMatch(first.stream().map(row -> row.get("id")).toList()::contains));
+    }
+
+    @Test
+    void findWithImagesByIdIn_ReturnsReadOnlyEntitiesAndImages() {
+        // Arrange: the test session is read-write, so only the query hints make entities read-only
+        Session session = entityManager.getEntityManager().unwrap(Session.class);
+        assertFalse(session.isDefaultReadOnly());
+        List<UUID> ids = productRepository.findFieldsByFilters(EnumSet.noneOf(ProductField.class),
+                null, null, null, null, null, null, 5).stream().map(row -> row.get("id", UUID.class)).toList();
+
+        // Act
+        List<Product> products = productRepository.findWithImagesByIdIn(ids);
+
+        // Assert
+        assertEquals(5, products.size());
+        assertTrue(products.stream().allMatch(session::isReadOnly));
+        assertTrue(products.stream().flatMap(p -> p.getImages().stream()).allMatch(session::isReadOnly));
+    }
+
+    @Test
+    void findSummariesByFilters_SelectsPrimaryImageInOneStatementWithoutEntities() {
+        // Act
+        Slice<ProductSummaryView> slice = productRepository.findSummariesByFilters(
+                ProductCategory.PAMPHLET, null, null, null, null, null, PageRequest.of(0, 5));
+
+        // Assert: one row per product, carrying the lowest-ordering image
+        List<ProductSummaryView> rows = slice.getContent();
+        assertEquals(5, rows.size());
+        assertTrue(slice.hasNext());
+        assertEquals("Product 19", rows.get(0).getName());
+        assertEquals("/uploads/19-0.jpg", rows.get(0).getImageUrl());
+        assertEquals("Description 19", rows.get(0).getExcerpt());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findFieldsByFilters_SelectsOnlyRequestedColumnsWithoutImages() {
+        // Act
+        List<Tuple> rows = productRepository.findFieldsByFilters(EnumSet.of(ProductField.NAME),
+                null, "Product 1", null, null, null, null, 3);
+
+        // Assert: id and createdAt are always present for the cursor; nothing else is selected
+        assertEquals(3, rows.size());
+        assertEquals("Product 19", rows.get(0).get("name"));
+        assertEquals(List.of("id", "createdAt", "name"),
+                rows.get(0).getElements().stream().map(element -> element.getAlias()).toList());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findImageRows_ReturnsImagesOfAllProductsInOneStatement() {
+        // Arrange
+        List<UUID> ids = productRepository.findFieldsByFilters(EnumSet.noneOf(ProductField.class),
+                null, null, null, null, null, null, 2).stream().map(row -> row.get("id", UUID.class)).toList();
+        statistics.clear();
+
+        // Act
+        List<Tuple> images = productRepository.findImageRows(ids);
+
+        // Assert
+        assertEquals(2 * IMAGES_PER_PRODUCT, images.size());
+        assertEquals(0, images.get(0).get("ordering", Integer.class));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findWithImagesByIdIn_LoadsProductsAndImagesInSingleStatement() {
+        // Arrange
+        List<UUID> ids = productRepository.findFieldsByFilters(EnumSet.noneOf(ProductField.class),
+                null, null, null, null, null, null, 4).stream().map(row -> row.get("id", UUID.class)).toList();
+        statistics.clear();
+
+        // Act
+        List<ProductResponse> responses = productMapper.toResponseList(productRepository.findWithImagesByIdIn(ids));
+
+        // Assert
+        assertEquals(4, responses.size());
+        assertTrue(responses.stream().allMatch(r -> r.getImages().size() == IMAGES_PER_PRODUCT));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void countFacets_GroupsMatchesByCategoryAndPriceBucketInOneStatement() {
+        // Act: matches "Product 1" and "Product 10".."Product 19", priced 11 and 20..29
+        List<Object[]> rows = productRepository.countFacets(
+                SearchMode.LIKE, null, "Product 1", List.of(new BigDecimal("15"), new BigDecimal("25")));
+
+        // Assert
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.merge(row[0] + "/" + row[1], ((Number) row[2]).longValue(), Long::sum);
+        }
+        assertEquals(Map.of(
+                "PAMPHLET/0", 1L,
+                "FLEX_PRINTING/1", 3L,
+                "PAMPHLET/1", 2L,
+                "FLEX_PRINTING/2", 2L,
+                "PAMPHLET/2", 3L), counts);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void countGroupedByCategoryWithVersion_ReadsVersionAndCountsInOneStatement() {
+        // Arrange
+        entityManager.persistAndFlush(new CatalogVersion(CatalogVersion.ROW_ID, 42L));
+        statistics.clear();
+
+        // Act
+        List<VersionedCategoryCountView> rows = productRepository.countGroupedByCategoryWithVersion();
+
+        // Assert
+        Map<ProductCategory, Long> counts = new HashMap<>();
+        rows.forEach(row -> counts.put(row.getCategory(), row.getCount()));
+        assertEquals(Map.of(ProductCategory.FLEX_PRINTING, 10L, ProductCategory.PAMPHLET, 10L), counts);
+        assertTrue(rows.stream().allMatch(row -> row.getVersion() == 42L));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Product service whose catalog cache mock has no snapshot, so listings read the database.
+     */
+    private ProductService databaseProductService() {
+        return new ProductService(productRepository, productMapper,
+                mock(ProductCatalogCache.class), mock(ProductChangeService.class),
+                mock(ProductCategoryCounters.class), mock(ApplicationEventPublisher.class));
+    }
+}
@@ -0,0 +1,151 @@
+package com.printingpro.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for InvertedIndex matching, ranking and incremental updates.
+ */
+class InvertedIndexTest {
+
+    private final UUID banner = UUID.randomUUID();
+    private final UUID flex = UUID.randomUUID();
+    private final UUID pamphlet = UUID.randomUUID();
+
+    private InvertedIndex index() {
+        InvertedIndex index = new InvertedIndex();
+        index.upsert(banner, "Vinyl Banner", "Outdoor vinyl banner for shops");
+        index.upsert(flex, "Flex Board", "Backlit flex board with a vinyl finish");
+        index.upsert(pamphlet, "Pamphlet", "Folded pamphlet printed on glossy paper");
+        return index;
+    }
+
+    @Test
+    void search_WithSeveralTerms_ReturnsOnlyDocumentsContainingAll() {
+        // Act
+        InvertedIndex.SearchResult result = index().search("vinyl board", 10);
+
+        // Assert
+        assertEquals(1, result.totalHits());
+        assertEquals(flex, result.hits().get(0).id());
+    }
+
+    @Test
+    void search_RanksNameMatchesAndRepeatedTermsHigher() {
+        // Act
+        List<InvertedIndex.Hit> hits = index().search("VINYL", 10).hits();
+
+        // Assert
+        assertEquals(List.of(banner, flex), hits.stream().map(InvertedIndex.Hit::id).toList());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    void search_WithUnknownTermOrOnlyStopWords_ReturnsNothing() {
+        // Arrange
+        InvertedIndex index = index();
+
+        // Act & Assert
+        assertEquals(0, index.search("vinyl sticker", 10).totalHits());
+        assertEquals(0, index.search("the of", 10).totalHits());
+    }
+
+    @Test
+    void search_WithLimit_KeepsBestHitsButCountsAll() {
+        // Arrange
+        InvertedIndex index = new InvertedIndex();
+        for (int i = 0; i < 50; i++) {
+            index.upsert(UUID.randomUUID(), "Banner " + i, "banner ".repeat(i % 5 + 1));
+        }
+
+        // Act
+        InvertedIndex.SearchResult result = index.search("banner", 5);
+
+        // Assert
+        assertEquals(50, result.totalHits());
+        assertEquals(5, result.hits().size());
+        for (int i = 1; i < result.hits().size(); i++) {
+            assertTrue(result.hits().get(i - 1).score() >= result.hits().get(i).score());
+        }
+    }
+
+    @Test
+    void upsertAndRemove_AreVisibleToLaterSearches() {
+        // Arrange
+        InvertedIndex index = index();
+
+        // Act
+        index.upsert(banner, "Canvas Print", "Gallery canvas");
+        index.remove(pamphlet);
+
+        // Assert
+        assertEquals(List.of(flex), index.search("vinyl", 10).hits().stream().map(InvertedIndex.Hit::id).toList());
+        assertEquals(banner, index.search("canvas", 10).hits().get(0).id());
+        assertEquals(0, index.search("pamphlet", 10).totalHits());
+        assertEquals(2, index.documentCount());
+    }
+
+    @Test
+    void needsCompaction_WhenRetiredDocumentsDominate_ReturnsTrue() {
+        // Arrange
+        InvertedIndex index = new InvertedIndex();
+        UUID id = UUID.randomUUID();
+
+        // Act
+        for (int i = 0; i < 2000; i++) {
+            index.upsert(id, "Banner", "revision " + i);
+        }
+
+        // Assert
+        assertTrue(index.needsCompaction());
+        assertEquals(1, index.search("banner", 10).totalHits());
+    }
+
+    @Test
+    void search_WithFacetCounters_CountsEveryMatchByFacetKey() {
+        // Arrange
+        InvertedIndex index = new InvertedIndex();
+        for (int i = 0; i < 30; i++) {
+            index.upsert(UUID.randomUUID(), "Banner " + i, i % 3 == 0 ? "vinyl" : "canvas", i % 4);
+        }
+        int[] counts = new int[4];
+
+        // Act
+        InvertedIndex.SearchResult result = index.search("banner vinyl", 2, counts);
+
+        // Assert
+        assertEquals(10, result.totalHits());
+        assertEquals(2, result.hits().size());
+        assertArrayEquals(new int[]{3, 2, 2, 3}, counts);
+    }
+
+    @Test
+    void correct_ReplacesUnknownTermsWithClosestIndexedTerm() {
+        // Arrange
+        InvertedIndex index = index();
+
+        // Act & Assert
+        assertEquals("vinyl banner", index.correct("Vinly Baner"));
+        assertEquals("pamphlet", index.correct("pamflet"));
+        assertEquals("flex xyzzy", index.correct("flex xyzzy"));
+        assertEquals(1, index.search(index.correct("vinly baner"), 10).totalHits());
+    }
+
+    @Test
+    void gallop_FindsFirstEntryAtOrAfterTarget() {
+        // Arrange
+        int[] docs = {1, 3, 5, 7, 9, 11, 13, 15, 17, 19, 21};
+        InvertedIndex.Postings list = new InvertedIndex.Postings(docs, new int[docs.length], docs.length);
+
+        // Act & Assert
+        assertEquals(0, InvertedIndex.gallop(list, 0, 0));
+        assertEquals(3, InvertedIndex.gallop(list, 0, 7));
+        assertEquals(4, InvertedIndex.gallop(list, 2, 8));
+        assertEquals(10, InvertedIndex.gallop(list, 1, 21));
+        assertEquals(docs.length, InvertedIndex.gallop(list, 0, 22));
+    }
+}
@@ -0,0 +1,76 @@
+package com.printingpro.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SuggestionTrie lookups and precomputed completions.
+ */
+class SuggestionTrieTest {
+
+    private static List<String> wordKeys(String text) {
+        String normalized = SuggestionTrie.normalize(text);
+        List<String> keys = new ArrayList<>();
+        keys.add(normalized);
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            keys.add(normalized.substring(i + 1));
+        }
+        return keys;
+    }
+
+    private final SuggestionTrie<String> trie = SuggestionTrie.build(
+            List.of("Flex Printing", "Pamphlet", "Vinyl Banner", "Flex Banner", "Banner Stand", "Business Cards"),
+            SuggestionTrieTest::wordKeys, 3);
+
+    @Test
+    void complete_ReturnsEntriesWithAWordStartingWithPrefixInEntryOrder() {
+        // Act & Assert
+        assertEquals(List.of("Vinyl Banner", "Flex Banner", "Banner Stand"), trie.complete("ban", 10));
+        assertEquals(List.of("Flex Printing", "Flex Banner"), trie.complete("FLEX", 10));
+        assertEquals(List.of("Flex Banner"), trie.complete("flex  b", 10));
+    }
+
+    @Test
+    void complete_KeepsOnlyTopKPerNode() {
+        // Act & Assert
+        assertEquals(3, trie.complete("b", 10).size());
+        assertEquals(List.of("Vinyl Banner"), trie.complete("b", 1));
+    }
+
+    @Test
+    void complete_WhenPrefixDivergesInsideEdge_ReturnsNothing() {
+        // Act & Assert
+        assertEquals(List.of(), trie.complete("pamphx", 10));
+        assertEquals(List.of(), trie.complete("zebra", 10));
+        assertEquals(List.of(), trie.complete("  ", 10));
+        assertEquals(List.of("Pamphlet"), trie.complete("pamphlet", 10));
+    }
+
+    @Test
+    void complete_AgreesWithLinearScan() {
+        // Arrange
+        String[] words = {"a1", "ab", "abc", "abd", "b", "ba", "bab", "c"};
+        List<String> entries = new ArrayList<>();
+        for (String first : words) {
+            for (String second : words) {
+                entries.add(first + " " + second);
+            }
+        }
+        SuggestionTrie<String> big = SuggestionTrie.build(entries, SuggestionTrieTest::wordKeys, 5);
+
+        // Act & Assert
+        for (String prefix : List.of("a", "ab", "abc", "b", "ba", "a1 b", "ab a", "c c", "x")) {
+            List<String> expected = entries.stream()
+                    .filter(entry -> wordKeys(entry).stream().anyMatch(key -> key.startsWith(prefix)))
+                    .limit(5)
+                    .toList();
+            assertEquals(expected, big.complete(prefix, 5), prefix);
+        }
+        // Two keys per entry; a compressed trie has fewer than two nodes per key
+        assertTrue(big.nodeCount() <= 2 * 2 * entries.size() + 1);
+    }
+}
@@ -0,0 +1,95 @@
+package com.printingpro.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for VocabularyTrie distance search.
+ */
+class VocabularyTrieTest {
+
+    @Test
+    void search_FindsCommonTypos() {
+        // Arrange
+        VocabularyTrie trie = new VocabularyTrie();
+        for (String term : List.of("vinyl", "banner", "pamphlet", "flex", "visiting", "card", "canvas")) {
+            trie.add(term);
+        }
+        Map<String, Integer> found = new HashMap<>();
+
+        // Act
+        trie.search("vinly", 2, found::put);
+        trie.search("pamflet", 2, found::put);
+
+        // Assert
+        assertEquals(Map.of("vinyl", 1, "pamphlet", 2), found);
+    }
+
+    @Test
+    void search_AgreesWithLinearScan() {
+        // Arrange
+        Random random = new Random(7);
+        List<String> vocabulary = new ArrayList<>();
+        VocabularyTrie trie = new VocabularyTrie();
+        for (int i = 0; i < 2000; i++) {
+            String term = randomTerm(random);
+            vocabulary.add(term);
+            trie.add(term);
+        }
+
+        for (int q = 0; q < 50; q++) {
+            String query = randomTerm(random);
+            for (int maxDistance = 1; maxDistance <= 2; maxDistance++) {
+                Map<String, Integer> expected = new HashMap<>();
+                for (String term : vocabulary) {
+                    int distance = optimalStringAlignment(query, term);
+                    if (distance <= maxDistance) {
+                        expected.put(term, distance);
+                    }
+                }
+                Map<String, Integer> actual = new HashMap<>();
+
+                // Act
+                trie.search(query, maxDistance, actual::put);
+
+                // Assert
+                assertEquals(expected, actual, query);
+            }
+        }
+        assertEquals(vocabulary.stream().distinct().count(), trie.size());
+    }
+
+    private static String randomTerm(Random random) {
+        // Small alphabet so that near neighbours are common
+        char[] chars = new char[3 + random.nextInt(4)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(4));
+        }
+        return new String(chars);
+    }
+
+    private static int optimalStringAlignment(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                if (i == 0 || j == 0) {
+                    d[i][j] = i + j;
+                } else {
+                    int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                    d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                    if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                        d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                    }
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+}
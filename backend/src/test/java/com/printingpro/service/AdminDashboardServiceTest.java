@@ -0,0 +1,128 @@
+package com.printingpro.service;
+
+import com.printingpro.config.CatalogProperties;
+import com.printingpro.dto.response.AdminDashboardResponse;
+import com.printingpro.dto.response.AdminDashboardResponse.Part;
+import com.printingpro.dto.response.ContactResponse;
+import com.printingpro.dto.response.CursorPageResponse;
+import com.printingpro.dto.response.ProductResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminDashboardServiceTest {
+
+    private static final long PART_MILLIS = 300;
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private ContactService contactService;
+
+    private final CatalogProperties catalogProperties = new CatalogProperties();
+    private AdminDashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        catalogProperties.getDashboard().setTimeout(Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dashboardService.shutdown();
+    }
+
+    @Test
+    void getDashboard_ReadsPartsInParallel() {
+        // Arrange
+        dashboardService = service();
+        stubProducts(PART_MILLIS);
+        when(contactService.getRecentMessages(anyInt())).thenAnswer(after(PART_MILLIS, List.of(new ContactResponse())));
+
+        // Act
+        long started = System.nanoTime();
+        AdminDashboardResponse dashboard = dashboardService.getDashboard();
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        // Assert: four parts of 300 ms each take about 300 ms together
+        assertTrue(dashboard.getUnavailable().isEmpty());
+        assertEquals(1, dashboard.getProducts().getItems().size());
+        assertEquals(Map.of("PAMPHLET", 2L), dashboard.getCategoryCounts());
+        assertEquals(2L, dashboard.getTotalProducts());
+        assertEquals(1, dashboard.getRecentMessages().size());
+        assertTrue(elapsedMillis < 3 * PART_MILLIS, "Took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void getDashboard_WhenPartTimesOut_ReturnsTheOthers() {
+        // Arrange
+        catalogProperties.getDashboard().getTimeouts().put(Part.RECENT_MESSAGES, Duration.ofMillis(100));
+        dashboardService = service();
+        stubProducts(0);
+        when(contactService.getRecentMessages(anyInt())).thenAnswer(after(5_000, List.of()));
+
+        // Act
+        long started = System.nanoTime();
+        AdminDashboardResponse dashboard = dashboardService.getDashboard();
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        // Assert
+        assertEquals(List.of(Part.RECENT_MESSAGES), dashboard.getUnavailable());
+        assertNull(dashboard.getRecentMessages());
+        assertEquals(2L, dashboard.getTotalProducts());
+        assertTrue(elapsedMillis < 1_000, "Took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void getDashboard_WhenPartFails_ReturnsTheOthers() {
+        // Arrange
+        dashboardService = service();
+        stubProducts(0);
+        when(contactService.getRecentMessages(anyInt())).thenThrow(new IllegalStateException("database down"));
+
+        // Act
+        AdminDashboardResponse dashboard = dashboardService.getDashboard();
+
+        // Assert
+        assertEquals(List.of(Part.RECENT_MESSAGES), dashboard.getUnavailable());
+        assertNotNull(dashboard.getProducts());
+        assertNotNull(dashboard.getCategoryCounts());
+    }
+
+    private AdminDashboardService service() {
+        return new AdminDashboardService(productService, contactService, catalogProperties, new SimpleMeterRegistry());
+    }
+
+    private void stubProducts(long millis) {
+        CursorPageResponse<ProductResponse> page = CursorPageResponse.<ProductResponse>builder()
+                .items(List.of(new ProductResponse()))
+                .size(1)
+                .build();
+        when(productService.getAllProducts(any())).thenAnswer(after(millis, page));
+        when(productService.getProductCountByCategory()).thenAnswer(after(millis, Map.of("PAMPHLET", 2L)));
+        when(productService.getTotalProductCount()).thenAnswer(after(millis, 2L));
+    }
+
+    private static Answer<Object> after(long millis, Object result) {
+        return invocation -> {
+            Thread.sleep(millis);
+            return result;
+        };
+    }
+}
@@ -0,0 +1,263 @@
+package com.printingpro.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.printingpro.config.CatalogProperties;
+import com.printingpro.dto.response.ProductChangeResponse;
+import com.printingpro.dto.response.ProductChangesResponse;
+import com.printingpro.entity.ProductCategory;
+import com.printingpro.event.ProductChangedEvent;
+import com.printingpro.event.ProductChangedEvent.ChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogEventStreamTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE);
+
+    @Mock
+    private ProductChangeService productChangeService;
+
+    private CatalogProperties catalogProperties;
+    private CatalogEventStream stream;
+
+    @BeforeEach
+    void setUp() {
+        catalogProperties = new CatalogProperties();
+        catalogProperties.getStream().setMaxReplay(3);
+        catalogProperties.getStream().setQueueCapacity(4);
+        stream = newStream();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.shutdown();
+    }
+
+    @Test
+    void onProductChanged_DeliversToEverySubscriber() throws InterruptedException {
+        // Arrange
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        stream.subscribe(first, null);
+        stream.subscribe(second, null);
+
+        // Act
+        stream.onProductChanged(deleted(5));
+        stream.onProductChanged(deleted(6));
+
+        // Assert
+        await(() -> first.ids().size() == 2 && second.ids().size() == 2);
+        assertEquals(List.of(5L, 6L), first.ids());
+        assertEquals(List.of(5L, 6L), second.ids());
+        assertTrue(first.text().contains("event:" + CatalogEventStream.CHANGE_EVENT));
+    }
+
+    @Test
+    void subscribe_WithLastEventId_ReplaysMissedChangesOnceBeforeLiveOnes() throws InterruptedException {
+        // Arrange
+        when(productChangeService.getChanges(3L, null)).thenReturn(page(5, 4, 5));
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        // Act: version 5 is also broadcast live, as it would be if it committed during the replay
+        stream.subscribe(emitter, "3");
+        stream.onProductChanged(deleted(5));
+        stream.onProductChanged(deleted(6));
+
+        // Assert
+        await(() -> emitter.ids().size() >= 3);
+        assertEquals(List.of(4L, 5L, 6L), emitter.ids());
+    }
+
+    @Test
+    void subscribe_TooFarBehind_SendsResetAndCloses() throws InterruptedException {
+        // Arrange
+        when(productChangeService.getChanges(1L, null)).thenReturn(page(5, 2, 3, 4, 5));
+        when(productChangeService.currentVersion()).thenReturn(5L);
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        // Act
+        stream.subscribe(emitter, "1");
+
+        // Assert
+        await(() -> emitter.completed);
+        assertTrue(emitter.text().contains("event:" + CatalogEventStream.RESET_EVENT));
+        assertEquals(List.of(5L), emitter.ids());
+        assertEquals(0, stream.subscriberCount());
+    }
+
+    @Test
+    void slowReplay_DoesNotDelayLiveDelivery() throws InterruptedException {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        when(productChangeService.getChanges(3L, null)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return page(4, 4);
+        });
+        RecordingEmitter resuming = new RecordingEmitter();
+        RecordingEmitter live = new RecordingEmitter();
+        stream.subscribe(resuming, "3");
+        stream.subscribe(live, null);
+
+        // Act
+        stream.onProductChanged(deleted(5));
+
+        // Assert
+        await(() -> live.ids().size() == 1);
+        assertTrue(resuming.ids().isEmpty());
+        release.countDown();
+        await(() -> resuming.ids().size() == 2);
+        assertEquals(List.of(4L, 5L), resuming.ids());
+    }
+
+    @Test
+    void slowSubscriber_IsDroppedWithoutStallingTheOthers() throws InterruptedException {
+        // Arrange
+        RecordingEmitter slow = new RecordingEmitter(new CountDownLatch(1));
+        RecordingEmitter fast = new RecordingEmitter();
+        stream.subscribe(slow, null);
+        stream.subscribe(fast, null);
+
+        // Act: the fast client keeps up; the slow one is stuck in its first write while its queue fills
+        for (long version = 1; version <= 10; version++) {
+            int delivered = (int) version;
+            stream.onProductChanged(deleted(version));
+            await(() -> fast.ids().size() == delivered);
+        }
+
+        // Assert
+        assertEquals(1, stream.subscriberCount());
+        slow.release.countDown();
+        await(() -> slow.completed);
+        assertTrue(slow.ids().size() < 10);
+    }
+
+    @Test
+    void senders_AreBoundedByTheConfiguredThreadCount() throws InterruptedException {
+        // Arrange
+        stream.shutdown();
+        catalogProperties.getStream().setSenderThreads(2);
+        stream = newStream();
+        CountDownLatch release = new CountDownLatch(1);
+        List<RecordingEmitter> slow = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            RecordingEmitter emitter = new RecordingEmitter(release);
+            slow.add(emitter);
+            stream.subscribe(emitter, null);
+        }
+
+        // Act
+        stream.onProductChanged(deleted(1));
+
+        // Assert: two clients are being written to while the others wait for a free sender
+        await(() -> writing(slow) == 2);
+        Thread.sleep(100);
+        assertEquals(2, writing(slow));
+        release.countDown();
+        await(() -> slow.stream().allMatch(emitter -> emitter.ids().size() == 1));
+    }
+
+    private CatalogEventStream newStream() {
+        return new CatalogEventStream(productChangeService, new ObjectMapper().findAndRegisterModules(),
+                new SimpleMeterRegistry(), catalogProperties);
+    }
+
+    private static long writing(List<RecordingEmitter> emitters) {
+        return emitters.stream().filter(emitter -> emitter.writing).count();
+    }
+
+    private static ProductChangedEvent deleted(long version) {
+        return ProductChangedEvent.deleted(UUID.randomUUID(), ProductCategory.PAMPHLET, version);
+    }
+
+    private static ProductChangesResponse page(long version, long... changes) {
+        List<ProductChangeResponse> items = new ArrayList<>();
+        for (long change : changes) {
+            items.add(ProductChangeResponse.builder()
+                    .version(change)
+                    .type(ChangeType.DELETED)
+                    .productId(UUID.randomUUID())
+                    .build());
+        }
+        return ProductChangesResponse.builder().version(version).changes(items).build();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for the stream");
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Records what is sent instead of writing to a response; optionally blocks in the first send.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final StringBuffer sent = new StringBuffer();
+        private final CountDownLatch release;
+        private volatile boolean completed;
+        private volatile boolean writing;
+
+        RecordingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            writing = true;
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            builder.build().forEach(part -> sent.append(part.getData()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            completed = true;
+        }
+
+        String text() {
+            return sent.toString();
+        }
+
+        List<Long> ids() {
+            List<Long> ids = new ArrayList<>();
+            Matcher matcher = EVENT_ID.matcher(sent);
+            while (matcher.find()) {
+                ids.add(Long.parseLong(matcher.group(1)));
+            }
+            return ids;
+        }
+    }
+}
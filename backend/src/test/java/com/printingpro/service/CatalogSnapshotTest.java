@@ -0,0 +1,123 @@
+package com.printingpro.service;
+
+import com.printingpro.dto.response.CursorPageResponse;
+import com.printingpro.dto.response.ProductResponse;
+import com.printingpro.entity.ProductCategory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CatalogSnapshot listing and patching.
+ */
+class CatalogSnapshotTest {
+
+    private List<ProductResponse> products;
+
+    @BeforeEach
+    void setUp() {
+        // Several products share a timestamp so the id tie-breaker is exercised
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+        products = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            products.add(product("Product " + i, i % 2 == 0 ? ProductCategory.FLEX_PRINTING : ProductCategory.PAMPHLET,
+                    createdAt.plusMinutes(i / 3), new BigDecimal(10 + i)));
+        }
+    }
+
+    @Test
+    void page_WhenFollowingCursors_VisitsEveryProductOnceInListingOrder() {
+        // Arrange
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, products);
+        List<ProductResponse> visited = new ArrayList<>();
+
+        // Act
+        ProductCursor cursor = null;
+        do {
+            CursorPageResponse<ProductResponse> page = snapshot.page(null, null, null, null, cursor, 3);
+            visited.addAll(page.getItems());
+            cursor = ProductCursor.decode(page.getNextCursor());
+        } while (cursor != null);
+
+        // Assert
+        List<ProductResponse> expected = new ArrayList<>(products);
+        expected.sort(CatalogSnapshot.LISTING_ORDER);
+        assertEquals(expected, visited);
+    }
+
+    @Test
+    void page_WithFilters_ReturnsOnlyMatchingProducts() {
+        // Arrange
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, products);
+
+        // Act
+        CursorPageResponse<ProductResponse> page = snapshot.page(
+                ProductCategory.PAMPHLET, "product", new BigDecimal("13"), new BigDecimal("17"), null, 10);
+
+        // Assert
+        List<String> names = page.getItems().stream().map(ProductResponse::getName).toList();
+        assertEquals(3, names.size());
+        assertEquals("Product 7", names.get(0));
+        assertTrue(names.containsAll(List.of("Product 3", "Product 5")));
+        assertFalse(page.isHasMore());
+    }
+
+    @Test
+    void withUpsertedAndRemoved_ProduceNewVersionsWithoutTouchingOriginal() {
+        // Arrange
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, products);
+        ProductResponse added = product("New", ProductCategory.PAMPHLET, LocalDateTime.of(2025, 1, 1, 0, 0), BigDecimal.ONE);
+
+        // Act
+        CatalogSnapshot upserted = snapshot.withUpserted(2, added);
+        CatalogSnapshot removed = upserted.withRemoved(3, products.get(0).getId());
+
+        // Assert
+        assertEquals(10, snapshot.size());
+        assertEquals(added, upserted.getProducts().get(0));
+        assertEquals(11, upserted.size());
+        assertNull(removed.findById(products.get(0).getId()));
+        assertEquals(3, removed.getVersion());
+    }
+
+    @Test
+    void withUpsertedAll_MergesIntoListingOrderAndReplacesExisting() {
+        // Arrange
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, products.subList(0, 5));
+        ProductResponse replaced = product("Renamed", ProductCategory.PAMPHLET,
+                products.get(2).getCreatedAt(), BigDecimal.ONE);
+        replaced.setId(products.get(2).getId());
+        List<ProductResponse> batch = new ArrayList<>(products.subList(5, 10));
+        batch.add(replaced);
+
+        // Act
+        CatalogSnapshot upserted = snapshot.withUpserted(2, batch);
+
+        // Assert: same result as building the snapshot from scratch
+        List<ProductResponse> expected = new ArrayList<>(products);
+        expected.set(2, replaced);
+        assertEquals(CatalogSnapshot.of(2, expected).getProducts(), upserted.getProducts());
+        assertEquals("Renamed", upserted.findById(replaced.getId()).getName());
+        assertEquals(5, snapshot.size());
+    }
+
+    private static ProductResponse product(String name, ProductCategory category, LocalDateTime createdAt, BigDecimal price) {
+        return ProductResponse.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .description("Description of " + name)
+                .category(category)
+                .pricePerSqft(price)
+                .negotiable(true)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,263 @@
+package com.printingpro.service;
+
+import com.printingpro.dto.request.ProductBulkRequest;
+import com.printingpro.dto.request.ProductBulkRequest.Operation;
+import com.printingpro.dto.request.ProductImageRequest;
+import com.printingpro.dto.request.ProductRequest;
+import com.printingpro.dto.response.ProductBulkResponse;
+import com.printingpro.dto.response.ProductChangeResponse;
+import com.printingpro.entity.Product;
+import com.printingpro.entity.ProductCategory;
+import com.printingpro.event.ProductChangedEvent.ChangeType;
+import com.printingpro.exception.ValidationException;
+import com.printingpro.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests bulk operations end to end: the set-based write, the second-level cache, the change log,
+ * and the in-memory snapshot and category counters. Each test works in its own price band, since
+ * they share one database.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.url=jdbc:h2:mem:bulk;DB_CLOSE_DELAY=-1",
+        "catalog.search.memory-index-enabled=false",
+        "catalog.bulk.max-products=3",
+        "MAIL_FROM=shop@example.com",
+        "MAIL_TO=shop@example.com",
+        "MAIL_USERNAME=shop",
+        "MAIL_PASSWORD=secret",
+        "ADMIN_PASSWORD=secret"
+})
+@ActiveProfiles("test")
+class ProductBulkServiceTest {
+
+    @Autowired
+    private ProductBulkService bulkService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductChangeService productChangeService;
+
+    @Autowired
+    private ProductCatalogCache catalogCache;
+
+    @Autowired
+    private ProductCategoryCounters categoryCounters;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private EmailService emailService;
+
+    @MockBean
+    private ProductSuggestionService suggestionService;
+
+    @Test
+    void adjustPrice_ByCategoryAndPriceRange_UpdatesOnlyMatchingProducts() {
+        // Arrange
+        UUID first = create("Flex A", ProductCategory.FLEX_PRINTING, "500.00");
+        UUID second = create("Flex B", ProductCategory.FLEX_PRINTING, "510.05");
+        UUID pamphlet = create("Pamphlet", ProductCategory.PAMPHLET, "505.00");
+        UUID outside = create("Flex C", ProductCategory.FLEX_PRINTING, "650.00");
+        // Cached by this read; the bulk statement must not leave the old price behind
+        assertEquals(0L, productRepository.findById(first).orElseThrow().getVersion());
+        long version = productChangeService.currentVersion();
+
+        // Act
+        ProductBulkResponse response = bulkService.apply(ProductBulkRequest.builder()
+                .operation(Operation.ADJUST_PRICE)
+                .category(ProductCategory.FLEX_PRINTING)
+                .minPrice(new BigDecimal("500"))
+                .maxPrice(new BigDecimal("600"))
+                .pricePercent(new BigDecimal("10"))
+                .build());
+
+        // Assert
+        assertEquals(2, response.getAffected());
+        assertEquals(version + 2, response.getVersion());
+        Product updated = productRepository.findById(first).orElseThrow();
+        assertEquals(0, new BigDecimal("550.00").compareTo(updated.getPricePerSqft()));
+        assertEquals(1L, updated.getVersion());
+        assertEquals(0, new BigDecimal("561.06").compareTo(price(second)));
+        assertEquals(0, new BigDecimal("505.00").compareTo(price(pamphlet)));
+        assertEquals(0, new BigDecimal("650.00").compareTo(price(outside)));
+
+        assertEquals(0, new BigDecimal("550.00").compareTo(catalogCache.peek().findById(first).getPricePerSqft()));
+        List<ProductChangeResponse> changes = productChangeService.getChanges(version, null).getChanges();
+        assertEquals(2, changes.size());
+        assertTrue(changes.stream().allMatch(change -> change.getType() == ChangeType.UPDATED));
+    }
+
+    @Test
+    void changeCategory_ByIds_MovesCountersAndSkipsProductsAlreadyThere() {
+        // Arrange
+        UUID flex = create("Banner", ProductCategory.FLEX_PRINTING, "700.00");
+        UUID pamphlet = create("Leaflet", ProductCategory.PAMPHLET, "700.00");
+        Map<ProductCategory, Long> counts = categoryCounters.counts();
+
+        // Act
+        ProductBulkResponse response = bulkService.apply(ProductBulkRequest.builder()
+                .operation(Operation.CHANGE_CATEGORY)
+                .ids(List.of(flex, pamphlet))
+                .targetCategory(ProductCategory.PAMPHLET)
+                .build());
+
+        // Assert
+        assertEquals(1, response.getAffected());
+        assertEquals(ProductCategory.PAMPHLET, productRepository.findById(flex).orElseThrow().getCategory());
+        assertEquals(0L, productRepository.findById(pamphlet).orElseThrow().getVersion());
+        assertEquals(counts.get(ProductCategory.FLEX_PRINTING) - 1, categoryCounters.counts().get(ProductCategory.FLEX_PRINTING));
+        assertEquals(counts.get(ProductCategory.PAMPHLET) + 1, categoryCounters.counts().get(ProductCategory.PAMPHLET));
+        assertEquals(ProductCategory.PAMPHLET, catalogCache.peek().findById(flex).getCategory());
+    }
+
+    @Test
+    void changeCategory_ByPriceRange_ReportsTheRowsMovedBeyondTheIdLimit() {
+        // Arrange: four products to move, more than a request may list by id
+        List<UUID> flex = List.of(
+                create("Standee A", ProductCategory.FLEX_PRINTING, "910.00"),
+                create("Standee B", ProductCategory.FLEX_PRINTING, "920.00"),
+                create("Standee C", ProductCategory.FLEX_PRINTING, "930.00"),
+                create("Standee D", ProductCategory.FLEX_PRINTING, "940.00"));
+        UUID pamphlet = create("Brochure", ProductCategory.PAMPHLET, "950.00");
+        Map<ProductCategory, Long> counts = categoryCounters.counts();
+        long version = productChangeService.currentVersion();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        ProductBulkResponse response = bulkService.apply(ProductBulkRequest.builder()
+                .operation(Operation.CHANGE_CATEGORY)
+                .minPrice(new BigDecimal("900"))
+                .maxPrice(new BigDecimal("999"))
+                .targetCategory(ProductCategory.PAMPHLET)
+                .build());
+
+        // Assert: the changes were built from the snapshot, without re-reading the products
+        assertEquals(4, response.getAffected());
+        assertEquals(version + 4, response.getVersion());
+        assertEquals(0, statistics.getEntityStatistics(Product.class.getName()).getLoadCount());
+        for (UUID id : flex) {
+            Product moved = productRepository.findById(id).orElseThrow();
+            assertEquals(ProductCategory.PAMPHLET, moved.getCategory());
+            assertEquals(1L, moved.getVersion());
+            assertEquals(ProductCategory.PAMPHLET, catalogCache.peek().findById(id).getCategory());
+            assertEquals(1L, catalogCache.peek().findById(id).getVersion());
+        }
+        assertEquals(0L, productRepository.findById(pamphlet).orElseThrow().getVersion());
+        assertEquals(counts.get(ProductCategory.FLEX_PRINTING) - 4, categoryCounters.counts().get(ProductCategory.FLEX_PRINTING));
+        assertEquals(counts.get(ProductCategory.PAMPHLET) + 4, categoryCounters.counts().get(ProductCategory.PAMPHLET));
+    }
+
+    @Test
+    void delete_ByIds_RemovesProductsWithImagesAndRecordsTombstones() {
+        // Arrange
+        UUID first = create("Poster", ProductCategory.PAMPHLET, "800.00");
+        UUID second = create("Hoarding", ProductCategory.FLEX_PRINTING, "800.00");
+        long total = categoryCounters.total();
+        long version = productChangeService.currentVersion();
+
+        // Act
+        ProductBulkResponse response = bulkService.apply(ProductBulkRequest.builder()
+                .operation(Operation.DELETE)
+                .ids(List.of(first, second, UUID.randomUUID()))
+                .build());
+
+        // Assert
+        assertEquals(2, response.getAffected());
+        assertTrue(productRepository.findAllById(List.of(first, second)).isEmpty());
+        assertEquals(total - 2, categoryCounters.total());
+        assertNull(catalogCache.peek().findById(first));
+        List<ProductChangeResponse> changes = productChangeService.getChanges(version, null).getChanges();
+        assertEquals(List.of(ChangeType.DELETED, ChangeType.DELETED), changes.stream().map(ProductChangeResponse::getType).toList());
+    }
+
+    @Test
+    void adjustPrice_WhenAPriceWouldDropToZero_WritesNothing() {
+        // Arrange
+        UUID cheap = create("Sticker", ProductCategory.PAMPHLET, "4.00");
+        UUID dear = create("Board", ProductCategory.PAMPHLET, "40.00");
+
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> bulkService.apply(ProductBulkRequest.builder()
+                .operation(Operation.ADJUST_PRICE)
+                .ids(List.of(cheap, dear))
+                .priceAmount(new BigDecimal("-5"))
+                .build()));
+        assertEquals(0, new BigDecimal("40.00").compareTo(price(dear)));
+    }
+
+    @Test
+    void adjustPrice_WhenProductsAreReRead_RestoresTheSessionCacheMode() {
+        // Arrange
+        UUID id = create("Decal", ProductCategory.PAMPHLET, "1200.00");
+        ProductBulkRequest request = ProductBulkRequest.builder()
+                .operation(Operation.ADJUST_PRICE)
+                .ids(List.of(id))
+                .priceAmount(BigDecimal.ONE)
+                .build();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            // Leaves the snapshot entry behind, so the operation has to re-read the product
+            entityManager.createNativeQuery("UPDATE products SET version = version + 1 WHERE id = :id")
+                    .setParameter("id", id)
+                    .executeUpdate();
+
+            // Act
+            ProductBulkResponse response = bulkService.apply(request);
+
+            // Assert
+            assertEquals(1, response.getAffected());
+            assertEquals(CacheMode.NORMAL, session.getCacheMode());
+        });
+        assertEquals(0, new BigDecimal("1201.00").compareTo(price(id)));
+        assertEquals(2L, catalogCache.peek().findById(id).getVersion());
+    }
+
+    private UUID create(String name, ProductCategory category, String price) {
+        return productService.createProduct(ProductRequest.builder()
+                .name(name)
+                .description("Description of " + name)
+                .category(category)
+                .pricePerSqft(new BigDecimal(price))
+                .images(List.of(ProductImageRequest.builder().url("/uploads/" + name + ".jpg").build()))
+                .build()).getId();
+    }
+
+    private BigDecimal price(UUID id) {
+        return productRepository.findById(id).orElseThrow().getPricePerSqft();
+    }
+}
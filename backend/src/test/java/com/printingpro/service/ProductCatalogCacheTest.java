@@ -0,0 +1,73 @@
+package com.printingpro.service;
+
+import com.printingpro.config.CatalogProperties;
+import com.printingpro.dto.response.ProductResponse;
+import com.printingpro.entity.ProductCategory;
+import com.printingpro.event.ProductChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCatalogCacheTest {
+
+    @Mock
+    private ProductCatalogLoader catalogLoader;
+
+    @Mock
+    private ProductChangeService productChangeService;
+
+    private ProductCatalogCache cache;
+    private UUID id;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProductCatalogCache(catalogLoader, productChangeService, new SimpleMeterRegistry(), new CatalogProperties());
+        id = UUID.randomUUID();
+        when(productChangeService.currentVersion()).thenReturn(4L);
+        when(catalogLoader.loadAll()).thenReturn(List.of(product("Loaded")));
+        cache.rebuild();
+    }
+
+    @Test
+    void onProductChanged_WhenCallbacksRunOutOfCommitOrder_KeepsTheNewerProduct() {
+        // Act: version 6 committed after version 5, but its callback ran first
+        cache.onProductChanged(ProductChangedEvent.updated(product("Second"), ProductCategory.PAMPHLET, 6));
+        cache.onProductChanged(ProductChangedEvent.updated(product("First"), ProductCategory.PAMPHLET, 5));
+
+        // Assert
+        assertEquals("Second", cache.peek().findById(id).getName());
+    }
+
+    @Test
+    void onProductChanged_SkipsChangesTheRebuildAlreadyIncludes() {
+        // Act
+        cache.onProductChanged(ProductChangedEvent.deleted(id, ProductCategory.PAMPHLET, 4));
+
+        // Assert
+        assertEquals("Loaded", cache.peek().findById(id).getName());
+    }
+
+    private ProductResponse product(String name) {
+        return ProductResponse.builder()
+                .id(id)
+                .name(name)
+                .description("Description")
+                .category(ProductCategory.PAMPHLET)
+                .pricePerSqft(BigDecimal.TEN)
+                .negotiable(true)
+                .createdAt(LocalDateTime.of(2024, 1, 1, 10, 0))
+                .build();
+    }
+}
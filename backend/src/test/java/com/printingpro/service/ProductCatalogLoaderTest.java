@@ -0,0 +1,108 @@
+package com.printingpro.service;
+
+import com.printingpro.config.CatalogProperties;
+import com.printingpro.dto.request.ProductField;
+import com.printingpro.dto.response.ProductImageResponse;
+import com.printingpro.dto.response.ProductResponse;
+import com.printingpro.entity.Product;
+import com.printingpro.entity.ProductCategory;
+import com.printingpro.entity.ProductImage;
+import com.printingpro.mapper.ProductMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the full catalog load against the test database.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "catalog.cache.load-fetch-size=4"
+})
+@ActiveProfiles("test")
+@Import({ProductCatalogLoader.class, ProductMapper.class, CatalogProperties.class})
+class ProductCatalogLoaderTest {
+
+    private static final int PRODUCT_COUNT = 10;
+
+    @Autowired
+    private ProductCatalogLoader catalogLoader;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            Product product = Product.builder()
+                    .name("Product " + i)
+                    .description("Description " + i)
+                    .category(ProductCategory.FLEX_PRINTING)
+                    .pricePerSqft(BigDecimal.TEN)
+                    .createdAt(createdAt.plusMinutes(i))
+                    .build();
+            product.addImage(ProductImage.builder().url("/uploads/" + i + "-b.jpg").ordering(1).build());
+            product.addImage(ProductImage.builder().url("/uploads/" + i + "-a.jpg").ordering(0).build());
+            entityManager.persist(product);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void loadAll_ReadsEveryProductWithSortedImagesInTwoStatementsWithoutEntities() {
+        // Act
+        List<ProductResponse> products = catalogLoader.loadAll();
+
+        // Assert: images were inserted out of display order
+        assertEquals(PRODUCT_COUNT, products.size());
+        assertEquals(PRODUCT_COUNT, new HashSet<>(products.stream().map(ProductResponse::getId).toList()).size());
+        assertTrue(products.stream().allMatch(p -> p.getImages().stream().map(ProductImageResponse::getOrdering)
+                .toList().equals(List.of(0, 1))));
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void forEachRow_SelectsOnlyRequestedColumns() {
+        // Arrange
+        List<UUID> ids = new ArrayList<>();
+
+        // Act
+        catalogLoader.forEachRow(EnumSet.of(ProductField.NAME), row -> {
+            ids.add(row.get(ProductField.ID.getFieldName(), UUID.class));
+            assertFalse(row.getElements().stream().anyMatch(e -> "description".equals(e.getAlias())));
+        });
+
+        // Assert
+        assertEquals(PRODUCT_COUNT, new HashSet<>(ids).size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
@@ -0,0 +1,136 @@
+package com.printingpro.service;
+
+import com.printingpro.dto.response.ProductResponse;
+import com.printingpro.entity.ProductCategory;
+import com.printingpro.event.ProductChangedEvent;
+import com.printingpro.repository.ProductRepository;
+import com.printingpro.repository.projection.VersionedCategoryCountView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCategoryCountersTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductCategoryCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new ProductCategoryCounters(productRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void recount_SeedsEveryCategoryFromOneGroupedQuery() {
+        // Arrange
+        when(productRepository.countGroupedByCategoryWithVersion())
+                .thenReturn(List.of(count(5, ProductCategory.FLEX_PRINTING, 3)));
+
+        // Act
+        counters.recount();
+
+        // Assert
+        assertEquals(Map.of(ProductCategory.FLEX_PRINTING, 3L, ProductCategory.PAMPHLET, 0L), counters.counts());
+        assertEquals(3, counters.total());
+        verify(productRepository, times(1)).countGroupedByCategoryWithVersion();
+    }
+
+    @Test
+    void onProductChanged_AdjustsCountsForCreateCategoryChangeAndDelete() {
+        // Arrange
+        when(productRepository.countGroupedByCategoryWithVersion())
+                .thenReturn(List.of(count(5, ProductCategory.FLEX_PRINTING, 3)));
+        counters.recount();
+        UUID id = UUID.randomUUID();
+
+        // Act
+        counters.onProductChanged(ProductChangedEvent.created(product(id, ProductCategory.FLEX_PRINTING), 6));
+        counters.onProductChanged(ProductChangedEvent.updated(
+                product(id, ProductCategory.PAMPHLET), ProductCategory.FLEX_PRINTING, 7));
+        counters.onProductChanged(ProductChangedEvent.updated(
+                product(id, ProductCategory.PAMPHLET), ProductCategory.PAMPHLET, 8));
+        counters.onProductChanged(ProductChangedEvent.deleted(UUID.randomUUID(), ProductCategory.FLEX_PRINTING, 9));
+
+        // Assert
+        assertEquals(Map.of(ProductCategory.FLEX_PRINTING, 2L, ProductCategory.PAMPHLET, 1L), counters.counts());
+        assertEquals(3, counters.total());
+        verify(productRepository, times(1)).countGroupedByCategoryWithVersion();
+    }
+
+    @Test
+    void onProductChanged_SkipsChangesTheRecountAlreadyIncludes() {
+        // Arrange
+        when(productRepository.countGroupedByCategoryWithVersion())
+                .thenReturn(List.of(count(5, ProductCategory.FLEX_PRINTING, 3)));
+        counters.recount();
+
+        // Act: committed before the recount read the version, but its listener ran late
+        counters.onProductChanged(ProductChangedEvent.created(product(UUID.randomUUID(), ProductCategory.FLEX_PRINTING), 5));
+
+        // Assert
+        assertEquals(3, counters.total());
+    }
+
+    @Test
+    void recount_ReappliesChangesCommittedWhileCounting() {
+        // Arrange: one write is included in the recount's snapshot, a later one is not
+        when(productRepository.countGroupedByCategoryWithVersion()).thenAnswer(invocation -> {
+            counters.onProductChanged(ProductChangedEvent.created(product(UUID.randomUUID(), ProductCategory.PAMPHLET), 7));
+            counters.onProductChanged(ProductChangedEvent.created(product(UUID.randomUUID(), ProductCategory.PAMPHLET), 8));
+            return List.of(count(7, ProductCategory.PAMPHLET, 4));
+        });
+
+        // Act
+        counters.recount();
+
+        // Assert
+        assertEquals(5, counters.counts().get(ProductCategory.PAMPHLET));
+    }
+
+    @Test
+    void counts_BeforeFirstRecount_ReadsDatabase() {
+        // Arrange
+        when(productRepository.countGroupedByCategory()).thenReturn(List.of(count(0, ProductCategory.PAMPHLET, 2)));
+
+        // Act
+        long total = counters.total();
+
+        // Assert
+        assertEquals(2, total);
+    }
+
+    private static ProductResponse product(UUID id, ProductCategory category) {
+        return ProductResponse.builder().id(id).name("Banner").category(category).build();
+    }
+
+    private static VersionedCategoryCountView count(long version, ProductCategory category, long count) {
+        return new VersionedCategoryCountView() {
+            @Override
+            public long getVersion() {
+                return version;
+            }
+
+            @Override
+            public ProductCategory getCategory() {
+                return category;
+            }
+
+            @Override
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+}
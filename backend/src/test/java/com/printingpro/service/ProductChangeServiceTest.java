@@ -0,0 +1,95 @@
+package com.printingpro.service;
+
+import com.printingpro.config.CatalogProperties;
+import com.printingpro.dto.response.ProductChangeResponse;
+import com.printingpro.dto.response.ProductChangesResponse;
+import com.printingpro.entity.Product;
+import com.printingpro.entity.ProductCategory;
+import com.printingpro.event.ProductChangedEvent.ChangeType;
+import com.printingpro.mapper.ProductMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the catalog change log against the test database.
+ * Uses the H2 dialect because PostgreSQL renders the counter lock as FOR NO KEY UPDATE.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@ActiveProfiles("test")
+@Import({ProductChangeService.class, ProductMapper.class, CatalogProperties.class})
+class ProductChangeServiceTest {
+
+    @Autowired
+    private ProductChangeService productChangeService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void getChanges_ReturnsLatestChangePerProductWithTombstones() {
+        // Arrange
+        UUID kept = persistProduct("Banner");
+        UUID removed = UUID.randomUUID();
+        productChangeService.record(ChangeType.CREATED, kept);
+        productChangeService.record(ChangeType.CREATED, removed);
+        long seen = productChangeService.currentVersion();
+        productChangeService.record(ChangeType.UPDATED, kept);
+        productChangeService.record(ChangeType.DELETED, removed);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        ProductChangesResponse all = productChangeService.getChanges(0, null);
+        ProductChangesResponse delta = productChangeService.getChanges(seen, null);
+
+        // Assert
+        assertEquals(4, all.getVersion());
+        assertEquals(List.of(3L, 4L), all.getChanges().stream().map(ProductChangeResponse::getVersion).toList());
+        assertEquals(2, seen);
+        assertEquals(ChangeType.UPDATED, delta.getChanges().get(0).getType());
+        assertEquals("Banner", delta.getChanges().get(0).getProduct().getName());
+        assertEquals(ChangeType.DELETED, delta.getChanges().get(1).getType());
+        assertNull(delta.getChanges().get(1).getProduct());
+        assertTrue(productChangeService.getChanges(4, null).getChanges().isEmpty());
+    }
+
+    @Test
+    void getChanges_WithLimit_PagesByVersion() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            productChangeService.record(ChangeType.CREATED, persistProduct("Product " + i));
+        }
+
+        // Act
+        ProductChangesResponse first = productChangeService.getChanges(0, 3);
+        ProductChangesResponse second = productChangeService.getChanges(first.getVersion(), 3);
+
+        // Assert
+        assertTrue(first.isHasMore());
+        assertEquals(3, first.getVersion());
+        assertFalse(second.isHasMore());
+        assertEquals(List.of(4L, 5L), second.getChanges().stream().map(ProductChangeResponse::getVersion).toList());
+        assertEquals(5, second.getVersion());
+    }
+
+    private UUID persistProduct(String name) {
+        Product product = Product.builder()
+                .name(name)
+                .description("Description")
+                .category(ProductCategory.FLEX_PRINTING)
+                .pricePerSqft(new BigDecimal("12.00"))
+                .build();
+        entityManager.persist(product);
+        return product.getId();
+    }
+}
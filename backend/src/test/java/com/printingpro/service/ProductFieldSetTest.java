@@ -0,0 +1,39 @@
+package com.printingpro.service;
+
+import com.printingpro.dto.request.ProductField;
+import com.printingpro.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ProductFieldSet parsing.
+ */
+class ProductFieldSetTest {
+
+    @Test
+    void parse_AddsIdAndOrdersFieldsCanonically() {
+        // Act
+        ProductFieldSet fields = ProductFieldSet.parse(" images,name ,pricePerSqft");
+
+        // Assert
+        assertEquals(List.of(ProductField.ID, ProductField.NAME, ProductField.PRICE_PER_SQFT, ProductField.IMAGES),
+                fields.getOrdered());
+        assertEquals("id,name,pricePerSqft,images", fields.toString());
+    }
+
+    @Test
+    void parse_WithSameText_ReturnsCachedInstance() {
+        // Act & Assert
+        assertSame(ProductFieldSet.parse("name,category"), ProductFieldSet.parse("name,category"));
+    }
+
+    @Test
+    void parse_WithUnknownOrNoFields_ThrowsValidationException() {
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> ProductFieldSet.parse("name,price"));
+        assertThrows(ValidationException.class, () -> ProductFieldSet.parse(" , "));
+    }
+}
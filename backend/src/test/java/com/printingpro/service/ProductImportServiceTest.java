@@ -0,0 +1,161 @@
+package com.printingpro.service;
+
+import com.printingpro.dto.request.ProductFileFormat;
+import com.printingpro.dto.response.ProductImageResponse;
+import com.printingpro.dto.response.ProductImportResponse;
+import com.printingpro.dto.response.ProductImportResponse.RowError;
+import com.printingpro.dto.response.ProductResponse;
+import com.printingpro.entity.ProductCategory;
+import com.printingpro.exception.ValidationException;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests imports end to end: chunks are committed, recorded in the change log, and applied to the
+ * in-memory snapshot and category counters. Chunks hold two rows so every import spans several.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.url=jdbc:h2:mem:imports;DB_CLOSE_DELAY=-1",
+        "catalog.imports.chunk-size=2",
+        "catalog.search.memory-index-enabled=false",
+        "MAIL_FROM=shop@example.com",
+        "MAIL_TO=shop@example.com",
+        "MAIL_USERNAME=shop",
+        "MAIL_PASSWORD=secret",
+        "ADMIN_PASSWORD=secret"
+})
+@ActiveProfiles("test")
+class ProductImportServiceTest {
+
+    @Autowired
+    private ProductImportService importService;
+
+    @Autowired
+    private ProductChangeService productChangeService;
+
+    @Autowired
+    private ProductCatalogCache catalogCache;
+
+    @Autowired
+    private ProductCategoryCounters categoryCounters;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private EmailService emailService;
+
+    @MockBean
+    private ProductSuggestionService suggestionService;
+
+    @Test
+    void importProducts_Ndjson_ImportsValidRowsAndReportsTheRest() {
+        // Arrange
+        long version = productChangeService.currentVersion();
+        long total = categoryCounters.total();
+        String body = """
+                {"name":"Flex A","description":"Outdoor","category":"FLEX_PRINTING","pricePerSqft":12.5,"images":[{"url":"/a.jpg"}]}
+                {"name":"Flex B","description":"Outdoor","category":"FLEX_PRINTING","pricePerSqft":14,"images":[{"url":"/b.jpg"}]}
+                {"name":"No price","description":"Missing","category":"PAMPHLET","images":[{"url":"/c.jpg"}]}
+
+                {"name":"Broken",
+                {"name":"Pamphlet","description":"A5","category":"PAMPHLET","pricePerSqft":2,"images":[{"url":"/d.jpg"}]}
+                """;
+
+        // Act
+        ProductImportResponse response = importService.importProducts(new StringReader(body), ProductFileFormat.NDJSON);
+
+        // Assert
+        assertEquals(5, response.getReceived());
+        assertEquals(3, response.getImported());
+        assertEquals(2, response.getFailed());
+        assertEquals(List.of(3L, 5L), response.getErrors().stream().map(RowError::getRow).toList());
+        assertTrue(response.getErrors().get(0).getMessage().startsWith("pricePerSqft: "));
+        assertTrue(response.getErrors().get(1).getMessage().startsWith("Malformed JSON"));
+
+        assertEquals(version + 3, productChangeService.currentVersion());
+        assertEquals(3, productChangeService.getChanges(version, null).getChanges().size());
+        assertEquals(total + 3, categoryCounters.total());
+        List<String> cached = catalogCache.peek().getProducts().stream().map(ProductResponse::getName).toList();
+        assertTrue(cached.containsAll(List.of("Flex A", "Flex B", "Pamphlet")));
+    }
+
+    @Test
+    void importProducts_Csv_ParsesQuotedFieldsAndImageLists() {
+        // Arrange
+        String body = """
+                Name,Description,Category,Price_Per_Sqft,Negotiable,Images
+                Vinyl Banner,"Glossy, ""weatherproof""
+                second line",FLEX_PRINTING,18.00,no,/v1.jpg|/v2.jpg
+                Poster,Matte,POSTERS,5,yes,/p.jpg
+                Sticker,Cut,PAMPHLET,x,yes,/s.jpg
+                """;
+
+        // Act
+        ProductImportResponse response = importService.importProducts(new StringReader(body), ProductFileFormat.CSV);
+
+        // Assert
+        assertEquals(1, response.getImported());
+        assertEquals(List.of(4L, 5L), response.getErrors().stream().map(RowError::getRow).toList());
+        assertEquals("Unknown category: POSTERS", response.getErrors().get(0).getMessage());
+
+        ProductResponse banner = catalogCache.peek().getProducts().stream()
+                .filter(product -> product.getName().equals("Vinyl Banner"))
+                .findFirst().orElseThrow();
+        assertEquals("Glossy, \"weatherproof\"\nsecond line", banner.getDescription());
+        assertEquals(ProductCategory.FLEX_PRINTING, banner.getCategory());
+        assertEquals(0, new BigDecimal("18.00").compareTo(banner.getPricePerSqft()));
+        assertFalse(banner.getNegotiable());
+        assertEquals(List.of("/v1.jpg", "/v2.jpg"), banner.getImages().stream().map(ProductImageResponse::getUrl).toList());
+    }
+
+    @Test
+    void importProducts_InALongerLivedSession_RestoresItsCacheMode() {
+        // Arrange: an outer transaction keeps one session across the chunks, as open-in-view does
+        String body = """
+                {"name":"Sticker A","description":"Vinyl","category":"PAMPHLET","pricePerSqft":3,"images":[{"url":"/s1.jpg"}]}
+                {"name":"Sticker B","description":"Vinyl","category":"PAMPHLET","pricePerSqft":3,"images":[{"url":"/s2.jpg"}]}
+                {"name":"Sticker C","description":"Vinyl","category":"PAMPHLET","pricePerSqft":3,"images":[{"url":"/s3.jpg"}]}
+                """;
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Session session = entityManager.unwrap(Session.class);
+
+            // Act
+            ProductImportResponse response = importService.importProducts(new StringReader(body), ProductFileFormat.NDJSON);
+
+            // Assert
+            assertEquals(3, response.getImported());
+            assertEquals(CacheMode.NORMAL, session.getCacheMode());
+        });
+    }
+
+    @Test
+    void importProducts_CsvWithUnknownColumn_RejectsTheWholeBody() {
+        // Arrange
+        String body = "name,description,category,pricePerSqft,images,colour\n";
+
+        // Act & Assert
+        ValidationException ex = assertThrows(ValidationException.class,
+                () -> importService.importProducts(new StringReader(body), ProductFileFormat.CSV));
+        assertEquals("Unknown CSV column: colour", ex.getMessage());
+    }
+}
@@ -0,0 +1,181 @@
+package com.printingpro.service;
+
+import com.printingpro.dto.request.ProductImageRequest;
+import com.printingpro.dto.request.ProductRequest;
+import com.printingpro.dto.request.SearchMode;
+import com.printingpro.dto.response.ProductResponse;
+import com.printingpro.dto.response.ProductSearchResponse;
+import com.printingpro.entity.ProductCategory;
+import com.printingpro.exception.ValidationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doReturn;
+
+/**
+ * Tests the search mode switch on H2: the in-memory modes are served by the index, and the
+ * PostgreSQL-only modes fall back to LIKE. Each test searches its own words, since they share
+ * one database.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.url=jdbc:h2:mem:search;DB_CLOSE_DELAY=-1",
+        "catalog.search.memory-index-enabled=true",
+        "MAIL_FROM=shop@example.com",
+        "MAIL_TO=shop@example.com",
+        "MAIL_USERNAME=shop",
+        "MAIL_PASSWORD=secret",
+        "ADMIN_PASSWORD=secret"
+})
+@ActiveProfiles("test")
+class ProductSearchServiceTest {
+
+    @Autowired
+    private ProductSearchService searchService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @SpyBean
+    private ProductSearchIndex searchIndex;
+
+    @MockBean
+    private EmailService emailService;
+
+    @MockBean
+    private ProductSuggestionService suggestionService;
+
+    @Test
+    void searchProducts_FullTextAndTrigramOnH2_FallBackToLike() {
+        // Arrange
+        UUID match = create("Canvas print", "Gallery wrapped canvas", ProductCategory.FLEX_PRINTING, "30.00");
+        create("Poster", "Matte paper", ProductCategory.PAMPHLET, "30.00");
+
+        for (SearchMode mode : List.of(SearchMode.FULL_TEXT, SearchMode.TRIGRAM)) {
+            // Act
+            ProductSearchResponse response = searchService.searchProducts("canvas", mode, null, false);
+
+            // Assert
+            assertEquals(SearchMode.LIKE, response.getMode());
+            assertEquals(List.of(match), ids(response));
+        }
+    }
+
+    @Test
+    void searchProducts_Like_MatchesWildcardsLiterally() {
+        // Arrange
+        UUID literal = create("Offer 100% cotton", "Tote bag", ProductCategory.PAMPHLET, "15.00");
+        create("Offer 100 cotton", "Tote bag", ProductCategory.PAMPHLET, "15.00");
+
+        // Act
+        ProductSearchResponse response = searchService.searchProducts("100%", SearchMode.LIKE, null, false);
+
+        // Assert
+        assertEquals(List.of(literal), ids(response));
+    }
+
+    @Test
+    void searchProducts_Memory_RanksBestMatchFirst() {
+        // Arrange
+        UUID weak = create("Vinyl sheet", "One lamination layer", ProductCategory.FLEX_PRINTING, "40.00");
+        UUID strong = create("Lamination film", "Lamination for lamination jobs", ProductCategory.FLEX_PRINTING, "40.00");
+
+        // Act
+        ProductSearchResponse response = searchService.searchProducts("lamination", SearchMode.MEMORY, null, false);
+
+        // Assert
+        assertEquals(SearchMode.MEMORY, response.getMode());
+        assertEquals(List.of(strong, weak), ids(response));
+    }
+
+    @Test
+    void searchProducts_Memory_DoesNotBorrowAConnection() {
+        // Arrange
+        UUID match = create("Foam board", "Sunboard mounting", ProductCategory.FLEX_PRINTING, "45.00");
+        long acquired = connectionsAcquired();
+
+        // Act
+        ProductSearchResponse response = searchService.searchProducts("sunboard", SearchMode.MEMORY, null, true);
+
+        // Assert
+        assertEquals(List.of(match), ids(response));
+        assertEquals(1L, response.getFacets().getTotal());
+        assertEquals(acquired, connectionsAcquired());
+    }
+
+    @Test
+    void searchProducts_Fuzzy_CorrectsAMisspelledTerm() {
+        // Arrange
+        UUID match = create("Letterhead", "Corporate stationery", ProductCategory.PAMPHLET, "22.00");
+
+        // Act
+        ProductSearchResponse response = searchService.searchProducts("stationary", SearchMode.FUZZY, null, false);
+
+        // Assert
+        assertEquals(SearchMode.FUZZY, response.getMode());
+        assertEquals("stationery", response.getCorrectedQuery());
+        assertEquals(List.of(match), ids(response));
+    }
+
+    @Test
+    void searchProducts_MemoryWithoutIndex_FallsBackToLikeWithFacets() {
+        // Arrange
+        UUID cheap = create("Embossed card", "Visiting card", ProductCategory.PAMPHLET, "5.00");
+        UUID dear = create("Embossed board", "Signage", ProductCategory.FLEX_PRINTING, "60.00");
+        doReturn(null).when(searchIndex).current();
+
+        // Act
+        ProductSearchResponse response = searchService.searchProducts("embossed", SearchMode.MEMORY, null, true);
+
+        // Assert
+        assertEquals(SearchMode.LIKE, response.getMode());
+        assertEquals(2, response.getItems().size());
+        assertTrue(ids(response).containsAll(List.of(cheap, dear)));
+        assertEquals(2L, response.getFacets().getTotal());
+        assertEquals(1L, response.getFacets().getCategories().get(ProductCategory.PAMPHLET));
+        assertEquals(1L, response.getFacets().getCategories().get(ProductCategory.FLEX_PRINTING));
+    }
+
+    @Test
+    void searchProducts_WithLimitOutOfRange_ThrowsValidationException() {
+        // Act & Assert
+        assertThrows(ValidationException.class,
+                () -> searchService.searchProducts("banner", SearchMode.LIKE, 0, false));
+        assertThrows(ValidationException.class,
+                () -> searchService.searchProducts("banner", SearchMode.LIKE, 101, false));
+        assertThrows(ValidationException.class,
+                () -> searchService.searchProducts("  ", SearchMode.LIKE, null, false));
+    }
+
+    private UUID create(String name, String description, ProductCategory category, String price) {
+        return productService.createProduct(ProductRequest.builder()
+                .name(name)
+                .description(description)
+                .category(category)
+                .pricePerSqft(new BigDecimal(price))
+                .images(List.of(ProductImageRequest.builder().url("/uploads/" + name + ".jpg").build()))
+                .build()).getId();
+    }
+
+    private long connectionsAcquired() {
+        return meterRegistry.find("hikaricp.connections.acquire").timers().stream().mapToLong(Timer::count).sum();
+    }
+
+    private static List<UUID> ids(ProductSearchResponse response) {
+        return response.getItems().stream().map(ProductResponse::getId).toList();
+    }
+}
@@ -1,27 +1,40 @@
 package com.printingpro.service;
 
+import com.printingpro.dto.request.ProductField;
+import com.printingpro.dto.request.ProductFilterRequest;
+import com.printingpro.dto.request.ProductPatchRequest;
 import com.printingpro.dto.request.ProductRequest;
+import com.printingpro.dto.response.CursorPageResponse;
+import com.printingpro.dto.response.ProductBatchResponse;
 import com.printingpro.dto.response.ProductResponse;
 import com.printingpro.entity.Product;
 import com.printingpro.entity.ProductCategory;
+import com.printingpro.event.ProductChangedEvent;
+import com.printingpro.exception.ConflictException;
 import com.printingpro.exception.ResourceNotFoundException;
 import com.printingpro.exception.ValidationException;
 import com.printingpro.mapper.ProductMapper;
 import com.printingpro.repository.ProductRepository;
+import jakarta.persistence.Tuple;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -36,6 +49,18 @@ class ProductServiceTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private ProductCatalogCache catalogCache;
+
+    @Mock
+    private ProductChangeService productChangeService;
+
+    @Mock
+    private ProductCategoryCounters categoryCounters;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProductService productService;
 
@@ -78,6 +103,100 @@ class ProductServiceTest {
                 .build();
     }
 
+    @Test
+    void getAllProducts_WhenMoreResultsExist_ReturnsNextCursor() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+        ProductFilterRequest filter = ProductFilterRequest.builder().size(1).build();
+        Tuple first = productRow(testId, createdAt);
+        Tuple extra = mock(Tuple.class);
+        when(productRepository.findFieldsByFilters(eq(ProductField.columns()), any(), any(), any(), any(), any(), any(), eq(2)))
+                .thenReturn(List.of(first, extra));
+        when(productMapper.toResponse(eq(first), any())).thenReturn(testResponse);
+
+        // Act
+        CursorPageResponse<ProductResponse> result = productService.getAllProducts(filter);
+
+        // Assert
+        assertEquals(List.of(testResponse), result.getItems());
+        assertTrue(result.isHasMore());
+        ProductCursor cursor = ProductCursor.decode(result.getNextCursor());
+        assertEquals(createdAt, cursor.createdAt());
+        assertEquals(testId, cursor.id());
+        verify(productRepository).findImageRows(List.of(testId));
+    }
+
+    @Test
+    void getAllProducts_WithInvalidCursor_ThrowsValidationException() {
+        // Arrange
+        ProductFilterRequest filter = ProductFilterRequest.builder().cursor("not-a-cursor").build();
+
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> {
+            productService.getAllProducts(filter);
+        });
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void getAllProducts_WhenSnapshotLoaded_DoesNotQueryRepository() {
+        // Arrange
+        testResponse.setCreatedAt(LocalDateTime.of(2024, 1, 1, 10, 0));
+        when(catalogCache.current()).thenReturn(CatalogSnapshot.of(1, List.of(testResponse)));
+
+        // Act
+        CursorPageResponse<ProductResponse> result = productService.getAllProducts(new ProductFilterRequest());
+
+        // Assert
+        assertEquals(List.of(testResponse), result.getItems());
+        assertFalse(result.isHasMore());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void getProductById_WhenSnapshotLoaded_ServesFromSnapshot() {
+        // Arrange
+        testResponse.setCreatedAt(LocalDateTime.of(2024, 1, 1, 10, 0));
+        when(catalogCache.current()).thenReturn(CatalogSnapshot.of(1, List.of(testResponse)));
+
+        // Act & Assert
+        assertSame(testResponse, productService.getProductById(testId));
+        assertThrows(ResourceNotFoundException.class, () -> productService.getProductById(UUID.randomUUID()));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void getProductsByIds_KeepsRequestOrderAndReportsMissingIds() {
+        // Arrange
+        UUID unknown = UUID.randomUUID();
+        when(productRepository.findWithImagesByIdIn(any())).thenReturn(List.of(testProduct));
+        when(productMapper.toResponse(testProduct)).thenReturn(testResponse);
+
+        // Act
+        ProductBatchResponse result = productService.getProductsByIds(List.of(unknown, testId, unknown));
+
+        // Assert
+        assertEquals(List.of(testResponse), result.getProducts());
+        assertEquals(List.of(unknown), result.getMissing());
+        verify(productRepository, times(1)).findWithImagesByIdIn(any());
+    }
+
+    @Test
+    void getProductsByIds_WhenSnapshotLoaded_DoesNotQueryRepository() {
+        // Arrange
+        UUID unknown = UUID.randomUUID();
+        testResponse.setCreatedAt(LocalDateTime.of(2024, 1, 1, 10, 0));
+        when(catalogCache.current()).thenReturn(CatalogSnapshot.of(1, List.of(testResponse)));
+
+        // Act
+        ProductBatchResponse result = productService.getProductsByIds(List.of(testId, unknown));
+
+        // Assert
+        assertEquals(List.of(testResponse), result.getProducts());
+        assertEquals(List.of(unknown), result.getMissing());
+        verifyNoInteractions(productRepository);
+    }
+
     @Test
     void getProductById_WhenProductExists_ReturnsProduct() {
         // Arrange
@@ -105,7 +224,7 @@ class ProductServiceTest {
             productService.getProductById(testId);
         });
         verify(productRepository).findById(testId);
-        verify(productMapper, never()).toResponse(any());
+        verify(productMapper, never()).toResponse(any(Product.class));
     }
 
     @Test
@@ -125,6 +244,8 @@ class ProductServiceTest {
         verify(productMapper).toEntity(testRequest);
         verify(productRepository).save(testProduct);
         verify(productMapper).toResponse(testProduct);
+        verify(productChangeService).record(ProductChangedEvent.ChangeType.CREATED, testId);
+        verify(eventPublisher).publishEvent(ProductChangedEvent.created(testResponse, 0));
     }
 
     @Test
@@ -144,7 +265,7 @@ class ProductServiceTest {
     void updateProduct_WhenProductExists_UpdatesProduct() {
         // Arrange
         when(productRepository.findById(testId)).thenReturn(Optional.of(testProduct));
-        when(productRepository.save(testProduct)).thenReturn(testProduct);
+        when(productRepository.saveAndFlush(testProduct)).thenReturn(testProduct);
         when(productMapper.toResponse(testProduct)).thenReturn(testResponse);
 
         // Act
@@ -154,46 +275,72 @@ class ProductServiceTest {
         assertNotNull(result);
         verify(productRepository).findById(testId);
         verify(productMapper).updateEntity(testProduct, testRequest);
-        verify(productRepository).save(testProduct);
+        verify(productRepository).saveAndFlush(testProduct);
+        verify(eventPublisher).publishEvent(ProductChangedEvent.updated(testResponse, ProductCategory.FLEX_PRINTING, 0));
+    }
+
+    @Test
+    void patchProduct_WhenRowChangedAfterRead_ThrowsConflictWithStoredVersion() {
+        // Arrange
+        testProduct.setVersion(3L);
+        ProductPatchRequest patch = new ProductPatchRequest();
+        patch.setVersion(3L);
+        patch.setName("Renamed");
+        when(productRepository.findById(testId)).thenReturn(Optional.of(testProduct));
+        when(productRepository.saveAndFlush(testProduct))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Product.class, testId));
+        when(productRepository.findVersionById(testId)).thenReturn(Optional.of(4L));
+
+        // Act & Assert
+        ConflictException ex = assertThrows(ConflictException.class, () -> productService.patchProduct(testId, patch));
+        assertEquals(4L, ex.getCurrentVersion());
+        verify(productChangeService, never()).record(any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
     void deleteProduct_WhenProductExists_DeletesProduct() {
         // Arrange
-        when(productRepository.existsById(testId)).thenReturn(true);
+        when(productRepository.findById(testId)).thenReturn(Optional.of(testProduct));
 
         // Act
         productService.deleteProduct(testId);
 
         // Assert
-        verify(productRepository).existsById(testId);
-        verify(productRepository).deleteById(testId);
+        verify(productRepository).delete(testProduct);
+        verify(productChangeService).record(ProductChangedEvent.ChangeType.DELETED, testId);
+        verify(eventPublisher).publishEvent(ProductChangedEvent.deleted(testId, ProductCategory.FLEX_PRINTING, 0));
     }
 
     @Test
     void deleteProduct_WhenProductNotFound_ThrowsException() {
         // Arrange
-        when(productRepository.existsById(testId)).thenReturn(false);
+        when(productRepository.findById(testId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
             productService.deleteProduct(testId);
         });
-        verify(productRepository).existsById(testId);
-        verify(productRepository, never()).deleteById(any());
+        verify(productRepository, never()).delete(any());
     }
 
     @Test
     void getTotalProductCount_ReturnsCount() {
         // Arrange
-        when(productRepository.count()).thenReturn(10L);
+        when(categoryCounters.total()).thenReturn(10L);
 
         // Act
         long count = productService.getTotalProductCount();
 
         // Assert
         assertEquals(10L, count);
-        verify(productRepository).count();
+        verifyNoInteractions(productRepository);
     }
-}
 
+    private static Tuple productRow(UUID id, LocalDateTime createdAt) {
+        Tuple row = mock(Tuple.class);
+        when(row.get(ProductField.ID.getFieldName(), UUID.class)).thenReturn(id);
+        lenient().when(row.get(ProductField.CREATED_AT.getFieldName(), LocalDateTime.class)).thenReturn(createdAt);
+        return row;
+    }
+}
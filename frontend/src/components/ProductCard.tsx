@@ -1,18 +1,16 @@
 import React from 'react';
 import { Link } from 'react-router-dom';
-import type { Product } from '../types';
+import type { ProductSummary } from '../types';
 import { formatPrice, getImageUrl, truncateText, formatCategoryName, getPricingUnit } from '../utils/helpers';
 
 interface ProductCardProps {
-  product: Product;
+  product: ProductSummary;
 }
 
 /**
  * Product card component for displaying product in grid
  */
 export const ProductCard: React.FC<ProductCardProps> = ({ product }) => {
-  const primaryImage = product.images.length > 0 ? product.images[0] : null;
-
   return (
     <Link
       to={`/products/${product.id}`}
@@ -20,10 +18,10 @@ export const ProductCard: React.FC<ProductCardProps> = ({ product }) => {
     >
       {/* Image */}
       <div className="relative aspect-square overflow-hidden bg-gray-100">
-        {primaryImage ? (
+        {product.imageUrl ? (
           <img
-            src={getImageUrl(primaryImage.url)}
-            alt={primaryImage.altText || product.name}
+            src={getImageUrl(product.imageUrl)}
+            alt={product.imageAltText || product.name}
             className="h-full w-full object-cover transition-transform duration-300 group-hover:scale-105"
           />
         ) : (
@@ -68,7 +66,7 @@ export const ProductCard: React.FC<ProductCardProps> = ({ product }) => {
         </h3>
 
         {/* Description */}
-        <p className="mb-3 text-sm text-gray-600">{truncateText(product.description, 100)}</p>
+        <p className="mb-3 text-sm text-gray-600">{truncateText(product.excerpt ?? '', 100)}</p>
 
         {/* Price */}
         <div className="flex items-baseline justify-between">
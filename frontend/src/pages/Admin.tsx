@@ -1,9 +1,9 @@
-import React, { useState } from 'react';
+import React, { useEffect, useState } from 'react';
 import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
 import { useForm } from 'react-hook-form';
 import { zodResolver } from '@hookform/resolvers/zod';
 import { Plus, Edit, Trash2, BarChart3 } from 'lucide-react';
-import { productsApi, adminProductsApi } from '../services/api';
+import { productsApi, adminProductsApi, adminDashboardApi } from '../services/api';
 import { productSchema, type ProductFormData } from '../utils/validation';
 import { ProductCategory, type Product } from '../types';
 import { Modal } from '../components/Modal';
@@ -21,29 +21,42 @@ export const Admin: React.FC = () => {
   const [editingProduct, setEditingProduct] = useState<Product | null>(null);
   const [showAnalytics, setShowAnalytics] = useState(false);
 
-  // Fetch products
-  const { data: products, isLoading } = useQuery({
-    queryKey: ['admin-products'],
-    queryFn: () => productsApi.getAll({}),
+  // Fetch the first product page, analytics and recent messages in one request
+  const { data: dashboard, isLoading: isDashboardLoading } = useQuery({
+    queryKey: ['admin-dashboard'],
+    queryFn: adminDashboardApi.getDashboard,
   });
+  const analytics = dashboard?.categoryCounts;
+  const totalCount = dashboard?.totalProducts;
 
-  // Fetch analytics
-  const { data: analytics } = useQuery({
-    queryKey: ['analytics'],
-    queryFn: adminProductsApi.getAnalytics,
-    enabled: showAnalytics,
+  // Load the pages after the dashboard's first one, or the whole list if the dashboard left it out
+  const firstPage = dashboard?.products;
+  const { data: products, isLoading: isProductsLoading } = useQuery({
+    queryKey: ['admin-products', firstPage?.nextCursor ?? null],
+    queryFn: async () => {
+      if (!firstPage) return productsApi.getAll({});
+      const rest = firstPage.hasMore ? await productsApi.getAll({ cursor: firstPage.nextCursor }) : [];
+      return [...firstPage.items, ...rest];
+    },
+    enabled: !!dashboard,
   });
+  const isLoading = isDashboardLoading || isProductsLoading;
 
-  const { data: totalCount } = useQuery({
-    queryKey: ['total-count'],
-    queryFn: adminProductsApi.getTotalCount,
-    enabled: showAnalytics,
-  });
+  // Refresh lists and analytics whenever the catalog changes, including changes made elsewhere
+  useEffect(() => {
+    const refresh = () => {
+      queryClient.invalidateQueries({ queryKey: ['admin-dashboard'] });
+      queryClient.invalidateQueries({ queryKey: ['admin-products'] });
+      queryClient.invalidateQueries({ queryKey: ['products'] });
+    };
+    return productsApi.subscribeToChanges(refresh, refresh);
+  }, [queryClient]);
 
   // Mutations
   const createMutation = useMutation({
     mutationFn: adminProductsApi.create,
     onSuccess: () => {
+      queryClient.invalidateQueries({ queryKey: ['admin-dashboard'] });
       queryClient.invalidateQueries({ queryKey: ['admin-products'] });
       queryClient.invalidateQueries({ queryKey: ['products'] });
       setIsModalOpen(false);
@@ -55,6 +68,7 @@ export const Admin: React.FC = () => {
     mutationFn: ({ id, data }: { id: string; data: ProductFormData }) =>
       adminProductsApi.update(id, data),
     onSuccess: () => {
+      queryClient.invalidateQueries({ queryKey: ['admin-dashboard'] });
       queryClient.invalidateQueries({ queryKey: ['admin-products'] });
       queryClient.invalidateQueries({ queryKey: ['products'] });
       setIsModalOpen(false);
@@ -66,6 +80,7 @@ export const Admin: React.FC = () => {
   const deleteMutation = useMutation({
     mutationFn: adminProductsApi.delete,
     onSuccess: () => {
+      queryClient.invalidateQueries({ queryKey: ['admin-dashboard'] });
       queryClient.invalidateQueries({ queryKey: ['admin-products'] });
       queryClient.invalidateQueries({ queryKey: ['products'] });
     },
@@ -113,6 +128,7 @@ export const Admin: React.FC = () => {
       pricePerSqft: product.pricePerSqft,
       negotiable: product.negotiable,
       images: product.images.map((img) => ({
+        id: img.id,
         url: img.url,
         altText: img.altText,
         ordering: img.ordering,
@@ -197,6 +213,29 @@ export const Admin: React.FC = () => {
           </div>
         )}
 
+        {/* Recent Messages */}
+        {showAnalytics && dashboard?.recentMessages && dashboard.recentMessages.length > 0 && (
+          <div className="mb-8 rounded-lg bg-white p-6 shadow-sm">
+            <p className="text-sm font-medium text-gray-600">Recent Messages</p>
+            <ul className="mt-4 divide-y divide-gray-200">
+              {dashboard.recentMessages.map((message) => (
+                <li key={message.id} className="py-3">
+                  <p className="text-sm font-medium text-gray-900">
+                    {message.name} <span className="font-normal text-gray-500">({message.email})</span>
+                  </p>
+                  <p className="mt-1 truncate text-sm text-gray-600">{message.message}</p>
+                </li>
+              ))}
+            </ul>
+          </div>
+        )}
+
+        {showAnalytics && dashboard && dashboard.unavailable.length > 0 && (
+          <p className="mb-8 text-sm text-gray-500">
+            Some dashboard data took too long to load and is not shown. Refresh to try again.
+          </p>
+        )}
+
         {/* Products Table */}
         <div className="overflow-hidden rounded-lg bg-white shadow-sm">
           <div className="overflow-x-auto">
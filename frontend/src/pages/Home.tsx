@@ -11,8 +11,8 @@ import { LandingPage } from '../components/LandingPage';
  */
 export const Home: React.FC = () => {
   const { data, isLoading, error, refetch } = useQuery({
-    queryKey: ['products'],
-    queryFn: () => productsApi.getAll({}),
+    queryKey: ['products', 'summary'],
+    queryFn: () => productsApi.getAllSummaries({}),
   });
 
   return (
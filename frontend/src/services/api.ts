@@ -8,6 +8,13 @@ import type {
   FileUploadResponse,
   ProductAnalytics,
   ProductCategory,
+  CursorPage,
+  Suggestion,
+  ProductSummary,
+  ProductBatch,
+  ProductChange,
+  ProductChanges,
+  AdminDashboard,
 } from '../types';
 
 const API_BASE_URL = import.meta.env.VITE_API_BASE_URL || '/api';
@@ -87,28 +94,103 @@ export interface ProductFilters {
   search?: string;
   minPrice?: number;
   maxPrice?: number;
-  page?: number;
+  cursor?: string;
   size?: number;
-  sortBy?: string;
-  direction?: 'ASC' | 'DESC';
 }
 
+const MAX_PAGE_SIZE = 100;
+
+const listingParams = (filters: ProductFilters): URLSearchParams => {
+  const params = new URLSearchParams();
+  if (filters.category) params.append('category', filters.category);
+  if (filters.search) params.append('search', filters.search);
+  if (filters.minPrice !== undefined) params.append('minPrice', filters.minPrice.toString());
+  if (filters.maxPrice !== undefined) params.append('maxPrice', filters.maxPrice.toString());
+  if (filters.cursor) params.append('cursor', filters.cursor);
+  if (filters.size !== undefined) params.append('size', filters.size.toString());
+  return params;
+};
+
 export const productsApi = {
+  getPage: async (filters: ProductFilters = {}): Promise<CursorPage<Product>> => {
+    const response = await apiClient.get<CursorPage<Product>>(`/products?${listingParams(filters)}`);
+    return response.data;
+  },
+
+  /**
+   * Follows the listing cursor until every matching product is loaded,
+   * starting after filters.cursor when given
+   */
   getAll: async (filters: ProductFilters = {}): Promise<Product[]> => {
-    const params = new URLSearchParams();
-    if (filters.category) params.append('category', filters.category);
-    if (filters.search) params.append('search', filters.search);
-    if (filters.minPrice !== undefined) params.append('minPrice', filters.minPrice.toString());
-    if (filters.maxPrice !== undefined) params.append('maxPrice', filters.maxPrice.toString());
+    const products: Product[] = [];
+    let cursor: string | undefined = filters.cursor;
+    do {
+      const page = await productsApi.getPage({ ...filters, cursor, size: MAX_PAGE_SIZE });
+      products.push(...page.items);
+      cursor = page.hasMore ? page.nextCursor : undefined;
+    } while (cursor);
+    return products;
+  },
 
-    const response = await apiClient.get<Product[]>(`/products?${params.toString()}`);
-    return response.data;
+  /**
+   * Like getAll, but loads the lightweight card view used by product grids
+   */
+  getAllSummaries: async (filters: ProductFilters = {}): Promise<ProductSummary[]> => {
+    const summaries: ProductSummary[] = [];
+    let cursor: string | undefined;
+    do {
+      const params = listingParams({ ...filters, cursor, size: MAX_PAGE_SIZE });
+      params.append('view', 'SUMMARY');
+      const response = await apiClient.get<CursorPage<ProductSummary>>(`/products?${params.toString()}`);
+      summaries.push(...response.data.items);
+      cursor = response.data.hasMore ? response.data.nextCursor : undefined;
+    } while (cursor);
+    return summaries;
   },
 
   getById: async (id: string): Promise<Product> => {
     const response = await apiClient.get<Product>(`/products/${id}`);
     return response.data;
   },
+
+  /**
+   * Resolves several products in one request; ids with no product come back in `missing`
+   */
+  getByIds: async (ids: string[]): Promise<ProductBatch> => {
+    const response = await apiClient.post<ProductBatch>('/products/batch-get', { ids });
+    return response.data;
+  },
+
+  /**
+   * Products created, updated or deleted after catalog version `since`; pass the returned version next time
+   */
+  getChanges: async (since: number, limit?: number): Promise<ProductChanges> => {
+    const params = new URLSearchParams({ since: since.toString() });
+    if (limit !== undefined) params.append('limit', limit.toString());
+    const response = await apiClient.get<ProductChanges>(`/products/changes?${params.toString()}`);
+    return response.data;
+  },
+
+  /**
+   * Opens the catalog change stream and returns a function that closes it.
+   * The browser resumes from the last received change after a dropped connection.
+   */
+  subscribeToChanges: (onChange: (change: ProductChange) => void, onReset: () => void): (() => void) => {
+    const source = new EventSource(`${API_BASE_URL}/products/stream`);
+    source.addEventListener('product', (event) => onChange(JSON.parse((event as MessageEvent).data)));
+    source.addEventListener('reset', onReset);
+    return () => source.close();
+  },
+
+  /**
+   * Type-ahead completions for the search box
+   */
+  suggest: async (query: string, limit?: number): Promise<Suggestion[]> => {
+    const params = new URLSearchParams({ q: query });
+    if (limit !== undefined) params.append('limit', limit.toString());
+    const response = await apiClient.get<Suggestion[]>(`/products/suggest?${params.toString()}`);
+    return response.data;
+  },
 };
 
 // ============================================================================
@@ -151,6 +233,20 @@ export const adminProductsApi = {
   },
 };
 
+// ============================================================================
+// Admin Dashboard API
+// ============================================================================
+
+export const adminDashboardApi = {
+  /**
+   * First product page, analytics and recent messages in one request
+   */
+  getDashboard: async (): Promise<AdminDashboard> => {
+    const response = await apiClient.get<AdminDashboard>('/admin/dashboard');
+    return response.data;
+  },
+};
+
 // ============================================================================
 // Media API
 // ============================================================================
@@ -20,6 +20,40 @@ export interface Product {
   images: ProductImage[];
   createdAt: string;
   updatedAt: string;
+  version: number;
+}
+
+/**
+ * Card-sized product from the listing's SUMMARY view: a description excerpt and only the primary image
+ */
+export interface ProductSummary {
+  id: string;
+  name: string;
+  excerpt?: string;
+  category: ProductCategory;
+  pricePerSqft: number;
+  negotiable: boolean;
+  imageUrl?: string;
+  imageAltText?: string;
+}
+
+export interface ProductBatch {
+  products: Product[];
+  missing: string[];
+}
+
+export interface ProductChange {
+  version: number;
+  type: 'CREATED' | 'UPDATED' | 'DELETED';
+  productId: string;
+  product?: Product;
+}
+
+export interface ProductChanges {
+  since: number;
+  version: number;
+  hasMore: boolean;
+  changes: ProductChange[];
 }
 
 export interface ProductRequest {
@@ -28,7 +62,8 @@ export interface ProductRequest {
   category: ProductCategory;
   pricePerSqft: number;
   negotiable: boolean;
-  images: Omit<ProductImage, 'id'>[];
+  /** Existing images keep their id so the backend updates them in place. */
+  images: (Omit<ProductImage, 'id'> & { id?: string })[];
 }
 
 export interface ContactRequest {
@@ -39,6 +74,16 @@ export interface ContactRequest {
   productId?: string;
 }
 
+export interface ContactMessage {
+  id: string;
+  name: string;
+  email: string;
+  phone?: string;
+  message: string;
+  productId?: string;
+  createdAt: string;
+}
+
 export interface LoginRequest {
   username: string;
   password: string;
@@ -64,6 +109,20 @@ export interface PageResponse<T> {
   size: number;
 }
 
+export interface CursorPage<T> {
+  items: T[];
+  size: number;
+  hasMore: boolean;
+  nextCursor?: string;
+}
+
+export interface Suggestion {
+  text: string;
+  type: 'CATEGORY' | 'PRODUCT';
+  category: ProductCategory;
+  productId?: string;
+}
+
 export interface FileUploadResponse {
   url: string;
   filename: string;
@@ -82,3 +141,15 @@ export interface ProductAnalytics {
   [key: string]: number;
 }
 
+export type DashboardPart = 'PRODUCTS' | 'CATEGORY_COUNTS' | 'TOTAL_PRODUCTS' | 'RECENT_MESSAGES';
+
+/**
+ * Parts that timed out or failed on the server are null and listed in unavailable
+ */
+export interface AdminDashboard {
+  products: CursorPage<Product> | null;
+  categoryCounts: ProductAnalytics | null;
+  totalProducts: number | null;
+  recentMessages: ContactMessage[] | null;
+  unavailable: DashboardPart[];
+}
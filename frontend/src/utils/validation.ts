@@ -51,6 +51,7 @@ export const productSchema = z.object({
   images: z
     .array(
       z.object({
+        id: z.string().optional(),
         url: z.string().min(1, 'Image URL is required'),
         altText: z.string().optional(),
         ordering: z.number().default(0),